@@ -10,6 +10,14 @@ repositories {
     mavenCentral()
 }
 
+// Benchmarks of the parser and the runtime, which reuse the syntaxes registered by the tests
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output + sourceSets.test.get().output
+    runtimeClasspath += sourceSets.main.get().output + sourceSets.test.get().output
+}
+configurations["jmhImplementation"].extendsFrom(configurations.testImplementation.get())
+configurations["jmhRuntimeOnly"].extendsFrom(configurations.testRuntimeOnly.get())
+
 dependencies {
     implementation("org.jetbrains:annotations:15.0")
     implementation("com.google.code.findbugs:jsr305:3.0.2")
@@ -18,8 +26,13 @@ dependencies {
     implementation("com.google.code.gson:gson:2.13.2")
     testImplementation("junit:junit:4.12")
     testImplementation("org.junit.jupiter:junit-jupiter-api:5.4.1")
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
 }
 
+val jmhResults = layout.buildDirectory.file("results/jmh/results.json")
+val jmhBaseline = layout.projectDirectory.file(".jmh/baseline.json")
+
 tasks {
     compileJava {
         options.release = 25
@@ -30,6 +43,90 @@ tasks {
         archiveClassifier.set("sources")
         from(sourceSets.main.get().allSource)
     }
+    // Runs the benchmarks matching -Pjmh.includes (all of them by default), with the allocations of each one
+    register<JavaExec>("jmh") {
+        group = "benchmark"
+        description = "Runs the JMH benchmarks."
+        classpath = jmh.runtimeClasspath
+        mainClass = "org.openjdk.jmh.Main"
+        // The benchmarks load the syntax classes from the build directory, like the tests
+        workingDir = projectDir
+        outputs.file(jmhResults)
+        outputs.upToDateWhen { false }
+        doFirst {
+            jmhResults.get().asFile.parentFile.mkdirs()
+        }
+        args(
+            project.findProperty("jmh.includes") ?: ".*",
+            "-prof", "gc",
+            "-rf", "json",
+            "-rff", jmhResults.get().asFile.absolutePath
+        )
+    }
+    register<Copy>("jmhSaveBaseline") {
+        group = "benchmark"
+        description = "Saves the results of the last benchmark run as the baseline to compare later runs against."
+        from(jmhResults)
+        into(jmhBaseline.asFile.parentFile)
+        rename { jmhBaseline.asFile.name }
+        mustRunAfter("jmh")
+    }
+    // Fails when a benchmark got slower than the baseline by more than -Pjmh.maxRegression percent, if it is set
+    register("jmhCompare") {
+        group = "benchmark"
+        description = "Compares the results of the last benchmark run with the baseline."
+        mustRunAfter("jmh")
+        doLast {
+            @Suppress("UNCHECKED_CAST")
+            fun read(file: File) = (groovy.json.JsonSlurper().parse(file) as List<Map<String, Any?>>).associateBy {
+                val params = it["params"] as Map<*, *>?
+                it["benchmark"].toString() + (params?.entries?.joinToString(", ", " (", ")") ?: "")
+            }
+            fun score(result: Map<String, Any?>?, metric: String?): Double? {
+                if (result == null)
+                    return null
+                val scores = if (metric == null) {
+                    result["primaryMetric"] as Map<*, *>
+                } else {
+                    (result["secondaryMetrics"] as Map<*, *>).entries
+                        .firstOrNull { it.key.toString().endsWith(metric) }?.value as Map<*, *>?
+                }
+                return (scores?.get("score") as Number?)?.toDouble()
+            }
+            fun change(base: Double?, current: Double?) =
+                if (base == null || current == null || base == 0.0) "" else "%+.1f%%".format((current - base) / base * 100)
+
+            val baselineFile = jmhBaseline.asFile
+            val resultsFile = jmhResults.get().asFile
+            if (!baselineFile.isFile)
+                throw GradleException("There is no baseline, run the jmh and jmhSaveBaseline tasks first")
+            if (!resultsFile.isFile)
+                throw GradleException("There are no results, run the jmh task first")
+            val baseline = read(baselineFile)
+            val results = read(resultsFile)
+            val maxRegression = (project.findProperty("jmh.maxRegression") as String?)?.toDouble()
+            val regressions = mutableListOf<String>()
+            println("%-90s %14s %14s %9s %9s".format("Benchmark", "Baseline", "Current", "Time", "Alloc"))
+            for ((name, result) in results) {
+                val unit = (result["primaryMetric"] as Map<*, *>)["scoreUnit"]
+                val base = score(baseline[name], null)
+                val current = score(result, null)
+                val alloc = change(score(baseline[name], "gc.alloc.rate.norm"), score(result, "gc.alloc.rate.norm"))
+                println("%-90s %14s %14s %9s %9s".format(
+                    name,
+                    base?.let { "%.3f %s".format(it, unit) } ?: "-",
+                    "%.3f %s".format(current, unit),
+                    change(base, current),
+                    alloc
+                ))
+                // Every benchmark reports an average time, so a higher score is worse
+                if (maxRegression != null && base != null && current != null && (current - base) / base * 100 > maxRegression)
+                    regressions.add(name)
+            }
+            if (regressions.isNotEmpty())
+                throw GradleException("Benchmarks slower than the baseline by more than $maxRegression%: $regressions")
+        }
+    }
     // Publish this project to maven local, then run the server task on the other repo
     register<Exec>("server") {
         dependsOn("publishToMavenLocal")
@@ -0,0 +1,95 @@
+package io.github.syst3ms.skriptparser.benchmark;
+
+import io.github.syst3ms.skriptparser.TestRegistration;
+import io.github.syst3ms.skriptparser.lang.Trigger;
+import io.github.syst3ms.skriptparser.lang.TriggerMap;
+import io.github.syst3ms.skriptparser.log.LogType;
+import io.github.syst3ms.skriptparser.parsing.ScriptLoader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Utilities shared by the benchmarks.
+ */
+class Benchmarks {
+    private static boolean registered;
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Registers the default syntaxes, along with the ones used by the tests, once per JVM.
+     */
+    static synchronized void register() {
+        if (registered)
+            return;
+        TestRegistration.register();
+        registered = true;
+    }
+
+    /**
+     * Writes the given lines to a script in the given directory and loads it, failing if it has any error.
+     *
+     * @param directory the directory
+     * @param scriptName the name of the script, without extension
+     * @param lines the lines of the script
+     * @return the path of the script
+     */
+    static Path loadScript(Path directory, String scriptName, List<String> lines) {
+        var script = writeScript(directory, scriptName, lines);
+        var errors = ScriptLoader.loadScript(script, false).stream()
+            .filter(log -> log.getType() == LogType.ERROR)
+            .toList();
+        if (!errors.isEmpty())
+            throw new IllegalStateException("The script '" + scriptName + "' has errors: " + errors.get(0).getMessage());
+        return script;
+    }
+
+    /**
+     * Writes the given lines to a script in the given directory.
+     *
+     * @param directory the directory
+     * @param scriptName the name of the script, without extension
+     * @param lines the lines of the script
+     * @return the path of the script
+     */
+    static Path writeScript(Path directory, String scriptName, List<String> lines) {
+        try {
+            return Files.write(directory.resolve(scriptName + ".txt"), lines);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param scriptName the name of a loaded script
+     * @return the first trigger of that script
+     */
+    static Trigger getTrigger(String scriptName) {
+        return TriggerMap.getTriggersByScript(scriptName).values().stream()
+            .flatMap(List::stream)
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("The script '" + scriptName + "' has no trigger"));
+    }
+
+    /**
+     * Deletes a directory of scripts, along with the triggers of these scripts.
+     *
+     * @param directory the directory
+     */
+    static void deleteScripts(Path directory) {
+        try (var files = Files.list(directory)) {
+            for (var file : files.toList()) {
+                TriggerMap.clearTriggers(file.getFileName().toString().replaceAll("(.+)\\..+", "$1"));
+                Files.delete(file);
+            }
+            Files.delete(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
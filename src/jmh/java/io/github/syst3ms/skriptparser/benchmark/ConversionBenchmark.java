@@ -0,0 +1,72 @@
+package io.github.syst3ms.skriptparser.benchmark;
+
+import io.github.syst3ms.skriptparser.types.comparisons.Comparators;
+import io.github.syst3ms.skriptparser.types.comparisons.Relation;
+import io.github.syst3ms.skriptparser.types.conversions.Converters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures converting and comparing values, including between types that can't be converted to one another, or that
+ * only have a comparator for a supertype.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConversionBenchmark {
+    private final Object longValue = 42L;
+    private final Object integerValue = 42;
+    private final Object doubleValue = 42.5;
+    private final Object duration = Duration.ofSeconds(42);
+    private final Object otherDuration = Duration.ofMinutes(1);
+
+    @Setup
+    public void setup() {
+        Benchmarks.register();
+    }
+
+    @Benchmark
+    public Optional<? extends Number> convertToSameType() {
+        return Converters.convert(longValue, Number.class);
+    }
+
+    @Benchmark
+    public Optional<? extends Integer> convertDirectly() {
+        return Converters.convert(longValue, Integer.class);
+    }
+
+    @Benchmark
+    public Optional<? extends String> convertWithoutConverter() {
+        return Converters.convert(longValue, String.class);
+    }
+
+    @Benchmark
+    public Relation compareSameType() {
+        return Comparators.compare(integerValue, integerValue);
+    }
+
+    @Benchmark
+    public Relation compareDifferentTypes() {
+        return Comparators.compare(longValue, doubleValue);
+    }
+
+    @Benchmark
+    public Relation compareDurations() {
+        return Comparators.compare(duration, otherDuration);
+    }
+}
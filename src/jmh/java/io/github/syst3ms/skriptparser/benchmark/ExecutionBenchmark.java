@@ -0,0 +1,112 @@
+package io.github.syst3ms.skriptparser.benchmark;
+
+import io.github.syst3ms.skriptparser.lang.Statement;
+import io.github.syst3ms.skriptparser.lang.Trigger;
+import io.github.syst3ms.skriptparser.lang.TriggerContext;
+import io.github.syst3ms.skriptparser.lang.compiler.TriggerCompiler;
+import io.github.syst3ms.skriptparser.syntax.TestContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures running triggers made of loops and conditionals, each repeating its body a hundred times, both with
+ * {@link Statement#runAll(Statement, TriggerContext)} and with the interpreter loop it used before
+ * {@link Statement#advance(TriggerContext)} existed, which goes through {@link Statement#walk(TriggerContext)}, as
+ * well as once the triggers were compiled by the {@link TriggerCompiler}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecutionBenchmark {
+    @Param({"advance", "walk", "compiled"})
+    public String interpreter;
+
+    private final TriggerContext context = new TestContext.SubTestContext();
+    private Path directory;
+    private Trigger loop;
+    private Trigger conditional;
+    private Trigger whileLoop;
+
+    @Setup
+    public void setup() throws IOException {
+        Benchmarks.register();
+        // Triggers are then compiled the first time they run
+        TriggerCompiler.setThreshold(interpreter.equals("compiled") ? 0 : -1);
+        directory = Files.createTempDirectory("skript-benchmark");
+        Benchmarks.loadScript(directory, "loop", List.of(
+            "test:",
+            "\tset {_sum} to 0",
+            "\tloop 100 times:",
+            "\t\tadd loop-number to {_sum}"
+        ));
+        Benchmarks.loadScript(directory, "conditional", List.of(
+            "test:",
+            "\tset {_count} to 0",
+            "\tloop 100 times:",
+            "\t\tif loop-number > 50:",
+            "\t\t\tadd 1 to {_count}",
+            "\t\telse if loop-number > 25:",
+            "\t\t\tadd 2 to {_count}",
+            "\t\telse:",
+            "\t\t\tremove 1 from {_count}"
+        ));
+        Benchmarks.loadScript(directory, "while", List.of(
+            "test:",
+            "\tset {_i} to 0",
+            "\twhile {_i} < 100:",
+            "\t\tadd 1 to {_i}"
+        ));
+        loop = Benchmarks.getTrigger("loop");
+        conditional = Benchmarks.getTrigger("conditional");
+        whileLoop = Benchmarks.getTrigger("while");
+    }
+
+    @TearDown
+    public void tearDown() {
+        Benchmarks.deleteScripts(directory);
+    }
+
+    @Benchmark
+    public boolean runLoop() {
+        return run(loop);
+    }
+
+    @Benchmark
+    public boolean runConditional() {
+        return run(conditional);
+    }
+
+    @Benchmark
+    public boolean runWhileLoop() {
+        return run(whileLoop);
+    }
+
+    private boolean run(Trigger trigger) {
+        if (!interpreter.equals("walk"))
+            return Statement.runAll(trigger, context);
+        Optional<? extends Statement> item = Optional.of(trigger);
+        while (item.isPresent())
+            item = item.flatMap(i -> i.walk(context));
+        return true;
+    }
+}
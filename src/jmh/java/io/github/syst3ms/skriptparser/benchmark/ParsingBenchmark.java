@@ -0,0 +1,67 @@
+package io.github.syst3ms.skriptparser.benchmark;
+
+import io.github.syst3ms.skriptparser.lang.Effect;
+import io.github.syst3ms.skriptparser.lang.Expression;
+import io.github.syst3ms.skriptparser.log.SkriptLogger;
+import io.github.syst3ms.skriptparser.parsing.ParserState;
+import io.github.syst3ms.skriptparser.parsing.SyntaxParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing single lines, which is what loading a script mostly consists of. Every line is parsed with a new
+ * {@link ParserState}, so that nothing is remembered from the previous time it was parsed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParsingBenchmark {
+    @Param({
+        "set {var} to 5",
+        "add 1 to {_count}",
+        "set {list::%{_index}%} to \"value %{_index}%\"",
+        "set {_result} to (1 + 2) * 3 - 4 / 5",
+        "add {_count} * 2 to {total} if {_count} > 1"
+    })
+    public String effect;
+
+    @Param({
+        "5",
+        "\"Hello, %{_name}%!\"",
+        "{_var}",
+        "1 + 2 * 3",
+        "1, 2 and 3",
+        "length of \"hello world\""
+    })
+    public String expression;
+
+    @Setup
+    public void setup() {
+        Benchmarks.register();
+    }
+
+    @Benchmark
+    public Optional<? extends Effect> parseEffect() {
+        return SyntaxParser.parseEffect(effect, new ParserState(), new SkriptLogger());
+    }
+
+    @Benchmark
+    public Optional<? extends Expression<?>> parseExpression() {
+        return SyntaxParser.parseExpression(expression, SyntaxParser.OBJECTS_PATTERN_TYPE, new ParserState(), new SkriptLogger());
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.syst3ms.skriptparser.benchmark;
+
+import io.github.syst3ms.skriptparser.log.LogEntry;
+import io.github.syst3ms.skriptparser.parsing.ScriptLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading generated scripts made of many triggers, both when every trigger has changed since the script was
+ * last loaded, and when none has, in which case they are all kept as they are.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScriptLoadingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Script {
+        @Param({"100", "1000"})
+        public int triggers;
+
+        Path directory;
+        Path script;
+        int revision;
+
+        @Setup
+        public void setup() throws IOException {
+            Benchmarks.register();
+            directory = Files.createTempDirectory("skript-benchmark");
+            script = Benchmarks.loadScript(directory, "generated", generate(triggers, revision));
+        }
+
+        @TearDown
+        public void tearDown() {
+            Benchmarks.deleteScripts(directory);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ChangedScript extends Script {
+        // Changes every trigger, so that none of them can be kept from the previous load
+        @Setup(Level.Invocation)
+        public void change() {
+            Benchmarks.writeScript(directory, "generated", generate(triggers, ++revision));
+        }
+    }
+
+    @Benchmark
+    public List<LogEntry> loadChangedScript(ChangedScript state) {
+        return ScriptLoader.loadScript(state.script, false);
+    }
+
+    @Benchmark
+    public List<LogEntry> loadUnchangedScript(Script state) {
+        return ScriptLoader.loadScript(state.script, false);
+    }
+
+    /**
+     * @param triggers the number of triggers
+     * @param revision a number written in every trigger
+     * @return the lines of a script made of the given number of triggers using common syntaxes
+     */
+    static List<String> generate(int triggers, int revision) {
+        List<String> lines = new ArrayList<>(triggers * 10);
+        for (var i = 0; i < triggers; i++) {
+            lines.add("test:");
+            lines.add("\tset {_i} to " + revision);
+            lines.add("\tset {generated::" + i + "} to {_i} * 2 + " + i);
+            lines.add("\tif {_i} > 10:");
+            lines.add("\t\tadd 1 to {count}");
+            lines.add("\telse:");
+            lines.add("\t\tremove 1 from {count}");
+            lines.add("\tloop 3 times:");
+            lines.add("\t\tset {_s} to \"trigger " + i + ": %loop-number%\"");
+            lines.add("");
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.syst3ms.skriptparser.benchmark;
+
+import io.github.syst3ms.skriptparser.lang.TriggerContext;
+import io.github.syst3ms.skriptparser.lang.VariableString;
+import io.github.syst3ms.skriptparser.log.SkriptLogger;
+import io.github.syst3ms.skriptparser.parsing.ParserState;
+import io.github.syst3ms.skriptparser.variables.Variables;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures turning strings with and without expressions in them into text.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VariableStringBenchmark {
+    private final TriggerContext context = () -> "benchmark";
+    private VariableString simple;
+    private VariableString withVariables;
+    private VariableString withExpressions;
+
+    @Setup
+    public void setup() {
+        Benchmarks.register();
+        Variables.setVariable("name", "World", context, true);
+        Variables.setVariable("count", 42L, context, true);
+        simple = parse("\"Hello, World!\"");
+        withVariables = parse("\"Hello, %{_name}%! You have %{_count}% new messages.\"");
+        withExpressions = parse("\"%{_count} * 2% is twice %{_count}%, and %length of {_name}% letters\"");
+    }
+
+    @Benchmark
+    public String simpleString() {
+        return simple.toString(context);
+    }
+
+    @Benchmark
+    public String stringWithVariables() {
+        return withVariables.toString(context);
+    }
+
+    @Benchmark
+    public String stringWithExpressions() {
+        return withExpressions.toString(context);
+    }
+
+    private static VariableString parse(String s) {
+        return VariableString.newInstanceWithQuotes(s, new ParserState(), new SkriptLogger())
+            .orElseThrow(() -> new IllegalStateException("Couldn't parse " + s));
+    }
+}
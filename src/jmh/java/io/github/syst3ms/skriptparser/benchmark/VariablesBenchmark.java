@@ -0,0 +1,85 @@
+package io.github.syst3ms.skriptparser.benchmark;
+
+import io.github.syst3ms.skriptparser.lang.TriggerContext;
+import io.github.syst3ms.skriptparser.variables.Variables;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading and writing global, local and list variables.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VariablesBenchmark {
+    private static final int LIST_SIZE = 100;
+
+    private final TriggerContext context = () -> "benchmark";
+    private final String[] listElements = new String[LIST_SIZE];
+    private int index;
+
+    @Setup
+    public void setup() {
+        Benchmarks.register();
+        Variables.setVariable("global", 1L, null, false);
+        Variables.setVariable("local", 1L, context, true);
+        for (var i = 0; i < LIST_SIZE; i++) {
+            listElements[i] = "list::" + (i + 1);
+            Variables.setVariable(listElements[i], (long) i, null, false);
+        }
+    }
+
+    @Benchmark
+    public void setGlobal() {
+        Variables.setVariable("global", 2L, null, false);
+    }
+
+    @Benchmark
+    public Optional<Object> getGlobal() {
+        return Variables.getVariable("global", context, false);
+    }
+
+    @Benchmark
+    public void setLocal() {
+        Variables.setVariable("local", 2L, context, true);
+    }
+
+    @Benchmark
+    public Optional<Object> getLocal() {
+        return Variables.getVariable("local", context, true);
+    }
+
+    @Benchmark
+    public void setListElement() {
+        Variables.setVariable(listElements[nextIndex()], 2L, null, false);
+    }
+
+    @Benchmark
+    public Optional<Object> getListElement() {
+        return Variables.getVariable(listElements[nextIndex()], context, false);
+    }
+
+    @Benchmark
+    public Optional<Object> getList() {
+        return Variables.getVariable("list::*", context, false);
+    }
+
+    private int nextIndex() {
+        index = (index + 1) % LIST_SIZE;
+        return index;
+    }
+}
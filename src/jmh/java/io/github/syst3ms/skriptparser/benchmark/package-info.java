@@ -0,0 +1,7 @@
+/**
+ * JMH benchmarks of the hot paths of parsing and running scripts, run with the {@code jmh} Gradle task.
+ */
+@ParametersAreNonnullByDefault
+package io.github.syst3ms.skriptparser.benchmark;
+
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -1,7 +1,11 @@
 package io.github.syst3ms.skriptparser;
 
+import io.github.syst3ms.skriptparser.lang.TriggerDispatch;
+import io.github.syst3ms.skriptparser.lang.TriggerMap;
+import io.github.syst3ms.skriptparser.lang.compiler.TriggerCompiler;
 import io.github.syst3ms.skriptparser.log.LogEntry;
 import io.github.syst3ms.skriptparser.log.LogType;
+import io.github.syst3ms.skriptparser.parsing.ParseProfiler;
 import io.github.syst3ms.skriptparser.parsing.ScriptLoader;
 import io.github.syst3ms.skriptparser.registration.DefaultRegistration;
 import io.github.syst3ms.skriptparser.registration.SkriptAddon;
@@ -27,6 +31,14 @@ import java.util.jar.Manifest;
 
 public class Parser {
     public static final String CONSOLE_FORMAT = "[%tT] %s: %s%n";
+    /**
+     * The directory in which parsing decisions are stored when {@code --parse-cache} is used
+     */
+    public static final String PARSE_CACHE_DIRECTORY = ".parse-cache";
+    /**
+     * The number of entries in each part of the report printed when {@code --profile-parse} is used
+     */
+    public static final int PROFILE_REPORT_SIZE = 10;
     private static SkriptRegistration registration;
 
     private static List<LogEntry> logs;
@@ -34,6 +46,7 @@ public class Parser {
     public static void main(String[] args) {
         boolean debug = false;
         boolean tipsEnabled = true;
+        boolean profile = false;
         String scriptName = "";
         String[] programArgs = new String[0];
         if (args.length == 0) {
@@ -47,6 +60,14 @@ public class Parser {
                     debug = true;
                 } else if (s.equalsIgnoreCase("--no-tips") || s.equalsIgnoreCase("--nt")) {
                     tipsEnabled = false;
+                } else if (s.equalsIgnoreCase("--parse-cache")) {
+                    ScriptLoader.setParsePlanDirectory(Paths.get(PARSE_CACHE_DIRECTORY));
+                } else if (s.equalsIgnoreCase("--profile-parse")) {
+                    profile = true;
+                } else if (s.equalsIgnoreCase("--compile-triggers")) {
+                    TriggerCompiler.setThreshold(TriggerCompiler.DEFAULT_THRESHOLD);
+                } else if (s.equalsIgnoreCase("--parallel-triggers")) {
+                    TriggerMap.setDefaultDispatch(TriggerDispatch.PARALLEL);
                 } else {
                     j = i;
                     break;
@@ -56,7 +77,16 @@ public class Parser {
             programArgs = Arrays.copyOfRange(args, j + 1, args.length);
         }
         init(new String[0], new String[0], programArgs, true);
+        ParseProfiler profiler = profile ? ParseProfiler.start() : null;
         run(scriptName, debug, tipsEnabled);
+        if (profiler != null) {
+            ParseProfiler.stop();
+            System.out.println();
+            System.out.print(ConsoleColors.PURPLE);
+            System.out.println("Parsing profile:");
+            System.out.print(ConsoleColors.RESET);
+            System.out.print(profiler.getReport(PROFILE_REPORT_SIZE));
+        }
     }
 
     /**
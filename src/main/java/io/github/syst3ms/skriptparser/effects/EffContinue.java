@@ -69,11 +69,11 @@ public class EffContinue extends Effect {
 
         sections.subList(0, pos).forEach(sec -> {
             if (sec instanceof Finishing)
-                ((Finishing) sec).finish();
+                ((Finishing) sec).finish(ctx);
         });
 
         if (sections.get(pos) instanceof ArgumentSection) {
-            ((ArgumentSection) sections.get(0)).step(this);
+            ((ArgumentSection) sections.get(0)).step(ctx, this);
         }
         return sections.get(pos).getContinued(ctx);
     }
@@ -57,7 +57,7 @@ public class EffEscape extends Effect {
             if (current.isEmpty()) {
                 return Optional.empty();
             } else if (current.get() instanceof Finishing) {
-                ((Finishing) current.get()).finish();
+                ((Finishing) current.get()).finish(ctx);
             }
             current = current.flatMap(val -> val instanceof SelfReferencing
                 ? ((SelfReferencing) val).getActualNext()
@@ -76,15 +76,15 @@ public class EffExit extends Effect {
             case 0:
                 // We do this instead of returning an empty Optional,
                 // because we need to call finish() on certain sections.
-                return escapeSections(currentSections.size(), this);
+                return escapeSections(ctx, currentSections.size(), this);
             case 1:
-                return escapeSections(1, this);
+                return escapeSections(ctx, 1, this);
             case 2:
                 return amount.getSingle()
-                    .flatMap(sec -> escapeSections(sec.intValue(), this));
+                    .flatMap(sec -> escapeSections(ctx, sec.intValue(), this));
             case 3:
                 // The current trigger is also a part of the current sections!
-                return escapeSections(currentSections.size() - 1, this);
+                return escapeSections(ctx, currentSections.size() - 1, this);
             default:
                 throw new IllegalStateException();
         }
@@ -107,7 +107,7 @@ public class EffExit extends Effect {
     }
 
     @SuppressWarnings("unchecked")
-    private Optional<Statement> escapeSections(int amount, Statement start) {
+    private Optional<Statement> escapeSections(TriggerContext ctx, int amount, Statement start) {
         Optional<Statement> temp;
         Optional<Statement> statement = Optional.of(start);
         Statement stm = statement.get();
@@ -122,7 +122,7 @@ public class EffExit extends Effect {
                 || mark == 1 && (stm instanceof SecLoop || stm instanceof SecWhile)
                 || mark == 2 && stm instanceof SecConditional) {
                 if (stm instanceof Finishing)
-                    ((Finishing) stm).finish();
+                    ((Finishing) stm).finish(ctx);
                 amount--;
                 continue;
             }
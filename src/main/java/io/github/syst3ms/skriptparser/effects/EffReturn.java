@@ -110,7 +110,7 @@ public class EffReturn extends Effect {
     @Override
     public Optional<? extends Statement> walk(TriggerContext ctx) {
         this.sections.forEach(sec -> {
-            if (sec instanceof Finishing fin) fin.finish();
+            if (sec instanceof Finishing fin) fin.finish(ctx);
         });
         if (isInFunction) {
             FunctionContext functionContext = (FunctionContext) ctx;
@@ -118,8 +118,8 @@ public class EffReturn extends Effect {
             function.setReturnValue(returned.getValues(ctx));
             return Optional.empty(); // stop the trigger
         }
-        section.setReturned(returned.getValues(ctx));
-        section.step(this);
+        section.setReturned(ctx, returned.getValues(ctx));
+        section.step(ctx, this);
         return Optional.of(section);
     }
 
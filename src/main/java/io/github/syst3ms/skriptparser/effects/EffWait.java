@@ -1,6 +1,7 @@
 package io.github.syst3ms.skriptparser.effects;
 
 import io.github.syst3ms.skriptparser.lang.Effect;
+import io.github.syst3ms.skriptparser.lang.ExecutionFrame;
 import io.github.syst3ms.skriptparser.lang.Expression;
 import io.github.syst3ms.skriptparser.lang.Literal;
 import io.github.syst3ms.skriptparser.lang.Statement;
@@ -71,10 +72,12 @@ public class EffWait extends Effect {
 
         if (isConditional) {
             var cond = condition.getSingle(ctx);
+            // The rest of the trigger keeps running the same execution
+            var resume = ExecutionFrame.carry(ctx, () -> Statement.runAll(getNext().get(), ctx));
             // The code we want to run each check.
             Consumer<ExecutorService> code = exec -> {
                 if (cond.filter(b -> negated == b.booleanValue()).isPresent()) {
-                    Statement.runAll(getNext().get(), ctx);
+                    resume.run();
                     exec.shutdownNow();
                 }
             };
@@ -99,7 +102,7 @@ public class EffWait extends Effect {
                 );
                 thread.schedule(
                         () -> {
-                            Statement.runAll(getNext().get(), ctx);
+                            resume.run();
                             thread.shutdownNow();
                         },
                         millis,
@@ -111,7 +114,7 @@ public class EffWait extends Effect {
             if (dur.isEmpty())
                 return getNext();
 
-            ThreadUtils.runAfter(() -> Statement.runAll(getNext().get(), ctx), dur.get());
+            ThreadUtils.runAfter(ExecutionFrame.carry(ctx, () -> Statement.runAll(getNext().get(), ctx)), dur.get());
         }
         return Optional.empty();
     }
@@ -2,6 +2,7 @@ package io.github.syst3ms.skriptparser.expressions;
 
 import io.github.syst3ms.skriptparser.Parser;
 import io.github.syst3ms.skriptparser.lang.Expression;
+import io.github.syst3ms.skriptparser.lang.Foldable;
 import io.github.syst3ms.skriptparser.lang.Literal;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
 import io.github.syst3ms.skriptparser.log.ErrorType;
@@ -38,7 +39,7 @@ import java.util.Optional;
  * @pattern %number%[ ]^[ ]%number%
  * @since ALPHA
  */
-public class ExprArithmeticOperators implements Expression<Number> {
+public class ExprArithmeticOperators implements Expression<Number>, Foldable {
     public static final PatternInfos<Operator> PATTERNS = new PatternInfos<>(new Object[][]{
         {"%number%[ ]+[ ]%number%", Operator.PLUS},
         {"%number%[ ]-[ ]%number%", Operator.MINUS},
@@ -50,6 +51,11 @@ public class ExprArithmeticOperators implements Expression<Number> {
     static {
         Parser.getMainRegistration().newExpression(ExprArithmeticOperators.class, Number.class, true,
                 PATTERNS.getPatterns())
+            .infixOperator(0, "+", 1, false)
+            .infixOperator(1, "-", 1, false)
+            .infixOperator(2, "*", 2, false)
+            .infixOperator(3, "/", 2, false)
+            .infixOperator(4, "^", 3, true)
             .name("Arithmetic Operators")
             .description("Performs arithmetic operations on two numbers.")
             .since("1.0.0")
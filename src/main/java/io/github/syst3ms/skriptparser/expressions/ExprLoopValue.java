@@ -129,21 +129,22 @@ public class ExprLoopValue extends SectionValue<SecLoop, Object> {
     public Object[] getSectionValues(SecLoop loop, TriggerContext ctx) {
         Object[] one = (Object[]) Array.newInstance(getReturnType(), 1);
         if (isVariableLoop) {
-            if (loop.getArguments() == null || loop.getArguments()[0] == null) {
+            Object[] arguments = loop.getArguments(ctx);
+            if (arguments == null || arguments[0] == null) {
                 return new Object[0];
             }
-            var current = (Pair<String, Object>) loop.getArguments()[0];
+            var current = (Pair<String, Object>) arguments[0];
             if (isIndex) {
                 return new String[]{current.getFirst()};
             }
             one[0] = current.getSecond();
             return one;
         }
-        Object[] arguments = loop.getArguments();
+        Object[] arguments = loop.getArguments(ctx);
         if (arguments == null || arguments.length == 0) {
             return new Object[0];
         }
-        one[0] = loop.getArguments()[0];
+        one[0] = arguments[0];
         return one;
     }
 
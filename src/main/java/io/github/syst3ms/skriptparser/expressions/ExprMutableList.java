@@ -27,6 +27,9 @@ public class ExprMutableList implements Expression<Object> {
             .name("Mutable List")
             .description("Reverses, shuffles or sorts a list.")
             .since("1.0.0")
+            .setPriority(4)
+            // Lower priority than ExprStringCase(5)
+            // This prevents reversing a single string as a list of one element
             .register();
     }
 
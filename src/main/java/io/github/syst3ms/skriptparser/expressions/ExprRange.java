@@ -2,6 +2,7 @@ package io.github.syst3ms.skriptparser.expressions;
 
 import io.github.syst3ms.skriptparser.Parser;
 import io.github.syst3ms.skriptparser.lang.Expression;
+import io.github.syst3ms.skriptparser.lang.Foldable;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
 import io.github.syst3ms.skriptparser.log.ErrorType;
 import io.github.syst3ms.skriptparser.log.SkriptLogger;
@@ -24,7 +25,7 @@ import java.util.function.BiFunction;
  * @pattern [the] range from %object% to %object%
  * @since ALPHA
  */
-public class ExprRange implements Expression<Object> {
+public class ExprRange implements Expression<Object>, Foldable {
     static {
         Parser.getMainRegistration().newExpression(ExprRange.class, Object.class, false,
                 "[the] range from %object% to %object%")
@@ -34,6 +35,9 @@ public class ExprRange implements Expression<Object> {
             .register();
     }
 
+    // Ranges with more values than this aren't kept around, they are computed every time instead
+    private static final int MAX_FOLDED_SIZE = 1024;
+
     private Expression<?> from, to;
     private RangeInfo<?, ?> range;
 
@@ -72,6 +76,26 @@ public class ExprRange implements Expression<Object> {
             .orElse(new Object[0]);
     }
 
+    @Override
+    public boolean canFold() {
+        var f = from.getSingle(TriggerContext.DUMMY).orElse(null);
+        var t = to.getSingle(TriggerContext.DUMMY).orElse(null);
+        if (f == null || t == null)
+            return true;
+        double size;
+        if (f instanceof Number && t instanceof Number) {
+            size = Math.abs(((Number) t).doubleValue() - ((Number) f).doubleValue());
+        } else if (f instanceof String && t instanceof String) {
+            var left = (String) f;
+            var right = (String) t;
+            size = left.length() == 1 && right.length() == 1 ? Math.abs(right.charAt(0) - left.charAt(0)) : 0;
+        } else {
+            // The size of any other range isn't known in advance
+            return false;
+        }
+        return size < MAX_FOLDED_SIZE;
+    }
+
     @Override
     public Class<?> getReturnType() {
         return range.to();
@@ -2,6 +2,7 @@ package io.github.syst3ms.skriptparser.expressions;
 
 import io.github.syst3ms.skriptparser.Parser;
 import io.github.syst3ms.skriptparser.lang.Expression;
+import io.github.syst3ms.skriptparser.lang.Foldable;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
 import io.github.syst3ms.skriptparser.parsing.ParseContext;
 import io.github.syst3ms.skriptparser.util.StringUtils;
@@ -29,7 +30,7 @@ import io.github.syst3ms.skriptparser.util.StringUtils;
  * @pattern "(reverse[d]|mirror[ed]) %strings%"
  * @since ALPHA
  */
-public class ExprStringCase implements Expression<String> {
+public class ExprStringCase implements Expression<String>, Foldable {
     static {
         Parser.getMainRegistration().newExpression(
                 ExprStringCase.class,
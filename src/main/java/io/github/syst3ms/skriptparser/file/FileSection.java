@@ -11,9 +11,13 @@ import java.util.stream.Stream;
  * were indented after it. "all the lines" doesn't exclude sections.
  */
 public class FileSection extends FileElement {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
 
     private final List<FileElement> elements;
     private int length = -1;
+    private long fingerprint;
+    private boolean hasFingerprint;
 
     public FileSection(String fileName, int line, String content, List<FileElement> elements, int indentation) {
         super(fileName, line, content, indentation);
@@ -42,6 +46,39 @@ public class FileSection extends FileElement {
         return length;
     }
 
+    /**
+     * A hash of the content and indentation of every line of this section, including its own. Blank and comment-only
+     * lines are left out, and so are line numbers, so that two sections with the same fingerprint can be assumed to
+     * hold the same code, wherever they are located in their file.
+     * @return the fingerprint of this section
+     */
+    public long getFingerprint() {
+        if (!hasFingerprint) {
+            fingerprint = hash(FNV_OFFSET_BASIS, this);
+            hasFingerprint = true;
+        }
+        return fingerprint;
+    }
+
+    private static long hash(long hash, FileElement element) {
+        hash = (hash ^ element.getIndentation()) * FNV_PRIME;
+        var content = element.getLineContent();
+        for (var i = 0; i < content.length(); i++) {
+            hash = (hash ^ content.charAt(i)) * FNV_PRIME;
+        }
+        hash = (hash ^ '\n') * FNV_PRIME;
+        if (element instanceof FileSection) {
+            // Delimiting the elements, so that nesting is taken into account
+            hash = (hash ^ ':') * FNV_PRIME;
+            for (var e : ((FileSection) element).elements) {
+                if (!(e instanceof VoidElement))
+                    hash = hash(hash, e);
+            }
+            hash = (hash ^ '\0') * FNV_PRIME;
+        }
+        return hash;
+    }
+
     public Optional<FileElement> get(String line) {
         Stream<FileElement> fileElementStream = elements.stream()
             .filter(element -> {
@@ -20,7 +20,9 @@ import java.util.Set;
 import java.util.function.Predicate;
 
 /**
- * Represents a section of runnable code.
+ * Represents a section of runnable code. Sections decide where execution goes when they are reached, and therefore
+ * must implement {@link #walk(TriggerContext)}. Sections that are run often should also override
+ * {@link #advance(TriggerContext)}, which doesn't allocate, and simply wrap it in their implementation of walk.
  *
  * @see SecConditional
  * @see SecLoop
@@ -85,7 +87,7 @@ public abstract class CodeSection extends Statement {
         for (var item : items) {
             item.setParent(this);
         }
-        first = items.isEmpty() ? null : items.get(0);
+        first = items.isEmpty() ? null : items.get(0).getEntryPoint();
         last = items.isEmpty() ? null : items.get(items.size() - 1);
     }
 
@@ -94,7 +96,18 @@ public abstract class CodeSection extends Statement {
      * no item after this section, in the latter case
      */
     public final Optional<? extends Statement> getFirst() {
-        return Optional.ofNullable(first).or(this::getNext);
+        return Optional.ofNullable(getFirstStatement());
+    }
+
+    /**
+     * Same as {@link #getFirst()}, without wrapping the result in an {@link Optional}.
+     *
+     * @return the first item of this section, or the item after the section if it's empty, or {@code null} if there is
+     * no item after this section, in the latter case
+     */
+    @Nullable
+    public final Statement getFirstStatement() {
+        return first != null ? first : getNextStatement();
     }
 
     /**
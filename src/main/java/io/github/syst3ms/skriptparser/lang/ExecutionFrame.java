@@ -0,0 +1,182 @@
+package io.github.syst3ms.skriptparser.lang;
+
+import io.github.syst3ms.skriptparser.parsing.ParserState;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The state of a single execution of a {@link Trigger}, like the iterator of a loop that is being run. Since
+ * Statements are shared by every execution of their trigger, state that belongs to an execution can't be stored in
+ * their fields : the same trigger may run on multiple threads at once, or again while it is already running.
+ * <p>
+ * Instead, Statements request a {@link Slot} from the {@link ParserState} while they are being parsed, and store their
+ * state in it while running. Every time a trigger is {@linkplain Statement#runAll(Statement, TriggerContext) run}, it
+ * gets a new frame, which belongs to the thread running it and is discarded along with everything it holds once the
+ * execution is over. Running code starting at any other Statement keeps using the frame of the execution it belongs
+ * to, if there is one for the same context on the current thread.
+ * <p>
+ * Statements that resume an execution later or on another thread, like delays, must {@linkplain #carry(TriggerContext,
+ * Runnable) carry} its frame there. Statements should still clear their slots once they are done, which is what
+ * {@link io.github.syst3ms.skriptparser.lang.control.Finishing Finishing} sections do, since the same execution may
+ * run them again.
+ */
+public class ExecutionFrame {
+    private static final ThreadLocal<ExecutionFrame> CURRENT = new ThreadLocal<>();
+
+    private final TriggerContext context;
+    // The values of the slots, by layout. An execution normally only uses the layout of its own trigger
+    @Nullable
+    private Map<Layout, Object[]> values;
+
+    private ExecutionFrame(TriggerContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Wraps code that resumes an execution, so that it keeps using the frame that execution is using on the current
+     * thread, whichever thread it runs on. If there is none, the execution gets a new frame.
+     *
+     * @param ctx  the context of the execution
+     * @param code the code resuming the execution
+     * @return code doing the same thing, using the frame of the execution
+     */
+    public static Runnable carry(TriggerContext ctx, Runnable code) {
+        var current = CURRENT.get();
+        var frame = current != null && current.context == ctx ? current : new ExecutionFrame(ctx);
+        return () -> {
+            var previous = CURRENT.get();
+            CURRENT.set(frame);
+            try {
+                code.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * @return the context of the execution running on the current thread, or {@link TriggerContext#DUMMY} if there is
+     * none
+     */
+    public static TriggerContext currentContext() {
+        var current = CURRENT.get();
+        return current != null ? current.context : TriggerContext.DUMMY;
+    }
+
+    /*
+     * Makes the current thread run an execution, returning the frame it was using until then. A new frame is used
+     * when a trigger starts running, or when the current one belongs to another context.
+     */
+    @Nullable
+    static ExecutionFrame enter(TriggerContext ctx, boolean start) {
+        var current = CURRENT.get();
+        if (start || current == null || current.context != ctx)
+            CURRENT.set(new ExecutionFrame(ctx));
+        return current;
+    }
+
+    /*
+     * Makes the current thread use the given frame again, once the execution it entered is done
+     */
+    static void restore(@Nullable ExecutionFrame previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    @Nullable
+    private static ExecutionFrame get(TriggerContext ctx) {
+        var current = CURRENT.get();
+        return current != null && current.context == ctx ? current : null;
+    }
+
+    /**
+     * The slots of the executions of a single trigger, which are allocated while it is being parsed.
+     */
+    public static class Layout {
+        private int size;
+
+        /**
+         * @param <T> the type of the values held by the slot
+         * @return a new slot, holding nothing in every execution
+         */
+        public <T> Slot<T> newSlot() {
+            return new Slot<>(this, size++);
+        }
+    }
+
+    /**
+     * A value that is specific to every execution of a trigger.
+     *
+     * @param <T> the type of the value
+     * @see ParserState#newFrameSlot()
+     */
+    public static class Slot<T> {
+        private final Layout layout;
+        private final int index;
+
+        private Slot(Layout layout, int index) {
+            this.layout = layout;
+            this.index = index;
+        }
+
+        /**
+         * @param ctx the context of the execution
+         * @return the value held by this slot in the given execution, or {@code null} if there is none or if that
+         * execution isn't running on the current thread
+         */
+        @Nullable
+        @SuppressWarnings("unchecked")
+        public T get(TriggerContext ctx) {
+            var frame = ExecutionFrame.get(ctx);
+            if (frame == null)
+                return null;
+            // Async sections keep running the execution on another thread
+            synchronized (frame) {
+                var values = frame.values != null ? frame.values.get(layout) : null;
+                return values != null ? (T) values[index] : null;
+            }
+        }
+
+        /**
+         * Sets the value held by this slot in the given execution.
+         *
+         * @param ctx the context of the execution
+         * @param value the value, or {@code null} to clear this slot
+         * @throws IllegalStateException if that execution isn't running on the current thread
+         */
+        public void set(TriggerContext ctx, @Nullable T value) {
+            var frame = ExecutionFrame.get(ctx);
+            if (frame == null) {
+                if (value == null)
+                    return;
+                throw new IllegalStateException("Statements holding state can only run through Statement.runAll");
+            }
+            synchronized (frame) {
+                var values = frame.values != null ? frame.values.get(layout) : null;
+                if (values == null) {
+                    if (value == null)
+                        return;
+                    if (frame.values == null)
+                        frame.values = new IdentityHashMap<>(2);
+                    values = new Object[layout.size];
+                    frame.values.put(layout, values);
+                }
+                values[index] = value;
+            }
+        }
+
+        /**
+         * Clears this slot in the given execution.
+         *
+         * @param ctx the context of the execution
+         */
+        public void clear(TriggerContext ctx) {
+            set(ctx, null);
+        }
+    }
+}
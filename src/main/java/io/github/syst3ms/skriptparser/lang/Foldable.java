@@ -0,0 +1,37 @@
+package io.github.syst3ms.skriptparser.lang;
+
+import io.github.syst3ms.skriptparser.lang.base.ConstantCondition;
+import io.github.syst3ms.skriptparser.lang.base.ConstantExpression;
+
+/**
+ * An {@link Expression} whose values only ever depend on the expressions it was initialized with. When all of them
+ * are {@linkplain #isConstant(Expression) constant}, the parser evaluates the expression once, right after
+ * initializing it, and replaces it with a {@link ConstantExpression} holding its values (or a
+ * {@link ConstantCondition} for conditions), so it doesn't get evaluated again every time a trigger runs.
+ * <p>
+ * Only expressions that don't depend on the {@link TriggerContext}, on variables or on any other state, and that
+ * have no side effects, should implement this.
+ */
+public interface Foldable {
+    /**
+     * Literals that are "or" lists of multiple values aren't constant, as one of the values is picked at random
+     * every time they are evaluated.
+     * @param exp the expression
+     * @return whether the expression always has the same values
+     */
+    static boolean isConstant(Expression<?> exp) {
+        if (exp instanceof ConstantExpression || exp instanceof ConstantCondition)
+            return exp.isSingle() || exp.isAndList();
+        return Literal.isLiteral(exp) && (exp.isSingle() || exp.isAndList());
+    }
+
+    /**
+     * Called once all the inputs of this expression are known to be constant, before it is evaluated to be folded.
+     * Expressions that would hold on to too many values once folded should return {@code false}, so that they are
+     * computed every time instead.
+     * @return whether this expression should be folded
+     */
+    default boolean canFold() {
+        return true;
+    }
+}
@@ -5,6 +5,7 @@ import io.github.syst3ms.skriptparser.log.SkriptLogger;
 import io.github.syst3ms.skriptparser.parsing.ParseContext;
 import io.github.syst3ms.skriptparser.parsing.ParserState;
 import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
 
@@ -22,9 +23,15 @@ public class SimpleCodeSection extends CodeSection {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    @Nullable
+    public Statement advance(TriggerContext ctx) {
+        return getFirstStatement();
+    }
+
     @Override
     public Optional<? extends Statement> walk(TriggerContext ctx) {
-        return getFirst();
+        return Optional.ofNullable(advance(ctx));
     }
 
     @Override
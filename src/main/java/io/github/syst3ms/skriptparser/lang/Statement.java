@@ -7,6 +7,12 @@ import java.util.function.Consumer;
 
 /**
  * The base class for any runnable line of code inside of a script.
+ * <p>
+ * Running code consists of {@linkplain #advance(TriggerContext) advancing} from one Statement to the next. Statements
+ * that control where execution goes next may override either {@link #advance(TriggerContext)}, which doesn't need to
+ * allocate anything, or {@link #walk(TriggerContext)}, which is what they used to override and is still supported.
+ * Either way, an override may call the implementation it overrides, but not the default implementation of the other
+ * method, which would call it back.
  *
  * @see CodeSection
  * @see Effect
@@ -14,10 +20,27 @@ import java.util.function.Consumer;
 public abstract class Statement implements SyntaxElement {
     public static Consumer<IllegalStateException> illegalStateRunnable;
     public static Consumer<Exception> exceptionHandler;
+    /*
+     * Whether a class overrides walk more specifically than advance, in which case advancing goes through walk
+     */
+    private static final ClassValue<Boolean> WALKING = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                var walk = type.getMethod("walk", TriggerContext.class).getDeclaringClass();
+                var advance = type.getMethod("advance", TriggerContext.class).getDeclaringClass();
+                return walk != advance && advance.isAssignableFrom(walk);
+            } catch (NoSuchMethodException e) {
+                throw new AssertionError(e);
+            }
+        }
+    };
+
     @Nullable
     protected CodeSection parent;
     @Nullable
     protected Statement next;
+    private final boolean walking = WALKING.get(getClass());
 
     public static void setIllegalStateHandler(Consumer<IllegalStateException> consumer) {
         Statement.illegalStateRunnable = consumer;
@@ -30,16 +53,20 @@ public abstract class Statement implements SyntaxElement {
     /**
      * Runs all code starting at a given point sequentially.
      * Do note this will not clear local variables after running.
+     * <p>
+     * Running a {@link Trigger} starts a new execution, with an {@link ExecutionFrame} of its own. Running code starting
+     * at any other Statement continues the execution running on this thread with the same context, if there is one.
      *
      * @param start   the Statement the method should first run
      * @param context the context
      * @return {@code true} if the code ran normally, and {@code false} if any exception occurred
      */
     public static boolean runAll(Statement start, TriggerContext context) {
-        Optional<? extends Statement> item = Optional.of(start);
+        Statement item = start;
+        var caller = ExecutionFrame.enter(context, start instanceof Trigger);
         try {
-            while (item.isPresent())
-                item = item.flatMap(i -> i.walk(context));
+            while (item != null)
+                item = item.advance(context);
             return true;
         } catch (StackOverflowError so) {
             System.err.println("The script repeated itself infinitely!");
@@ -59,6 +86,8 @@ public abstract class Statement implements SyntaxElement {
             System.err.println("An exception occurred. Stack trace:");
             e.printStackTrace();
 
+        } finally {
+            ExecutionFrame.restore(caller);
         }
         return false;
     }
@@ -93,12 +122,22 @@ public abstract class Statement implements SyntaxElement {
      * said section. If this Statement is the very last item of a trigger, returns {@code null}
      */
     public final Optional<? extends Statement> getNext() {
+        return Optional.ofNullable(getNextStatement());
+    }
+
+    /**
+     * Same as {@link #getNext()}, without wrapping the result in an {@link Optional}.
+     *
+     * @return the Statement after this one, or {@code null} if this Statement is the very last item of a trigger
+     */
+    @Nullable
+    public final Statement getNextStatement() {
         if (next != null) {
-            return Optional.of(next);
+            return next;
         } else if (parent != null) {
-            return parent.getNext();
+            return parent.getNextStatement();
         } else {
-            return Optional.empty();
+            return null;
         }
     }
 
@@ -116,20 +155,52 @@ public abstract class Statement implements SyntaxElement {
     }
 
     /**
-     * By default, runs {@link #run(TriggerContext)} ; returns {@link #getNext()} if it returns true, or {@code null} otherwise.
-     * Note that if this method is overridden, then the implementation of {@linkplain #run(TriggerContext)} doesn't matter.
+     * The Statement that execution actually continues with whenever it reaches this one, if that is already known once
+     * this Statement and the ones after it are loaded. Statements are linked to what this returns instead of to this
+     * Statement, so that it is skipped entirely when running. By default, this is the Statement itself.
+     *
+     * @return the Statement to link to in place of this one
+     */
+    public Statement getEntryPoint() {
+        return this;
+    }
+
+    /**
+     * By default, runs {@link #run(TriggerContext)} ; returns {@link #getNextStatement()} if it returns true, or the
+     * Statement after the enclosing section otherwise. If {@link #walk(TriggerContext)} is overridden instead, returns
+     * what it returns.
+     * Note that if either method is overridden, then the implementation of {@linkplain #run(TriggerContext)} doesn't
+     * matter.
      *
      * @param ctx the event
      * @return the next item to be ran, or {@code null} if this is the last item to be executed
      */
+    @Nullable
+    public Statement advance(TriggerContext ctx) {
+        return walking ? walk(ctx).orElse(null) : proceed(ctx);
+    }
+
+    /**
+     * Same as {@link #advance(TriggerContext)}, wrapping the result in an {@link Optional}. Overriding
+     * {@link #advance(TriggerContext)} should be preferred, since it is called for every Statement that is run, which
+     * then doesn't need to allocate an Optional every time.
+     *
+     * @param ctx the event
+     * @return the next item to be ran, or an empty Optional if this is the last item to be executed
+     */
     public Optional<? extends Statement> walk(TriggerContext ctx) {
-        var proceed = run(ctx);
-        if (proceed) {
-            return getNext();
+        // An override of walk calling this one mustn't go back to itself through advance
+        return Optional.ofNullable(walking ? proceed(ctx) : advance(ctx));
+    }
+
+    @Nullable
+    private Statement proceed(TriggerContext ctx) {
+        if (run(ctx)) {
+            return getNextStatement();
         } else if (parent != null) {
-            return parent.getNext();
+            return parent.getNextStatement();
         } else {
-            return Optional.empty();
+            return null;
         }
     }
 }
@@ -1,19 +1,30 @@
 package io.github.syst3ms.skriptparser.lang;
 
 import io.github.syst3ms.skriptparser.file.FileSection;
+import io.github.syst3ms.skriptparser.lang.compiler.CompiledTrigger;
+import io.github.syst3ms.skriptparser.lang.compiler.TriggerCompiler;
 import io.github.syst3ms.skriptparser.lang.event.SkriptEvent;
 import io.github.syst3ms.skriptparser.log.SkriptLogger;
 import io.github.syst3ms.skriptparser.parsing.ParseContext;
 import io.github.syst3ms.skriptparser.parsing.ParserState;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A top-level section, that is not contained in code.
  * Usually declares an event.
+ * <p>
+ * When the {@link TriggerCompiler} is enabled, a Trigger that ran often enough runs its code compiled from then on.
  */
 public class Trigger extends CodeSection {
     private final SkriptEvent event;
+    private final AtomicInteger executions = new AtomicInteger();
+    @Nullable
+    private volatile CompiledTrigger compiled;
+    // Whether compiling was attempted, in which case executions stop being counted, even if it failed
+    private volatile boolean compileAttempted;
 
     public Trigger(SkriptEvent event) {
         this.event = event;
@@ -34,9 +45,30 @@ public class Trigger extends CodeSection {
         return true;
     }
 
+    @Override
+    @Nullable
+    public Statement advance(TriggerContext ctx) {
+        var first = getFirstStatement();
+        if (first == null || !event.check(ctx))
+            return null;
+        var compiled = this.compiled;
+        if (compiled == null) {
+            var threshold = TriggerCompiler.getThreshold();
+            // Only one execution reaches the threshold, and compiles this Trigger
+            if (compileAttempted || threshold < 0 || executions.getAndIncrement() != threshold)
+                return first;
+            compiled = TriggerCompiler.compile(this);
+            this.compiled = compiled;
+            compileAttempted = true;
+            if (compiled == null)
+                return first;
+        }
+        return compiled.execute(ctx);
+    }
+
     @Override
     public Optional<? extends Statement> walk(TriggerContext ctx) {
-        return getFirst().filter(__ -> event.check(ctx));
+        return Optional.ofNullable(advance(ctx));
     }
 
     @Override
@@ -47,4 +79,11 @@ public class Trigger extends CodeSection {
     public SkriptEvent getEvent() {
         return event;
     }
+
+    /**
+     * @return whether this Trigger was compiled, and runs its compiled code from then on
+     */
+    public boolean isCompiled() {
+        return compiled != null;
+    }
 }
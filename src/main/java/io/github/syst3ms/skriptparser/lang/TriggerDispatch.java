@@ -0,0 +1,29 @@
+package io.github.syst3ms.skriptparser.lang;
+
+import io.github.syst3ms.skriptparser.lang.event.SkriptEvent;
+
+/**
+ * How the triggers associated with a {@link TriggerContext} are run when they are
+ * {@linkplain TriggerMap#callTriggersByContext(TriggerContext) called}.
+ * <p>
+ * With the parallel modes, every trigger runs on its own virtual thread, with local variables that no other trigger
+ * can see, even though they all share the same context. Unless {@linkplain TriggerMap#setPriorityGroups(boolean)
+ * disabled}, triggers are grouped by the {@linkplain SkriptEvent#getLoadingPriority() loading priority} of their event,
+ * and a group only starts once all the triggers of the groups with a higher priority are done.
+ *
+ * @see TriggerMap#setDispatch(Class, TriggerDispatch)
+ */
+public enum TriggerDispatch {
+    /**
+     * The triggers run one after another on the calling thread. This is the default.
+     */
+    SEQUENTIAL,
+    /**
+     * The triggers run concurrently, and the calling thread waits for all of them to be done.
+     */
+    PARALLEL,
+    /**
+     * The triggers run concurrently, and the calling thread doesn't wait for them.
+     */
+    PARALLEL_DETACHED
+}
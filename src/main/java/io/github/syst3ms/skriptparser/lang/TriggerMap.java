@@ -2,19 +2,45 @@ package io.github.syst3ms.skriptparser.lang;
 
 import io.github.syst3ms.skriptparser.structures.functions.Functions;
 import io.github.syst3ms.skriptparser.variables.Variables;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 /**
  * A map that holds triggers based on a script and {@link TriggerContext}.
+ * All of its methods are safe to call from multiple threads, and the collections they return are copies.
+ * <p>
+ * A trigger added for a context class is called for that class and all of its subclasses. Calling triggers never
+ * waits for scripts being loaded or unloaded : every change replaces an immutable dispatch table instead of
+ * modifying it.
+ * <p>
+ * By default, the triggers of a context run one after another on the calling thread. They can also run concurrently,
+ * which is configured for every context class with {@link #setDispatch(Class, TriggerDispatch)}.
  */
 public class TriggerMap {
 
     private static final Map<String, Map<Class<? extends TriggerContext>, List<Trigger>>> TRIGGERS = new TreeMap<>();
+    private static final Map<Class<? extends TriggerContext>, TriggerDispatch> DISPATCH_MODES = new LinkedHashMap<>();
+    private static final Executor TRIGGER_THREADS =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("skript-trigger-", 0).factory());
+    private static TriggerDispatch defaultDispatch = TriggerDispatch.SEQUENTIAL;
+    private static volatile Dispatch dispatch = new Dispatch(List.of(), Map.of(), defaultDispatch);
+    private static volatile boolean priorityGroups = true;
 
     /**
      * Add a trigger to the map.
@@ -23,8 +49,21 @@ public class TriggerMap {
      * @param context    Trigger context class to which the trigger should be added
      * @param trigger    Trigger to add
      */
-    public static void addTrigger(String scriptName, Class<? extends TriggerContext> context, Trigger trigger) {
-        TRIGGERS.computeIfAbsent(scriptName, k -> new HashMap<>()).computeIfAbsent(context, k -> new ArrayList<>()).add(trigger);
+    public static synchronized void addTrigger(String scriptName, Class<? extends TriggerContext> context, Trigger trigger) {
+        TRIGGERS.computeIfAbsent(scriptName, k -> new LinkedHashMap<>()).computeIfAbsent(context, k -> new ArrayList<>()).add(trigger);
+        rebuild();
+    }
+
+    /**
+     * Add triggers to the map at once, which is faster than adding them one by one.
+     *
+     * @param scriptName Name of a script
+     * @param triggers   Triggers to add, by trigger context class
+     */
+    public static synchronized void addTriggers(String scriptName, Map<Class<? extends TriggerContext>, List<Trigger>> triggers) {
+        var scriptTriggers = TRIGGERS.computeIfAbsent(scriptName, k -> new LinkedHashMap<>());
+        triggers.forEach((context, list) -> scriptTriggers.computeIfAbsent(context, k -> new ArrayList<>()).addAll(list));
+        rebuild();
     }
 
     /**
@@ -32,22 +71,71 @@ public class TriggerMap {
      *
      * @param scriptName Script name to clear triggers for
      */
-    public static void clearTriggers(String scriptName) {
+    public static synchronized void clearTriggers(String scriptName) {
         TRIGGERS.getOrDefault(scriptName, Map.of()).values().forEach(triggers -> {
             triggers.forEach(trigger -> trigger.getEvent().unload());
         });
         TRIGGERS.remove(scriptName);
+        rebuild();
         Functions.removeFunctions(scriptName);
     }
 
+    /**
+     * Remove all triggers of a script from the map, only unloading the ones that aren't kept. Unlike
+     * {@link #clearTriggers(String)}, the functions of the script are left untouched.
+     *
+     * @param scriptName Script name to remove triggers for
+     * @param kept       Triggers that will be added back, and therefore shouldn't be unloaded
+     */
+    public static synchronized void removeTriggers(String scriptName, Set<Trigger> kept) {
+        var triggers = TRIGGERS.remove(scriptName);
+        if (triggers == null)
+            return;
+        rebuild();
+        triggers.values().stream()
+            .flatMap(List::stream)
+            .distinct()
+            .filter(trigger -> !kept.contains(trigger))
+            .forEach(trigger -> trigger.getEvent().unload());
+    }
+
+    /**
+     * Replace all triggers of a script at once, so that there is no point in time where it has no triggers. The
+     * replaced triggers are unloaded afterwards, except for the ones that are part of the new triggers.
+     *
+     * @param scriptName Script name to replace triggers for
+     * @param triggers   The new triggers of the script, by trigger context class
+     */
+    public static void replaceTriggers(String scriptName, Map<Class<? extends TriggerContext>, List<Trigger>> triggers) {
+        Map<Class<? extends TriggerContext>, List<Trigger>> replacement = new LinkedHashMap<>();
+        triggers.forEach((context, list) -> replacement.put(context, new ArrayList<>(list)));
+        Map<Class<? extends TriggerContext>, List<Trigger>> replaced;
+        synchronized (TriggerMap.class) {
+            replaced = TRIGGERS.put(scriptName, replacement);
+            rebuild();
+        }
+        if (replaced == null)
+            return;
+        Set<Trigger> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+        replacement.values().forEach(kept::addAll);
+        // Unloading doesn't hold the lock, so that other triggers can keep being called meanwhile
+        replaced.values().stream()
+            .flatMap(List::stream)
+            .distinct()
+            .filter(trigger -> !kept.contains(trigger))
+            .forEach(trigger -> trigger.getEvent().unload());
+    }
+
     /**
      * Get all the triggers associated with a script.
      *
      * @param scriptName Script name to get triggers for
-     * @return Map of trigger contexts to triggers
+     * @return Map of trigger contexts to triggers, as they are at the time of calling
      */
-    public static Map<Class<? extends TriggerContext>, List<Trigger>> getTriggersByScript(String scriptName) {
-        return TRIGGERS.getOrDefault(scriptName, Map.of());
+    public static synchronized Map<Class<? extends TriggerContext>, List<Trigger>> getTriggersByScript(String scriptName) {
+        Map<Class<? extends TriggerContext>, List<Trigger>> triggers = new HashMap<>();
+        TRIGGERS.getOrDefault(scriptName, Map.of()).forEach((context, list) -> triggers.put(context, List.copyOf(list)));
+        return triggers;
     }
 
     /**
@@ -55,33 +143,254 @@ public class TriggerMap {
      *
      * @return All triggers
      */
-    public static List<Trigger> getAllTriggers() {
+    public static synchronized List<Trigger> getAllTriggers() {
         return TRIGGERS.values().stream().flatMap(m -> m.values().stream()).flatMap(List::stream).toList();
     }
 
     /**
-     * Get all triggers associated with a {@link TriggerContext}.
+     * Get all triggers associated with a {@link TriggerContext}, including the ones added for one of its
+     * superclasses.
      *
      * @param context Trigger context to get triggers for
      * @return List of triggers
      */
     public static <T extends TriggerContext> List<Trigger> getTriggersByContext(Class<T> context) {
-        return TRIGGERS.values().stream().flatMap(m -> m.getOrDefault(context, List.of()).stream()).toList();
+        return List.of(dispatch.get(context).triggers());
+    }
+
+    /**
+     * Sets how the triggers of a context class are run, overriding the {@linkplain #setDefaultDispatch(TriggerDispatch)
+     * default}. Like triggers, this applies to that class and all of its subclasses, unless a subclass has a dispatch
+     * of its own.
+     *
+     * @param context  Trigger context class to set the dispatch of
+     * @param dispatch How the triggers are run, or {@code null} to use the default again
+     */
+    public static synchronized void setDispatch(Class<? extends TriggerContext> context,
+                                                @Nullable TriggerDispatch dispatch) {
+        if (dispatch == null) {
+            DISPATCH_MODES.remove(context);
+        } else {
+            DISPATCH_MODES.put(context, dispatch);
+        }
+        rebuild();
+    }
+
+    /**
+     * Sets how the triggers of the context classes that don't have a dispatch of their own are run.
+     *
+     * @param dispatch How the triggers are run, {@link TriggerDispatch#SEQUENTIAL} by default
+     */
+    public static synchronized void setDefaultDispatch(TriggerDispatch dispatch) {
+        defaultDispatch = dispatch;
+        rebuild();
+    }
+
+    /**
+     * @param context Trigger context class
+     * @return How the triggers of that context class are run, which is the dispatch set for the closest class it
+     * extends, or the default one
+     */
+    public static TriggerDispatch getDispatch(Class<? extends TriggerContext> context) {
+        return dispatch.get(context).mode();
+    }
+
+    /**
+     * Sets whether triggers running concurrently are grouped by the loading priority of their event, in which case
+     * the triggers with a lower priority only start once the ones with a higher priority are done. Otherwise, all the
+     * triggers of a context start at once.
+     *
+     * @param enabled Whether the triggers are grouped, which they are by default
+     */
+    public static void setPriorityGroups(boolean enabled) {
+        priorityGroups = enabled;
     }
 
     /**
      * Call a trigger with a specific {@link TriggerContext}.
      * Do note this will clear all local variables when it's done running.
+     * <p>
+     * Triggers running concurrently have local variables of their own instead. In that case, the same context
+     * shouldn't be called again before its triggers are done.
      *
      * @param context Trigger context to call triggers for
      * @param <T>     Trigger context type
+     * @see #setDispatch(Class, TriggerDispatch)
      */
     public static <T extends TriggerContext> void callTriggersByContext(T context) {
-        getTriggersByContext(context.getClass()).forEach(t -> {
-            Statement.runAll(t, context);
-            Variables.clearLocalVariables(context);
-        });
+        var targets = dispatch.get(context.getClass());
+        var mode = targets.mode();
+        if (mode == TriggerDispatch.SEQUENTIAL) {
+            for (var trigger : targets.triggers()) {
+                Statement.runAll(trigger, context);
+                Variables.clearLocalVariables(context);
+            }
+            return;
+        } else if (targets.triggers().length == 0) {
+            return;
+        }
+
+        var done = callConcurrently(context, priorityGroups ? targets.groups() : new Trigger[][] {targets.triggers()});
+        if (mode == TriggerDispatch.PARALLEL) {
+            try {
+                done.join();
+            } catch (CompletionException e) {
+                var cause = unwrap(e);
+                if (cause instanceof RuntimeException runtimeException)
+                    throw runtimeException;
+                if (cause instanceof Error error)
+                    throw error;
+                throw e;
+            }
+        } else {
+            var caller = Thread.currentThread();
+            var handler = caller.getUncaughtExceptionHandler();
+            done.whenComplete((__, e) -> {
+                if (e != null)
+                    handler.uncaughtException(caller, unwrap(e));
+            });
+        }
+    }
+
+    /*
+     * Runs every trigger on its own virtual thread, the groups one after another
+     */
+    private static CompletableFuture<Void> callConcurrently(TriggerContext context, Trigger[][] groups) {
+        var done = CompletableFuture.<Void>completedFuture(null);
+        for (var group : groups) {
+            done = done.thenCompose(__ -> {
+                var calls = new CompletableFuture<?>[group.length];
+                for (var i = 0; i < group.length; i++) {
+                    var trigger = group[i];
+                    calls[i] = CompletableFuture.runAsync(
+                        () -> Variables.runWithOwnLocalVariables(context, () -> Statement.runAll(trigger, context)),
+                        TRIGGER_THREADS
+                    );
+                }
+                return CompletableFuture.allOf(calls);
+            });
+        }
+        return done;
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        while (throwable instanceof CompletionException && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        return throwable;
+    }
+
+    /*
+     * Must be called with the lock held, after every change
+     */
+    private static void rebuild() {
+        List<Map<Class<? extends TriggerContext>, List<Trigger>>> registered = new ArrayList<>(TRIGGERS.size());
+        for (var scriptTriggers : TRIGGERS.values()) {
+            Map<Class<? extends TriggerContext>, List<Trigger>> copy = new LinkedHashMap<>();
+            scriptTriggers.forEach((context, list) -> copy.put(context, List.copyOf(list)));
+            registered.add(copy);
+        }
+        dispatch = new Dispatch(registered, new LinkedHashMap<>(DISPATCH_MODES), defaultDispatch);
+    }
 
+    /*
+     * Whether triggers and dispatches set for a context class apply to another one
+     */
+    private static boolean appliesTo(Class<?> registered, Class<?> context) {
+        // Triggers without a context are added for TriggerContext, yet shouldn't run for every context
+        return registered == context || registered != TriggerContext.class && registered.isAssignableFrom(context);
+    }
+
+    /**
+     * The triggers of a context class.
+     *
+     * @param triggers the triggers, in the order of their scripts
+     * @param groups   the same triggers, grouped by the loading priority of their event, the highest coming first
+     * @param mode     how the triggers are run
+     */
+    private record Targets(Trigger[] triggers, Trigger[][] groups, TriggerDispatch mode) {
     }
 
+    /**
+     * The triggers to call for every context class, as they were when the dispatch table was built. The triggers of
+     * the context classes triggers were added for are computed right away, while the ones of their subclasses are
+     * computed the first time they are called.
+     */
+    private static class Dispatch {
+        private static final Trigger[] NONE = new Trigger[0];
+        private static final Comparator<Trigger> BY_PRIORITY =
+            Comparator.comparingInt((Trigger trigger) -> trigger.getEvent().getLoadingPriority()).reversed();
+
+        // The triggers of every script, in the order of the scripts
+        private final List<Map<Class<? extends TriggerContext>, List<Trigger>>> registered;
+        // The dispatches set for context classes, in the order they were set
+        private final Map<Class<? extends TriggerContext>, TriggerDispatch> modes;
+        private final TriggerDispatch defaultMode;
+        private final Map<Class<?>, Targets> index = new ConcurrentHashMap<>();
+
+        Dispatch(List<Map<Class<? extends TriggerContext>, List<Trigger>>> registered,
+                 Map<Class<? extends TriggerContext>, TriggerDispatch> modes,
+                 TriggerDispatch defaultMode) {
+            this.registered = registered;
+            this.modes = modes;
+            this.defaultMode = defaultMode;
+            for (var scriptTriggers : registered) {
+                for (var context : scriptTriggers.keySet()) {
+                    index.computeIfAbsent(context, this::collect);
+                }
+            }
+        }
+
+        Targets get(Class<?> context) {
+            var targets = index.get(context);
+            return targets != null ? targets : index.computeIfAbsent(context, this::collect);
+        }
+
+        private Targets collect(Class<?> context) {
+            List<Trigger> triggers = new ArrayList<>();
+            Set<Trigger> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (var scriptTriggers : registered) {
+                scriptTriggers.forEach((registeredContext, list) -> {
+                    if (appliesTo(registeredContext, context)) {
+                        for (var trigger : list) {
+                            if (seen.add(trigger))
+                                triggers.add(trigger);
+                        }
+                    }
+                });
+            }
+            var collected = triggers.isEmpty() ? NONE : triggers.toArray(NONE);
+            return new Targets(collected, group(collected), mode(context));
+        }
+
+        private TriggerDispatch mode(Class<?> context) {
+            Class<?> closest = null;
+            var mode = defaultMode;
+            for (var entry : modes.entrySet()) {
+                var modeContext = entry.getKey();
+                // Between unrelated classes, such as two interfaces, the one set first is used
+                if (appliesTo(modeContext, context)
+                        && (closest == null || modeContext != closest && closest.isAssignableFrom(modeContext))) {
+                    closest = modeContext;
+                    mode = entry.getValue();
+                }
+            }
+            return mode;
+        }
+
+        private static Trigger[][] group(Trigger[] triggers) {
+            // The sort is stable, so triggers with the same priority stay in the order of their scripts
+            var sorted = triggers.clone();
+            Arrays.sort(sorted, BY_PRIORITY);
+            List<Trigger[]> groups = new ArrayList<>();
+            var start = 0;
+            for (var i = 1; i <= sorted.length; i++) {
+                if (i == sorted.length || BY_PRIORITY.compare(sorted[start], sorted[i]) != 0) {
+                    groups.add(Arrays.copyOfRange(sorted, start, i));
+                    start = i;
+                }
+            }
+            return groups.toArray(new Trigger[0][]);
+        }
+    }
 }
@@ -146,7 +146,7 @@ public class VariableString extends TaggedExpression {
                     continue;
                 }
                 logger.recurse();
-                var tag = TagManager.parseTag(String.valueOf(next), logger);
+                var tag = TagManager.parseTag(String.valueOf(next), parserState, logger);
                 logger.callback();
                 if (tag.isEmpty()) {
                     logger.clearErrors();
@@ -165,7 +165,20 @@ public class VariableString extends TaggedExpression {
         if (sb.length() > 0) {
             data.add(sb.toString());
         }
-        return Optional.of(new VariableString(data.toArray(), stringMode));
+        return Optional.of(new VariableString(data.toArray(), stringMode).foldLiterals());
+    }
+
+    /*
+     * When all expressions are constant, the string is too, and it can be computed right away
+     */
+    private VariableString foldLiterals() {
+        if (simple)
+            return this;
+        for (var o : data) {
+            if (o instanceof Tag || o instanceof Expression && !Foldable.isConstant((Expression<?>) o))
+                return this;
+        }
+        return new VariableString(new Object[] {toString(TriggerContext.DUMMY)}, stringMode);
     }
 
     @Override
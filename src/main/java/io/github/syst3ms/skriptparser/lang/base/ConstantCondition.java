@@ -0,0 +1,48 @@
+package io.github.syst3ms.skriptparser.lang.base;
+
+import io.github.syst3ms.skriptparser.lang.Expression;
+import io.github.syst3ms.skriptparser.lang.Foldable;
+import io.github.syst3ms.skriptparser.lang.TriggerContext;
+import io.github.syst3ms.skriptparser.parsing.ParseContext;
+import org.jetbrains.annotations.Contract;
+
+/**
+ * A {@link ConditionalExpression} whose outcome was already computed at parse time, because it was
+ * {@linkplain Foldable folded}. It stays a condition, so that it can still be used wherever the original one could,
+ * and it keeps the string representation of the original condition.
+ */
+public class ConstantCondition extends ConditionalExpression {
+    private final boolean value;
+    private final String representation;
+
+    public ConstantCondition(boolean value, String representation) {
+        this.value = value;
+        this.representation = representation;
+    }
+
+    @Override
+    @Contract("_, _, _ -> fail")
+    public boolean init(Expression<?>[] expressions, int matchedPattern, ParseContext parseContext) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean check(TriggerContext ctx) {
+        return value;
+    }
+
+    @Override
+    public boolean isSingle() {
+        return true;
+    }
+
+    @Override
+    public Class<? extends Boolean> getReturnType() {
+        return Boolean.class;
+    }
+
+    @Override
+    public String toString(TriggerContext ctx, boolean debug) {
+        return representation;
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.syst3ms.skriptparser.lang.base;
+
+import io.github.syst3ms.skriptparser.lang.Expression;
+import io.github.syst3ms.skriptparser.lang.Foldable;
+import io.github.syst3ms.skriptparser.lang.TriggerContext;
+import io.github.syst3ms.skriptparser.parsing.ParseContext;
+import io.github.syst3ms.skriptparser.util.CollectionUtils;
+import org.jetbrains.annotations.Contract;
+
+import java.lang.reflect.Array;
+
+/**
+ * An {@link Expression} whose values were already computed at parse time, because it was
+ * {@linkplain Foldable folded}. Unlike a {@link io.github.syst3ms.skriptparser.lang.Literal Literal}, it still counts
+ * as an expression in patterns that only accept expressions or only accept literals, and it keeps the string
+ * representation of the original expression.
+ *
+ * @param <T> the type of the values
+ */
+public class ConstantExpression<T> implements Expression<T> {
+    private final Class<? extends T> returnType;
+    private final T[] values;
+    private final boolean single;
+    private final boolean andList;
+    private final String representation;
+
+    public ConstantExpression(Class<? extends T> returnType, T[] values, boolean single, boolean andList, String representation) {
+        this.returnType = returnType;
+        this.values = values;
+        this.single = single;
+        this.andList = andList;
+        this.representation = representation;
+    }
+
+    @Override
+    @Contract("_, _, _ -> fail")
+    public boolean init(Expression<?>[] expressions, int matchedPattern, ParseContext parseContext) {
+        throw new UnsupportedOperationException();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T[] getValues(TriggerContext ctx) {
+        if (andList || values.length <= 1) {
+            return values;
+        } else {
+            var copy = (T[]) Array.newInstance(values.getClass().getComponentType(), 1);
+            copy[0] = CollectionUtils.getRandom(values);
+            return copy;
+        }
+    }
+
+    @Override
+    public T[] getArray(TriggerContext ctx) {
+        return values;
+    }
+
+    @Override
+    public boolean isSingle() {
+        return single;
+    }
+
+    @Override
+    public Class<? extends T> getReturnType() {
+        return returnType;
+    }
+
+    @Override
+    public boolean isAndList() {
+        return andList;
+    }
+
+    @Override
+    public String toString(TriggerContext ctx, boolean debug) {
+        return representation;
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.syst3ms.skriptparser.lang.compiler;
+
+import io.github.syst3ms.skriptparser.lang.Statement;
+import io.github.syst3ms.skriptparser.lang.Trigger;
+import io.github.syst3ms.skriptparser.lang.TriggerContext;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The code of a {@link Trigger}, compiled by the {@link TriggerCompiler}. The subclasses of this class are generated
+ * for every compiled trigger.
+ */
+public abstract class CompiledTrigger {
+    /**
+     * The Statements the generated code refers to, the ones that can be jumped to coming first
+     */
+    protected final Statement[] statements;
+    private final Map<Statement, Integer> indices = new IdentityHashMap<>();
+
+    /**
+     * @param statements the Statements the generated code refers to
+     * @param nodes the number of Statements, at the start of the array, that the generated code can jump to
+     */
+    protected CompiledTrigger(Statement[] statements, int nodes) {
+        this.statements = statements;
+        for (var i = 0; i < nodes; i++) {
+            indices.put(statements[i], i);
+        }
+    }
+
+    /**
+     * Runs the code of the trigger, starting with its first Statement. Exactly the same Statements as with
+     * {@link Statement#runAll(Statement, TriggerContext)} are run, in the same order.
+     *
+     * @param ctx the context
+     * @return the Statement that execution should continue with, if it left the code of the trigger, or
+     * {@code null} if it is over
+     */
+    @Nullable
+    public abstract Statement execute(TriggerContext ctx);
+
+    /**
+     * Called by the generated code when a Statement decides where execution goes next, and it isn't one of the
+     * Statements it was expected to go to.
+     *
+     * @param statement a Statement
+     * @return the index of the given Statement, if the generated code can jump to it, or {@code -1} otherwise
+     */
+    protected final int indexOf(Statement statement) {
+        var index = indices.get(statement);
+        return index != null ? index : -1;
+    }
+}
@@ -0,0 +1,316 @@
+package io.github.syst3ms.skriptparser.lang.compiler;
+
+import io.github.syst3ms.skriptparser.lang.CodeSection;
+import io.github.syst3ms.skriptparser.lang.Statement;
+import io.github.syst3ms.skriptparser.lang.Trigger;
+import io.github.syst3ms.skriptparser.lang.TriggerContext;
+import io.github.syst3ms.skriptparser.lang.control.SelfReferencing;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.classfile.ClassBuilder;
+import java.lang.classfile.ClassFile;
+import java.lang.classfile.ClassHierarchyResolver;
+import java.lang.classfile.CodeBuilder;
+import java.lang.classfile.Label;
+import java.lang.classfile.instruction.SwitchCase;
+import java.lang.constant.ClassDesc;
+import java.lang.constant.ConstantDescs;
+import java.lang.constant.MethodTypeDesc;
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles the code of {@linkplain Trigger triggers} into JVM bytecode, so that running them doesn't go through
+ * {@link Statement#runAll(Statement, TriggerContext)} anymore. This is disabled by default ; once
+ * {@linkplain #setThreshold(int) enabled}, triggers are interpreted as usual until they have run a given number
+ * of times, and only then compiled.
+ * <p>
+ * The code of a trigger is compiled into a single method of a {@linkplain MethodHandles.Lookup#defineHiddenClass
+ * hidden class}, in which every Statement has its own call site :
+ * <ul>
+ *     <li>Statements that don't decide where execution goes, like {@linkplain io.github.syst3ms.skriptparser.lang.Effect
+ *     effects}, are {@linkplain Statement#run(TriggerContext) run} one after the other, and jump directly to the
+ *     Statement after their section if they return {@code false}.</li>
+ *     <li>Statements that do, like sections or statements that exit them, still {@linkplain
+ *     Statement#advance(TriggerContext) advance} themselves, after which the generated code jumps directly to the
+ *     Statement they chose. The usual candidates, like the first item of a section or the Statement after it, are
+ *     checked first.</li>
+ * </ul>
+ * Compiled code therefore runs the very same Statements as the interpreter, in the same order. It relies on the
+ * structure of the trigger, which doesn't change once it is loaded.
+ */
+public class TriggerCompiler {
+    /**
+     * The number of times a trigger runs before being compiled, when enabled without specifying it
+     */
+    public static final int DEFAULT_THRESHOLD = 1000;
+    // Bigger triggers could exceed the maximal size of a method, and hardly benefit from compilation anyway
+    private static final int MAX_STATEMENTS = 1000;
+
+    private static final System.Logger LOGGER = System.getLogger(TriggerCompiler.class.getName());
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final ClassDesc CD_STATEMENT = desc(Statement.class);
+    private static final ClassDesc CD_STATEMENT_ARRAY = CD_STATEMENT.arrayType();
+    private static final ClassDesc CD_TRIGGER_CONTEXT = desc(TriggerContext.class);
+    private static final ClassDesc CD_COMPILED_TRIGGER = desc(CompiledTrigger.class);
+    private static final MethodTypeDesc MTD_CONSTRUCTOR = MethodTypeDesc.of(ConstantDescs.CD_void, CD_STATEMENT_ARRAY, ConstantDescs.CD_int);
+    private static final MethodTypeDesc MTD_EXECUTE = MethodTypeDesc.of(CD_STATEMENT, CD_TRIGGER_CONTEXT);
+    private static final MethodTypeDesc MTD_RUN = MethodTypeDesc.of(ConstantDescs.CD_boolean, CD_TRIGGER_CONTEXT);
+    private static final MethodTypeDesc MTD_INDEX_OF = MethodTypeDesc.of(ConstantDescs.CD_int, CD_STATEMENT);
+    // The local variables of the generated method
+    private static final int CONTEXT_SLOT = 1;
+    private static final int STATEMENTS_SLOT = 2;
+    private static final int NEXT_SLOT = 3;
+
+    /*
+     * Whether a class runs like any Statement, in which case the Statement it goes to next is known in advance
+     */
+    private static final ClassValue<Boolean> PLAIN = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("advance", TriggerContext.class).getDeclaringClass() == Statement.class
+                        && type.getMethod("walk", TriggerContext.class).getDeclaringClass() == Statement.class;
+            } catch (NoSuchMethodException e) {
+                throw new AssertionError(e);
+            }
+        }
+    };
+
+    private static volatile int threshold = -1;
+
+    private TriggerCompiler() {
+    }
+
+    /**
+     * Sets the number of times a trigger runs before being compiled. Triggers that were already compiled stay so.
+     *
+     * @param threshold the number of runs, or a negative number to disable compilation
+     */
+    public static void setThreshold(int threshold) {
+        TriggerCompiler.threshold = threshold;
+    }
+
+    /**
+     * @return the number of times a trigger runs before being compiled, or a negative number if compilation is
+     * disabled
+     */
+    public static int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Compiles the code of a trigger that is fully loaded.
+     *
+     * @param trigger the trigger
+     * @return the compiled code, or {@code null} if the trigger can't be compiled, in which case it should keep being
+     * interpreted. The reason why is logged at the {@linkplain System.Logger.Level#DEBUG debug} level.
+     */
+    @Nullable
+    public static CompiledTrigger compile(Trigger trigger) {
+        List<Statement> statements = new ArrayList<>();
+        collect(trigger, statements);
+        if (statements.isEmpty() || statements.size() > MAX_STATEMENTS) {
+            LOGGER.log(System.Logger.Level.DEBUG, () -> "Not compiling a trigger of " + describe(trigger)
+                    + " with " + statements.size() + " statements");
+            return null;
+        }
+        try {
+            var generator = new Generator(statements);
+            var bytes = ClassFile.of(ClassFile.ClassHierarchyResolverOption.of(ClassHierarchyResolver.ofClassLoading(LOOKUP)))
+                    .build(ClassDesc.of(TriggerCompiler.class.getPackageName(), "GeneratedTrigger"), generator::generate);
+            var type = LOOKUP.defineHiddenClass(bytes, true).lookupClass();
+            return (CompiledTrigger) type.getConstructor(Statement[].class, int.class)
+                    .newInstance(generator.getConstants(), statements.size());
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            LOGGER.log(System.Logger.Level.DEBUG, () -> "Couldn't compile a trigger of " + describe(trigger)
+                    + ", it keeps being interpreted", e);
+            return null;
+        }
+    }
+
+    private static String describe(Trigger trigger) {
+        return trigger.getEvent().getClass().getName();
+    }
+
+    private static void collect(CodeSection section, List<Statement> statements) {
+        var items = section.getItems();
+        if (items == null)
+            return;
+        for (var item : items) {
+            statements.add(item);
+            if (item instanceof CodeSection)
+                collect((CodeSection) item, statements);
+        }
+    }
+
+    private static ClassDesc desc(Class<?> type) {
+        return ClassDesc.of(type.getName());
+    }
+
+    /*
+     * Generates the code of a trigger, the Statements of which are laid out in the order of the file
+     */
+    private static class Generator {
+        private final List<Statement> statements;
+        private final Map<Statement, Integer> indices = new IdentityHashMap<>();
+        private final Map<Statement, Integer> constants = new IdentityHashMap<>();
+        private final List<Statement> constantList = new ArrayList<>();
+        private final Map<Statement, Label> nodes = new IdentityHashMap<>();
+        // Statements outside the trigger, to which execution is handed back, along with the code doing that
+        private final Map<Statement, Label> exits = new IdentityHashMap<>();
+        private Label end;
+        private Label dispatch;
+        private boolean dispatching;
+
+        Generator(List<Statement> statements) {
+            this.statements = statements;
+            for (var i = 0; i < statements.size(); i++) {
+                indices.put(statements.get(i), i);
+                constantIndex(statements.get(i));
+            }
+        }
+
+        Statement[] getConstants() {
+            return constantList.toArray(new Statement[0]);
+        }
+
+        void generate(ClassBuilder builder) {
+            builder.withFlags(ClassFile.ACC_PUBLIC | ClassFile.ACC_FINAL | ClassFile.ACC_SUPER)
+                    .withSuperclass(CD_COMPILED_TRIGGER)
+                    .withMethodBody(ConstantDescs.INIT_NAME, MTD_CONSTRUCTOR, ClassFile.ACC_PUBLIC, code -> code
+                            .aload(0)
+                            .aload(1)
+                            .iload(2)
+                            .invokespecial(CD_COMPILED_TRIGGER, ConstantDescs.INIT_NAME, MTD_CONSTRUCTOR)
+                            .return_())
+                    .withMethodBody("execute", MTD_EXECUTE, ClassFile.ACC_PUBLIC, this::generateExecute);
+        }
+
+        private void generateExecute(CodeBuilder code) {
+            nodes.clear();
+            exits.clear();
+            end = code.newLabel();
+            dispatch = code.newLabel();
+            dispatching = false;
+            for (var statement : statements) {
+                nodes.put(statement, code.newLabel());
+            }
+            code.aload(0)
+                    .getfield(CD_COMPILED_TRIGGER, "statements", CD_STATEMENT_ARRAY)
+                    .astore(STATEMENTS_SLOT);
+            // Execution starts with the first item of the trigger, which is laid out first
+            for (var i = 0; i < statements.size(); i++) {
+                var statement = statements.get(i);
+                code.labelBinding(nodes.get(statement));
+                if (PLAIN.get(statement.getClass())) {
+                    generatePlain(code, statement, i);
+                } else {
+                    generateAdvancing(code, statement);
+                }
+            }
+            code.labelBinding(end)
+                    .aconst_null()
+                    .areturn();
+            for (var exit : exits.entrySet()) {
+                code.labelBinding(exit.getValue());
+                loadStatement(code, exit.getKey());
+                code.areturn();
+            }
+            if (dispatching)
+                generateDispatch(code);
+        }
+
+        /*
+         * Same as Statement#advance, with both possible outcomes known in advance
+         */
+        private void generatePlain(CodeBuilder code, Statement statement, int index) {
+            loadStatement(code, statement);
+            code.aload(CONTEXT_SLOT)
+                    .invokevirtual(CD_STATEMENT, "run", MTD_RUN)
+                    .ifeq(target(code, statement.getParent().map(Statement::getNextStatement).orElse(null)));
+            var next = statement.getNextStatement();
+            if (next == null || index + 1 >= statements.size() || next != statements.get(index + 1))
+                code.goto_(target(code, next));
+        }
+
+        private void generateAdvancing(CodeBuilder code, Statement statement) {
+            loadStatement(code, statement);
+            code.aload(CONTEXT_SLOT)
+                    .invokevirtual(CD_STATEMENT, "advance", MTD_EXECUTE)
+                    .astore(NEXT_SLOT)
+                    .aload(NEXT_SLOT)
+                    .ifnull(end);
+            for (var candidate : getCandidates(statement)) {
+                code.aload(NEXT_SLOT);
+                loadStatement(code, candidate);
+                code.if_acmpeq(nodes.get(candidate));
+            }
+            code.goto_(dispatch);
+            dispatching = true;
+        }
+
+        /*
+         * Jumps to the Statement held by the local variable, or returns it if it isn't part of the trigger
+         */
+        private void generateDispatch(CodeBuilder code) {
+            var unknown = code.newLabel();
+            List<SwitchCase> cases = new ArrayList<>(statements.size());
+            for (var i = 0; i < statements.size(); i++) {
+                cases.add(SwitchCase.of(i, nodes.get(statements.get(i))));
+            }
+            code.labelBinding(dispatch)
+                    .aload(0)
+                    .aload(NEXT_SLOT)
+                    .invokevirtual(CD_COMPILED_TRIGGER, "indexOf", MTD_INDEX_OF)
+                    .tableswitch(0, statements.size() - 1, unknown, cases)
+                    .labelBinding(unknown)
+                    .aload(NEXT_SLOT)
+                    .areturn();
+        }
+
+        /*
+         * The Statements that a Statement deciding where execution goes usually goes to
+         */
+        private List<Statement> getCandidates(Statement statement) {
+            var candidates = new LinkedHashSet<Statement>();
+            if (statement instanceof CodeSection)
+                candidates.add(((CodeSection) statement).getFirstStatement());
+            candidates.add(statement.getNextStatement());
+            if (statement instanceof SelfReferencing)
+                candidates.add(((SelfReferencing) statement).getActualNext().orElse(null));
+            statement.getParent().ifPresent(parent -> candidates.add(parent.getNextStatement()));
+            candidates.removeIf(candidate -> candidate == null || !indices.containsKey(candidate));
+            return new ArrayList<>(candidates);
+        }
+
+        private Label target(CodeBuilder code, @Nullable Statement statement) {
+            if (statement == null)
+                return end;
+            var node = nodes.get(statement);
+            if (node != null)
+                return node;
+            return exits.computeIfAbsent(statement, s -> {
+                constantIndex(s);
+                return code.newLabel();
+            });
+        }
+
+        private void loadStatement(CodeBuilder code, Statement statement) {
+            code.aload(STATEMENTS_SLOT)
+                    .loadConstant(constantIndex(statement))
+                    .aaload();
+        }
+
+        private int constantIndex(Statement statement) {
+            return constants.computeIfAbsent(statement, s -> {
+                constantList.add(s);
+                return constantList.size() - 1;
+            });
+        }
+    }
+}
@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package io.github.syst3ms.skriptparser.lang.compiler;
+
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -3,6 +3,7 @@ package io.github.syst3ms.skriptparser.lang.control;
 import io.github.syst3ms.skriptparser.effects.EffContinue;
 import io.github.syst3ms.skriptparser.effects.EffExit;
 import io.github.syst3ms.skriptparser.lang.CodeSection;
+import io.github.syst3ms.skriptparser.lang.ExecutionFrame;
 import io.github.syst3ms.skriptparser.lang.Statement;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
 import io.github.syst3ms.skriptparser.lang.lambda.ArgumentSection;
@@ -41,8 +42,22 @@ public interface Finishing {
      * Another example is {@link EffExit}, which finishes every section that implements this interface,
      * because of the same reasons specified above.
      *
+     * <br>
+     * Since the state of a section belongs to a single execution of its trigger, only that execution is finished.
+     *
+     * @param ctx the context of the execution
      * @see EffExit
      * @see EffContinue
      */
-    void finish();
+    void finish(TriggerContext ctx);
+
+    /**
+     * Finishes this section in the execution running on the current thread.
+     *
+     * @deprecated Use {@link #finish(TriggerContext)}
+     */
+    @Deprecated(forRemoval = true)
+    default void finish() {
+        finish(ExecutionFrame.currentContext());
+    }
 }
@@ -2,17 +2,34 @@ package io.github.syst3ms.skriptparser.lang.lambda;
 
 import io.github.syst3ms.skriptparser.effects.EffContinue;
 import io.github.syst3ms.skriptparser.effects.EffReturn;
+import io.github.syst3ms.skriptparser.file.FileSection;
 import io.github.syst3ms.skriptparser.lang.CodeSection;
+import io.github.syst3ms.skriptparser.lang.ExecutionFrame;
 import io.github.syst3ms.skriptparser.lang.Statement;
+import io.github.syst3ms.skriptparser.lang.TriggerContext;
 import io.github.syst3ms.skriptparser.lang.control.Finishing;
+import io.github.syst3ms.skriptparser.log.SkriptLogger;
+import io.github.syst3ms.skriptparser.parsing.ParserState;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
 
 /**
- * A {@link CodeSection} that can hold information about arguments.
+ * A {@link CodeSection} that can hold information about arguments. The arguments are specific to every execution of
+ * the trigger, and are stored in its {@link ExecutionFrame}.
  */
 public abstract class ArgumentSection extends CodeSection implements Finishing {
-    private Object[] arguments;
+    private ExecutionFrame.Slot<Object[]> arguments;
+
+    /**
+     * Extending classes overriding this method must call {@code super.loadSection(...)}, which allocates the slot
+     * holding the arguments.
+     */
+    @Override
+    public boolean loadSection(FileSection section, ParserState parserState, SkriptLogger logger) {
+        arguments = parserState.newFrameSlot();
+        return super.loadSection(section, parserState, logger);
+    }
 
     /**
      * This function is called from the section containing the code, and returns an Optional describing
@@ -31,32 +48,74 @@ public abstract class ArgumentSection extends CodeSection implements Finishing {
      * <br>
      * Note that this function only needs to be called for <b>iterative</b> sections, like
      * loops and maps, that need to execute certain actions after <i>each</i> iteration, instead
-     * of only when the execution has finished (see {@linkplain #finish()} for that)
+     * of only when the execution has finished (see {@linkplain #finish(TriggerContext)} for that)
      * <br>
      * By default, does nothing.
      *
+     * @param ctx the context
      * @param item the last statement
      * @see EffContinue
      * @see EffReturn
      */
-    public void step(Statement item) { /* Nothing */ }
+    public void step(TriggerContext ctx, Statement item) { /* Nothing */ }
 
+    /**
+     * Same as {@link #step(TriggerContext, Statement)}, in the execution running on the current thread.
+     *
+     * @param item the last statement
+     * @deprecated Use {@link #step(TriggerContext, Statement)}
+     */
+    @Deprecated(forRemoval = true)
+    public void step(Statement item) {
+        step(ExecutionFrame.currentContext(), item);
+    }
+
+    /**
+     * Clears the arguments. Extending classes overriding this method must call {@code super.finish(ctx)}.
+     */
     @Override
-    public void finish() { /* Nothing */ }
+    public void finish(TriggerContext ctx) {
+        arguments.clear(ctx);
+    }
 
     /**
-     * @return the arguments passed to this section's code
+     * @param ctx the context
+     * @return the arguments passed to this section's code, or {@code null} if there are none
      */
-    public Object[] getArguments() {
-        return arguments;
+    @Nullable
+    public Object[] getArguments(TriggerContext ctx) {
+        return arguments.get(ctx);
     }
 
     /**
      * Sets the arguments that should be passed to the section code.
      *
+     * @param ctx the context
+     * @param arguments this section's arguments
+     */
+    public void setArguments(TriggerContext ctx, Object... arguments) {
+        this.arguments.set(ctx, arguments);
+    }
+
+    /**
+     * @return the arguments passed to this section's code in the execution running on the current thread, or
+     * {@code null} if there are none
+     * @deprecated Use {@link #getArguments(TriggerContext)}
+     */
+    @Nullable
+    @Deprecated(forRemoval = true)
+    public Object[] getArguments() {
+        return getArguments(ExecutionFrame.currentContext());
+    }
+
+    /**
+     * Sets the arguments that should be passed to the section code in the execution running on the current thread.
+     *
      * @param arguments this section's arguments
+     * @deprecated Use {@link #setArguments(TriggerContext, Object...)}
      */
+    @Deprecated(forRemoval = true)
     public void setArguments(Object... arguments) {
-        this.arguments = arguments;
+        setArguments(ExecutionFrame.currentContext(), arguments);
     }
 }
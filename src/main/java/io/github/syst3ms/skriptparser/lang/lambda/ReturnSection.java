@@ -1,7 +1,11 @@
 package io.github.syst3ms.skriptparser.lang.lambda;
 
 import io.github.syst3ms.skriptparser.effects.EffReturn;
-import org.jetbrains.annotations.Nullable;
+import io.github.syst3ms.skriptparser.file.FileSection;
+import io.github.syst3ms.skriptparser.lang.ExecutionFrame;
+import io.github.syst3ms.skriptparser.lang.TriggerContext;
+import io.github.syst3ms.skriptparser.log.SkriptLogger;
+import io.github.syst3ms.skriptparser.parsing.ParserState;
 
 import java.util.Optional;
 
@@ -12,27 +16,66 @@ import java.util.Optional;
  * @param <T> the type of the return value.
  */
 public abstract class ReturnSection<T> extends ArgumentSection {
-    @Nullable
-    private T[] returned;
+    private ExecutionFrame.Slot<T[]> returned;
+
+    @Override
+    public boolean loadSection(FileSection section, ParserState parserState, SkriptLogger logger) {
+        returned = parserState.newFrameSlot();
+        return super.loadSection(section, parserState, logger);
+    }
+
+    /**
+     * Clears the returned values, as well as the arguments.
+     */
+    @Override
+    public void finish(TriggerContext ctx) {
+        super.finish(ctx);
+        returned.clear(ctx);
+    }
 
     /**
      * The values being returned from inside this section.
      *
+     * @param ctx the context
      * @return an Optional describing the returned values, or an empty Optional if no values have been returned so far.
      */
-    public Optional<T[]> getReturned() {
-        return Optional.ofNullable(returned);
+    public Optional<T[]> getReturned(TriggerContext ctx) {
+        return Optional.ofNullable(returned.get(ctx));
     }
 
     /**
      * Sets the values returned from inside this section.
      *
+     * @param ctx the context
      * @param returned the returned values
      * @throws ClassCastException if the values passed aren't of the type {@link T}
      */
     @SuppressWarnings("unchecked")
+    public void setReturned(TriggerContext ctx, Object[] returned) {
+        this.returned.set(ctx, (T[]) returned);
+    }
+
+    /**
+     * The values being returned from inside this section, in the execution running on the current thread.
+     *
+     * @return an Optional describing the returned values, or an empty Optional if no values have been returned so far.
+     * @deprecated Use {@link #getReturned(TriggerContext)}
+     */
+    @Deprecated(forRemoval = true)
+    public Optional<T[]> getReturned() {
+        return getReturned(ExecutionFrame.currentContext());
+    }
+
+    /**
+     * Sets the values returned from inside this section, in the execution running on the current thread.
+     *
+     * @param returned the returned values
+     * @throws ClassCastException if the values passed aren't of the type {@link T}
+     * @deprecated Use {@link #setReturned(TriggerContext, Object[])}
+     */
+    @Deprecated(forRemoval = true)
     public void setReturned(Object[] returned) {
-        this.returned = (T[]) returned;
+        setReturned(ExecutionFrame.currentContext(), returned);
     }
 
     /**
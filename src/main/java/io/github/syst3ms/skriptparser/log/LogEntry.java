@@ -4,32 +4,55 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * An entry in Skript's log.
+ * <p>
+ * As most entries logged during parsing end up being discarded, the message of an entry may be computed
+ * lazily, the first time it is {@linkplain #getMessage() requested}.
  */
 public class LogEntry {
     private final LogType type;
-    private final String message;
+    @Nullable
+    private String message;
+    @Nullable
+    private Supplier<String> messageSupplier;
     private final int line;
     private final List<ErrorContext> errorContext;
     private final ErrorType errorType;
     private final String tip;
+    private final long sequence;
 
     public LogEntry(String message, LogType verbosity, int line, List<ErrorContext> errorContext, @Nullable ErrorType errorType) {
         this(message, verbosity, line, errorContext, errorType, null);
     }
 
     public LogEntry(String message, LogType verbosity, int line, List<ErrorContext> errorContext, @Nullable ErrorType errorType, @Nullable String tip) {
-        this.type = verbosity;
+        this(verbosity, line, errorContext, errorType, tip, 0);
         this.message = message;
+    }
+
+    LogEntry(Supplier<String> message, LogType verbosity, int line, List<ErrorContext> errorContext, @Nullable ErrorType errorType, @Nullable String tip, long sequence) {
+        this(verbosity, line, errorContext, errorType, tip, sequence);
+        this.messageSupplier = message;
+    }
+
+    private LogEntry(LogType verbosity, int line, List<ErrorContext> errorContext, @Nullable ErrorType errorType, @Nullable String tip, long sequence) {
+        this.type = verbosity;
         this.line = line;
         this.errorContext = errorContext;
         this.errorType = errorType;
         this.tip = tip;
+        this.sequence = sequence;
     }
 
     public String getMessage() {
+        if (message == null) {
+            assert messageSupplier != null;
+            message = messageSupplier.get();
+            messageSupplier = null;
+        }
         return message;
     }
 
@@ -52,4 +75,11 @@ public class LogEntry {
     public int getLine() {
         return line;
     }
+
+    /**
+     * @return the position of this entry among all entries of the logger it was logged with
+     */
+    long getSequence() {
+        return sequence;
+    }
 }
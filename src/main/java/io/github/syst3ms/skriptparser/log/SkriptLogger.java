@@ -6,13 +6,22 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.LinkedList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
 
 /**
  * An object through which Skript can keep track of errors, warnings and other useful information to the one that writes
  * Skript code.
+ * <p>
+ * While a line is being matched, almost every error that is logged is discarded right away, because another
+ * syntax ends up matching. Entries are therefore recorded speculatively: they share a snapshot of the error context
+ * as long as it doesn't change, and their message, including its {@linkplain #LOG_FORMAT formatting}, is only
+ * computed once it is actually needed, which in practice is only for the entries that {@link #finalizeLogs()}
+ * makes definitive. Messages that are expensive to build can also be passed lazily,
+ * see {@link #error(Supplier, ErrorType, String)}.
  */
 public class SkriptLogger {
     public static final String LOG_FORMAT = "%s (line %d: \"%s\", %s)";
@@ -38,14 +47,14 @@ public class SkriptLogger {
     private static final Comparator<LogEntry> ERROR_COMPARATOR = (e1, e2) -> {
         List<ErrorContext> c1 = e1.getErrorContext(),
                 c2 = e2.getErrorContext();
-        if (!c1.equals(c2)) {
-            var s1 = c1.stream()
-                    .map(c -> Integer.toString(c.ordinal()))
-                    .collect(Collectors.joining());
-            var s2 = c2.stream()
-                    .map(c -> Integer.toString(c.ordinal()))
-                    .collect(Collectors.joining());
-            return s1.compareTo(s2);
+        // Lexicographical order of the contexts, a context preceding all the ones it is a prefix of
+        var size = Math.min(c1.size(), c2.size());
+        for (var i = 0; i < size; i++) {
+            if (c1.get(i) != c2.get(i))
+                return c1.get(i).ordinal() - c2.get(i).ordinal();
+        }
+        if (c1.size() != c2.size()) {
+            return c1.size() - c2.size();
         } else {
             return e1.getErrorType().ordinal() - e2.getErrorType().ordinal();
         }
@@ -54,7 +63,9 @@ public class SkriptLogger {
     private boolean debug;
     private boolean open = true;
     private boolean hasError = false;
-    private final LinkedList<ErrorContext> errorContext = new LinkedList<>();
+    private final List<ErrorContext> errorContext = new ArrayList<>();
+    @Nullable
+    private List<ErrorContext> errorContextSnapshot;
     // File
     private String fileName;
     private List<FileElement> fileElements;
@@ -62,10 +73,12 @@ public class SkriptLogger {
     // Logs
     private final List<LogEntry> logEntries = new ArrayList<>();
     private final List<LogEntry> logged = new ArrayList<>();
+    private int reported;
+    private long sequence;
 
     public SkriptLogger(boolean debug) {
         this.debug = debug;
-        errorContext.addLast(ErrorContext.MATCHING);
+        errorContext.add(ErrorContext.MATCHING);
     }
 
     public SkriptLogger() {
@@ -121,7 +134,8 @@ public class SkriptLogger {
      * in execution.
      */
     public void recurse() {
-        errorContext.addLast(ErrorContext.MATCHING);
+        errorContext.add(ErrorContext.MATCHING);
+        errorContextSnapshot = null;
     }
 
     /**
@@ -129,7 +143,8 @@ public class SkriptLogger {
      * in execution.
      */
     public void callback() {
-        errorContext.removeLast();
+        errorContext.remove(errorContext.size() - 1);
+        errorContextSnapshot = null;
     }
 
     /**
@@ -137,26 +152,28 @@ public class SkriptLogger {
      * @param context the new error context
      */
     public void setContext(ErrorContext context) {
-        errorContext.removeLast();
-        errorContext.addLast(context);
+        if (errorContext.set(errorContext.size() - 1, context) != context)
+            errorContextSnapshot = null;
     }
 
     private void log(String message, LogType type, @Nullable ErrorType error, @Nullable String tip) {
+        log(() -> message, type, error, tip);
+    }
+
+    private void log(Supplier<String> message, LogType type, @Nullable ErrorType error, @Nullable String tip) {
         if (open) {
-            List<ErrorContext> ctx = new ArrayList<>(errorContext);
+            if (errorContextSnapshot == null)
+                errorContextSnapshot = List.copyOf(errorContext);
+            Supplier<String> formatted;
             if (line == -1) {
-                logEntries.add(new LogEntry(message, type, line, ctx, error, tip));
+                formatted = message;
             } else {
-                logEntries.add(new LogEntry(
-                        String.format(
-                                LOG_FORMAT,
-                                message,
-                                line + 1,
-                                fileElements.get(line).getLineContent(),
-                                fileName),
-                        type, line, ctx, error, tip
-                ));
+                var lineNumber = line + 1;
+                var element = fileElements.get(line);
+                var name = fileName;
+                formatted = () -> String.format(LOG_FORMAT, message.get(), lineNumber, element.getLineContent(), name);
             }
+            logEntries.add(new LogEntry(formatted, type, line, errorContextSnapshot, error, tip, sequence++));
         }
     }
 
@@ -183,6 +200,31 @@ public class SkriptLogger {
         }
     }
 
+    /**
+     * Logs an error message that is only computed if the error ends up being reported.
+     * @param message the supplier of the error message
+     * @param errorType the error type
+     */
+    public void error(Supplier<String> message, ErrorType errorType) {
+        error(message, errorType, null);
+    }
+
+    /**
+     * Logs an error message that is only computed if the error ends up being reported, with a tip on how to solve it.
+     * This should be preferred to {@link #error(String, ErrorType, String)} when building the message is costly
+     * and the error may well be discarded, which is the case for most errors logged while matching.
+     * @param message the supplier of the error message
+     * @param errorType the error type
+     * @param tip the tip for solving the error
+     */
+    public void error(Supplier<String> message, ErrorType errorType, @Nullable String tip) {
+        if (!hasError) {
+            clearNotError(); // Errors take priority over everything (except DEBUG), so we just delete all other logs
+            log(message, LogType.ERROR, errorType, tip);
+            hasError = true;
+        }
+    }
+
     /**
      * Logs a warning message
      * @param message the warning message
@@ -251,6 +293,88 @@ public class SkriptLogger {
         hasError = false;
     }
 
+    /**
+     * @return a marker identifying the next entry to be logged, to be used with {@link #getPendingEntriesSince(long)}
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @param sequence a marker previously returned by {@link #getSequence()}
+     * @return the entries logged since the given marker was obtained that are still pending, in order
+     */
+    public List<LogEntry> getPendingEntriesSince(long sequence) {
+        // Entries are only ever appended, so they are sorted by sequence
+        var start = logEntries.size();
+        while (start > 0 && logEntries.get(start - 1).getSequence() >= sequence)
+            start--;
+        return List.copyOf(logEntries.subList(start, logEntries.size()));
+    }
+
+    /**
+     * @return the current recursion depth, as changed by {@link #recurse()} and {@link #callback()}
+     */
+    public int getRecursionDepth() {
+        return errorContext.size();
+    }
+
+    /**
+     * Reduces the given entries to the ones that could still be made definitive by {@link #finalizeLogs()}:
+     * all entries that aren't errors, and the most important error for each error context depth, as all
+     * errors of the same depth are cleared together.
+     * @param entries the entries
+     * @return the relevant entries, in their original order
+     */
+    public static List<LogEntry> keepRelevant(List<LogEntry> entries) {
+        Map<Integer, LogEntry> errors = new HashMap<>();
+        for (var entry : entries) {
+            if (entry.getType() == LogType.ERROR)
+                errors.merge(entry.getErrorContext().size(), entry, BinaryOperator.minBy(ERROR_COMPARATOR));
+        }
+        List<LogEntry> relevant = new ArrayList<>();
+        for (var entry : entries) {
+            if (entry.getType() != LogType.ERROR || errors.get(entry.getErrorContext().size()) == entry)
+                relevant.add(entry);
+        }
+        return relevant;
+    }
+
+    /**
+     * Logs the given entries once more, as if they were logged at the current recursion depth. This is used to
+     * reproduce the logs of a parsing attempt whose outcome has been remembered instead of being computed again.
+     * @param entries the entries to log again
+     * @param depth the recursion depth at which the entries were originally logged
+     * @param hasError whether an error was stored after the entries were originally logged
+     */
+    public void replay(List<LogEntry> entries, int depth, boolean hasError) {
+        if (!open)
+            return;
+        for (var entry : entries) {
+            if (entry.getType() == LogType.ERROR) {
+                clearNotError();
+                break;
+            }
+        }
+        var prefix = errorContext.subList(0, errorContext.size() - 1);
+        for (var entry : entries) {
+            var suffix = entry.getErrorContext().subList(depth - 1, entry.getErrorContext().size());
+            List<ErrorContext> ctx = new ArrayList<>(prefix.size() + suffix.size());
+            ctx.addAll(prefix);
+            ctx.addAll(suffix);
+            logEntries.add(new LogEntry(
+                    entry::getMessage,
+                    entry.getType(),
+                    entry.getLine(),
+                    ctx,
+                    entry.getErrorType(),
+                    entry.getTip().orElse(null),
+                    sequence++
+            ));
+        }
+        this.hasError = hasError;
+    }
+
     /**
      * Finishes a logging process by making some logged entries definitive. All non-error logs are made definitive
      * and only the error that has the most priority is made definitive.
@@ -259,15 +383,27 @@ public class SkriptLogger {
         logEntries.stream()
                 .filter(e -> e.getType() == LogType.ERROR)
                 .min(ERROR_COMPARATOR)
-                .ifPresent(logged::add);
+                .ifPresent(e -> {
+                    logged.add(e);
+                    reported++;
+                });
         for (var entry : logEntries) { // If no errors have been logged, then all other LogTypes get logged here, DEBUG being the special case
             if (entry.getType() != LogType.ERROR) {
                 logged.add(entry);
+                if (entry.getType() != LogType.DEBUG)
+                    reported++;
             }
         }
         clearLogs();
     }
 
+    /**
+     * @return how many entries that aren't debug messages have been made definitive by {@link #finalizeLogs()} so far
+     */
+    public int getReportedCount() {
+        return reported;
+    }
+
     /**
      * Finishes this Logger object, making it impossible to edit.
      * @return the final logged entries
@@ -0,0 +1,269 @@
+package io.github.syst3ms.skriptparser.parsing;
+
+import io.github.syst3ms.skriptparser.lang.Expression;
+import io.github.syst3ms.skriptparser.log.ErrorContext;
+import io.github.syst3ms.skriptparser.log.SkriptLogger;
+import io.github.syst3ms.skriptparser.pattern.ExpressionElement;
+import io.github.syst3ms.skriptparser.pattern.PatternElement;
+import io.github.syst3ms.skriptparser.registration.ExpressionInfo;
+import io.github.syst3ms.skriptparser.registration.InfixOperator;
+import io.github.syst3ms.skriptparser.registration.SyntaxManager;
+import io.github.syst3ms.skriptparser.types.PatternType;
+import io.github.syst3ms.skriptparser.util.Pair;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Parses chains of {@linkplain InfixOperator infix operators}, like {@code {a} + {b} * {c} - {d} / 2}, by precedence
+ * climbing. The string is split at every operator in one pass, each operand is parsed once, and the operators are
+ * then combined according to their precedence and associativity.
+ * <p>
+ * Regular matching would instead try every occurrence of every operator as a split point and parse both sides
+ * again each time, which quickly gets out of hand on long formulas. This is only a shortcut though : whenever
+ * something doesn't fit, nothing is returned and the string goes through regular matching, which reports errors.
+ */
+class InfixOperatorParser {
+    /**
+     * The minimal amount of operators for this to be attempted. A single operator is matched just as well by its
+     * pattern directly.
+     */
+    private static final int MINIMUM_OPERATORS = 2;
+
+    @SuppressWarnings("unchecked")
+    static <T> Optional<? extends Expression<? extends T>> parse(String s, PatternType<T> expectedType, ParserState parserState, SkriptLogger logger) {
+        var snapshot = SyntaxManager.getSnapshot();
+        var declared = snapshot.getInfixOperators();
+        if (declared.isEmpty() || !mayContainOperators(s, snapshot.getInfixOperatorStarts()))
+            return Optional.empty();
+
+        List<String> operands = new ArrayList<>();
+        List<String> separators = new ArrayList<>();
+        List<Pair<ExpressionInfo<?, ?>, InfixOperator>> operators = new ArrayList<>();
+        if (!split(parserState.getParseMemo(logger.getLine()).getInput(s), declared, operands, separators, operators))
+            return Optional.empty();
+        if (operators.size() < MINIMUM_OPERATORS)
+            return Optional.empty();
+
+        // All operators must take the same operands, which their results must be usable as
+        var operandType = getOperandType(operators.get(0));
+        var operandClass = operandType.getType().getTypeClass();
+        for (var operator : operators) {
+            if (!getOperandType(operator).equals(operandType)
+                    || !operandClass.isAssignableFrom(operator.getFirst().getReturnType().getType().getTypeClass()))
+                return Optional.empty();
+        }
+        var expectedClass = expectedType.getType().getTypeClass();
+        var compatible = snapshot.getReturnTypesCompatibleWith(expectedClass);
+        if (operators.stream().noneMatch(o -> compatible.contains(o.getFirst().getReturnType().getType().getTypeClass())))
+            return Optional.empty();
+
+        List<Expression<?>> parsedOperands = new ArrayList<>(operands.size());
+        for (var operand : operands) {
+            logger.recurse();
+            Optional<? extends Expression<?>> expression = parserState.getParseMemo(logger.getLine()).parse(
+                    operand,
+                    operandType,
+                    false,
+                    logger,
+                    () -> SyntaxParser.parseExpression(operand, operandType, parserState, logger)
+            );
+            logger.callback();
+            if (expression.isEmpty())
+                return Optional.empty();
+            parsedOperands.add(expression.get());
+        }
+
+        var result = climb(parsedOperands, separators, operators, new int[1], Integer.MIN_VALUE, parserState, logger);
+        if (result == null)
+            return Optional.empty();
+        logger.setContext(ErrorContext.CONSTRAINT_CHECKING);
+        if (!expectedClass.isAssignableFrom(result.getReturnType()))
+            return result.convertExpression(expectedClass);
+        if (!result.isSingle() && expectedType.isSingle())
+            return Optional.empty();
+        return Optional.of((Expression<? extends T>) result);
+    }
+
+    /*
+     * A cheap check for whether there are enough characters that operators start with, done before the actual split
+     */
+    private static boolean mayContainOperators(String s, String operatorStarts) {
+        var count = 0;
+        for (var i = 0; i < s.length(); i++) {
+            if (operatorStarts.indexOf(Character.toLowerCase(s.charAt(i))) != -1 && ++count >= MINIMUM_OPERATORS)
+                return true;
+        }
+        return false;
+    }
+
+    /*
+     * Operands must not be blank, so that a sign right after an operator, or at the start, stays part of its operand.
+     * The separators are the operators along with the whitespace around them, as they appear in the string.
+     */
+    private static boolean split(ParseInput input,
+                                 List<Pair<ExpressionInfo<?, ?>, InfixOperator>> declared,
+                                 List<String> operands,
+                                 List<String> separators,
+                                 List<Pair<ExpressionInfo<?, ?>, InfixOperator>> operators) {
+        var s = input.getString();
+        var separatorStart = -1;
+        var start = 0;
+        var i = 0;
+        while (i < s.length()) {
+            var next = input.nextSimpleCharacterIndex(i);
+            if (next == -1) {
+                return false;
+            } else if (next > i) { // Skipping over variables and strings
+                i = next;
+                continue;
+            }
+            if (s.charAt(i) == '(') {
+                var closing = input.findClosingParenthesis(i);
+                if (closing == -1)
+                    return false;
+                i = closing + 1;
+                continue;
+            }
+            var operator = operatorAt(input, i, declared);
+            if (operator != null && !isBlank(s, start, i)) {
+                var operand = s.substring(start, i);
+                var leading = operand.length() - operand.stripLeading().length();
+                if (separatorStart != -1)
+                    separators.add(s.substring(separatorStart, start + leading));
+                operands.add(operand.strip());
+                separatorStart = start + operand.stripTrailing().length();
+                operators.add(operator);
+                i += operator.getSecond().token().length();
+                start = i;
+            } else {
+                i++;
+            }
+        }
+        if (isBlank(s, start, s.length()))
+            return false;
+        var operand = s.substring(start);
+        if (separatorStart != -1)
+            separators.add(s.substring(separatorStart, start + operand.length() - operand.stripLeading().length()));
+        operands.add(operand.strip());
+        return true;
+    }
+
+    @Nullable
+    private static Pair<ExpressionInfo<?, ?>, InfixOperator> operatorAt(ParseInput input,
+                                                                        int index,
+                                                                        List<Pair<ExpressionInfo<?, ?>, InfixOperator>> declared) {
+        var s = input.getString();
+        for (var operator : declared) {
+            var token = operator.getSecond().token();
+            if (!input.regionMatches(index, ParseInput.fold(token)))
+                continue;
+            // Word operators must not be part of a bigger word
+            var end = index + token.length();
+            if (Character.isLetter(token.charAt(0)) && index > 0 && Character.isLetter(s.charAt(index - 1))
+                    || Character.isLetter(token.charAt(token.length() - 1)) && end < s.length() && Character.isLetter(s.charAt(end)))
+                continue;
+            return operator;
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String s, int start, int end) {
+        for (var i = start; i < end; i++) {
+            if (!Character.isWhitespace(s.charAt(i)))
+                return false;
+        }
+        return true;
+    }
+
+    private static PatternType<?> getOperandType(Pair<ExpressionInfo<?, ?>, InfixOperator> operator) {
+        var pattern = operator.getFirst().getPatterns().get(operator.getSecond().pattern());
+        return ((ExpressionElement) PatternElement.flatten(pattern).get(0)).getTypes().get(0);
+    }
+
+    /**
+     * Combines the operands starting at the given position for as long as the operators bind at least as tightly as
+     * the given precedence.
+     */
+    @Nullable
+    private static Expression<?> climb(List<Expression<?>> operands,
+                                       List<String> separators,
+                                       List<Pair<ExpressionInfo<?, ?>, InfixOperator>> operators,
+                                       int[] position,
+                                       int minimumPrecedence,
+                                       ParserState parserState,
+                                       SkriptLogger logger) {
+        Expression<?> left = operands.get(position[0]);
+        while (position[0] < operators.size()) {
+            var operator = operators.get(position[0]);
+            var separator = separators.get(position[0]);
+            var precedence = operator.getSecond().precedence();
+            if (precedence < minimumPrecedence)
+                break;
+            position[0]++;
+            var right = climb(
+                    operands,
+                    separators,
+                    operators,
+                    position,
+                    operator.getSecond().rightAssociative() ? precedence : precedence + 1,
+                    parserState,
+                    logger
+            );
+            if (right == null)
+                return null;
+            left = combine(operator, separator, left, right, parserState, logger);
+            if (left == null)
+                return null;
+        }
+        return left;
+    }
+
+    @Nullable
+    private static Expression<?> combine(Pair<ExpressionInfo<?, ?>, InfixOperator> operator,
+                                         String separator,
+                                         Expression<?> left,
+                                         Expression<?> right,
+                                         ParserState parserState,
+                                         SkriptLogger logger) {
+        var info = operator.getFirst();
+        var pattern = operator.getSecond().pattern();
+        var parseContext = matchSeparator(info.getPatterns().get(pattern), separator, parserState, logger);
+        if (parseContext == null)
+            return null;
+        var expression = (Expression<?>) SyntaxParser.instantiate(info, logger);
+        if (expression == null)
+            return null;
+        logger.setContext(ErrorContext.INITIALIZATION);
+        var inputs = new Expression<?>[] {left, right};
+        if (!expression.init(inputs, pattern, parseContext))
+            return null;
+        if (parserState.isRestrictingExpressions() && parserState.forbidsSyntax(expression.getClass()))
+            return null;
+        return SyntaxParser.fold(expression, inputs);
+    }
+
+    /*
+     * Matches the elements of the pattern that are between the operands against the separator, so that the syntax
+     * gets the same parse marks and regex matches as with regular matching
+     */
+    @Nullable
+    private static ParseContext matchSeparator(PatternElement pattern,
+                                               String separator,
+                                               ParserState parserState,
+                                               SkriptLogger logger) {
+        var elements = PatternElement.flatten(pattern);
+        var context = new MatchContext(pattern, parserState, logger);
+        context.advanceInPattern(); // Past the left operand
+        var index = 0;
+        for (var i = 1; i < elements.size() - 1; i++) {
+            index = elements.get(i).match(separator, index, context);
+            if (index == -1)
+                return null;
+            context.advanceInPattern();
+        }
+        return index == separator.length() ? context.toParseResult() : null;
+    }
+}
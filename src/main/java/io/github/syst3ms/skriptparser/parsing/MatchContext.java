@@ -10,6 +10,7 @@ import io.github.syst3ms.skriptparser.pattern.PatternElement;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.regex.MatchResult;
@@ -18,28 +19,46 @@ import java.util.regex.MatchResult;
  * An object that provides contextual information during syntax matching.
  */
 public class MatchContext {
-    private final String originalPattern;
+    @Nullable
+    private String originalPattern;
     private final PatternElement originalElement;
     // Provided to the syntax's class
     private final ParserState parserState;
     private final SkriptLogger logger;
     @Nullable
     private final MatchContext source;
-    private final List<Expression<?>> parsedExpressions = new ArrayList<>();
-    private final List<MatchResult> regexMatches = new ArrayList<>();
+    /*
+     * Branches don't have results of their own : everything is written to the buffers of the root context, which are
+     * only allocated once something is actually matched. A branch remembers how big the buffers were when it was
+     * created, so that whatever it added can be undone if it turns out to be a dead end.
+     */
+    private final MatchContext root;
+    @Nullable
+    private List<Expression<?>> parsedExpressions;
+    @Nullable
+    private List<MatchResult> regexMatches;
+    @Nullable
+    private List<String> marks;
+    private final int expressionsStart;
+    private final int regexMatchesStart;
+    private final int marksStart;
+    @Nullable
+    private ParseInput input;
     private int patternIndex = 0;
-    private final List<String> marks = new ArrayList<>();
 
     public MatchContext(PatternElement e, ParserState parserState, SkriptLogger logger) {
         this(e, parserState, logger, null);
     }
 
     public MatchContext(PatternElement e, ParserState parserState, SkriptLogger logger, @Nullable MatchContext source) {
-        this.originalPattern = e.toString();
         this.originalElement = e;
         this.parserState = parserState;
         this.logger = logger;
         this.source = source;
+        this.root = source != null ? source.root : this;
+        this.expressionsStart = size(root.parsedExpressions);
+        this.regexMatchesStart = size(root.regexMatches);
+        this.marksStart = size(root.marks);
     }
 
     /**
@@ -53,9 +72,24 @@ public class MatchContext {
      * @return the string version of {@link #getOriginalElement()}
      */
     public String getOriginalPattern() {
+        if (originalPattern == null)
+            originalPattern = originalElement.toString();
         return originalPattern;
     }
 
+    /**
+     * Returns the {@link ParseInput} of the string being matched, which is shared with this context's branches and
+     * with every other context matching the same string in the current line.
+     * @param s the string being matched
+     * @return the input for that string
+     */
+    public ParseInput getInput(String s) {
+        var in = root.input;
+        if (in == null || !in.getString().equals(s))
+            root.input = in = parserState.getParseMemo(logger.getLine()).getInput(s);
+        return in;
+    }
+
     /**
      * @return an index indicating where the matching is currently at inside of the original {@link PatternElement}
      * (almost always when it is a {@link CompoundElement}).
@@ -73,10 +107,11 @@ public class MatchContext {
     }
 
     /**
-     * @return a list of all successfully parsed expressions so far.
+     * @return a list of all successfully parsed expressions so far, including those of the branches of this context.
      */
     public List<Expression<?>> getParsedExpressions() {
-        return parsedExpressions;
+        var expressions = root.parsedExpressions;
+        return expressions != null ? expressions : Collections.emptyList();
     }
 
     /**
@@ -84,7 +119,9 @@ public class MatchContext {
      * @param expression a parsed expression
      */
     public void addExpression(Expression<?> expression) {
-        parsedExpressions.add(expression);
+        if (root.parsedExpressions == null)
+            root.parsedExpressions = new ArrayList<>();
+        root.parsedExpressions.add(expression);
     }
 
     /**
@@ -92,14 +129,17 @@ public class MatchContext {
      * @param match a regex match
      */
     public void addRegexMatch(MatchResult match) {
-        regexMatches.add(match);
+        if (root.regexMatches == null)
+            root.regexMatches = new ArrayList<>();
+        root.regexMatches.add(match);
     }
 
     /**
-     * @return the parse marks so far
+     * @return the parse marks so far, including those of the branches of this context
      */
     public List<String> getMarks() {
-        return marks;
+        var m = root.marks;
+        return m != null ? m : Collections.emptyList();
     }
 
     /**
@@ -107,7 +147,9 @@ public class MatchContext {
      * @param mark the just matched parse mark
      */
     public void addMark(String mark) {
-        marks.add(mark);
+        if (root.marks == null)
+            root.marks = new ArrayList<>();
+        root.marks.add(mark);
     }
 
     /**
@@ -120,7 +162,8 @@ public class MatchContext {
     }
 
     /**
-     * Creates a new MatchContext based on the given {@link PatternElement}
+     * Creates a new MatchContext based on the given {@link PatternElement}. Everything matched by the branch is
+     * immediately visible from this context, unless the branch is {@linkplain #rollback() rolled back}.
      * @param e the new original pattern element
      * @return the branched MatchContext
      */
@@ -129,13 +172,13 @@ public class MatchContext {
     }
 
     /**
-     * Merges a branched MatchContext back into the current one
-     * @param branch the branched MatchContext
+     * Discards everything that was matched since this MatchContext was created, including what its own branches
+     * matched. This is meant to be used on branches that failed to match.
      */
-    public void merge(MatchContext branch) {
-        parsedExpressions.addAll(branch.parsedExpressions);
-        regexMatches.addAll(branch.regexMatches);
-        marks.addAll(branch.marks);
+    public void rollback() {
+        truncate(root.parsedExpressions, expressionsStart);
+        truncate(root.regexMatches, regexMatchesStart);
+        truncate(root.marks, marksStart);
     }
 
     /**
@@ -143,7 +186,27 @@ public class MatchContext {
      * @return a {@link ParseContext} based on this {@link MatchContext}
      */
     public ParseContext toParseResult() {
-        return new ParseContext(parserState, originalElement, regexMatches, marks, originalPattern, logger);
+        return new ParseContext(
+                parserState,
+                originalElement,
+                copy(root.regexMatches),
+                copy(root.marks),
+                getOriginalPattern(),
+                logger
+        );
+    }
+
+    private static int size(@Nullable List<?> list) {
+        return list != null ? list.size() : 0;
+    }
+
+    private static void truncate(@Nullable List<?> list, int size) {
+        if (list != null && list.size() > size)
+            list.subList(size, list.size()).clear();
+    }
+
+    private static <T> List<T> copy(@Nullable List<T> list) {
+        return list != null ? List.copyOf(list) : Collections.emptyList();
     }
 
     public ParserState getParserState() {
@@ -0,0 +1,187 @@
+package io.github.syst3ms.skriptparser.parsing;
+
+import io.github.syst3ms.skriptparser.util.StringUtils;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * A string being matched against patterns, along with a case-folded copy of it. Patterns are case-insensitive,
+ * so the same string would otherwise be case-folded over and over again, once for every comparison made by
+ * every pattern tried on it.
+ * <p>
+ * Case folding is done {@linkplain Character#toLowerCase(char) one character at a time}, so that indices in the
+ * folded string are the same as in the original one.
+ * <p>
+ * The first time it is needed, the nesting of the string (parentheses, curly braces and string literals) is computed
+ * in a single pass, so that finding closing brackets or skipping over nested parts doesn't need to scan the string
+ * again each time.
+ *
+ * @see MatchContext#getInput(String)
+ */
+public class ParseInput {
+    private static final int UNKNOWN = -2;
+
+    private final String string;
+    private final String folded;
+    // Both computed lazily, see computeNesting()
+    @Nullable
+    private int[] closingIndices;
+    @Nullable
+    private int[] nextSimpleIndices;
+
+    public ParseInput(String string) {
+        this.string = string;
+        this.folded = fold(string);
+    }
+
+    /**
+     * Case-folds a string the same way the input is. Strings looked up in the input must be folded with this
+     * beforehand, ideally only once.
+     *
+     * @param s the string
+     * @return the folded string
+     */
+    public static String fold(String s) {
+        char[] chars = null;
+        for (var i = 0; i < s.length(); i++) {
+            var c = s.charAt(i);
+            var lower = Character.toLowerCase(c);
+            if (c != lower) {
+                if (chars == null)
+                    chars = s.toCharArray();
+                chars[i] = lower;
+            }
+        }
+        return chars != null ? new String(chars) : s;
+    }
+
+    /**
+     * @return the original string
+     */
+    public String getString() {
+        return string;
+    }
+
+    /**
+     * @return the case-folded string
+     */
+    public String getFolded() {
+        return folded;
+    }
+
+    /**
+     * Finds a string inside of this input, ignoring case.
+     *
+     * @param foldedNeedle the string to find, already {@linkplain #fold(String) folded}
+     * @param start the index to start searching at
+     * @return the index of the first occurrence of the string at or after the start index, or {@literal -1}
+     */
+    public int indexOf(String foldedNeedle, int start) {
+        return folded.indexOf(foldedNeedle, start);
+    }
+
+    /**
+     * Checks whether a string is present at the given index of this input, ignoring case.
+     *
+     * @param index the index in this input
+     * @param foldedText the string, already {@linkplain #fold(String) folded}
+     * @return whether the string is found at that index
+     */
+    public boolean regionMatches(int index, String foldedText) {
+        return folded.startsWith(foldedText, index);
+    }
+
+    /**
+     * Does the same as {@link StringUtils#findClosingIndex(String, char, char, int)} with parentheses, on this input.
+     *
+     * @param start the index of the opening parenthesis
+     * @return the index at which the parentheses close, or {@literal -1} if they don't
+     */
+    public int findClosingParenthesis(int start) {
+        return findClosingIndex('(', ')', start);
+    }
+
+    /**
+     * Does the same as {@link StringUtils#nextSimpleCharacterIndex(String, int)} on this input.
+     *
+     * @param index the current index
+     * @return the index of the next "simple" character, or -1 if the end of the string has been reached
+     * @throws StringIndexOutOfBoundsException if {@code index < 0}
+     */
+    public int nextSimpleCharacterIndex(int index) {
+        if (index < 0)
+            throw new StringIndexOutOfBoundsException(index);
+        if (index >= string.length())
+            return string.length();
+        if (nextSimpleIndices == null)
+            computeNesting();
+        return nextSimpleIndices[index];
+    }
+
+    private int findClosingIndex(char opening, char closing, int start) {
+        if (start >= 0 && start < string.length() && string.charAt(start) == opening) {
+            if (closingIndices == null)
+                computeNesting();
+            var index = closingIndices[start];
+            if (index != UNKNOWN)
+                return index;
+        }
+        return StringUtils.findClosingIndex(string, opening, closing, start);
+    }
+
+    /*
+     * Escapes are handled from the start of the string. An opening bracket that turns out to be escaped that way
+     * is left UNKNOWN, since looking from that very bracket, like StringUtils does, wouldn't consider it escaped.
+     */
+    private void computeNesting() {
+        var length = string.length();
+        var closings = new int[length];
+        Arrays.fill(closings, UNKNOWN);
+        var parentheses = new int[length];
+        var parenthesesDepth = 0;
+        var braces = new int[length];
+        var bracesDepth = 0;
+        for (var i = 0; i < length; i++) {
+            var c = string.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '(') {
+                closings[i] = -1;
+                parentheses[parenthesesDepth++] = i;
+            } else if (c == ')' && parenthesesDepth > 0) {
+                closings[parentheses[--parenthesesDepth]] = i;
+            } else if (c == '{') {
+                closings[i] = -1;
+                braces[bracesDepth++] = i;
+            } else if (c == '}' && bracesDepth > 0) {
+                closings[braces[--bracesDepth]] = i;
+            }
+        }
+        closingIndices = closings;
+
+        // Going backwards, so that skipping over something can reuse what comes after it
+        var next = new int[length + 1];
+        next[length] = length;
+        var nextDoubleQuote = -1;
+        var nextSingleQuote = -1;
+        for (var i = length - 1; i >= 0; i--) {
+            var c = string.charAt(i);
+            if (c == '\\') {
+                next[i] = i == length - 1 ? -1 : i + 1;
+            } else if (c == '{') {
+                var closing = findClosingIndex('{', '}', i);
+                next[i] = closing == -1 ? -1 : next[closing + 1];
+            } else if (c == '"') {
+                next[i] = nextDoubleQuote == -1 ? -1 : next[nextDoubleQuote + 1];
+                nextDoubleQuote = i;
+            } else if (c == '\'') {
+                next[i] = nextSingleQuote == -1 ? -1 : next[nextSingleQuote + 1];
+                nextSingleQuote = i;
+            } else {
+                next[i] = i;
+            }
+        }
+        nextSimpleIndices = next;
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.syst3ms.skriptparser.parsing;
+
+import io.github.syst3ms.skriptparser.lang.Expression;
+import io.github.syst3ms.skriptparser.lang.SimpleLiteral;
+import io.github.syst3ms.skriptparser.lang.TriggerContext;
+import io.github.syst3ms.skriptparser.log.LogEntry;
+import io.github.syst3ms.skriptparser.log.SkriptLogger;
+import io.github.syst3ms.skriptparser.types.PatternType;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of parsing parts of a line as expressions. When matching a line, the many
+ * alternative patterns of a syntax often try to parse the very same part of it against the very same type,
+ * which makes backtracking exponential in the worst case. This memo makes every such attempt happen only once.
+ * <p>
+ * Failures are always remembered, along with the logs they produced, which are replayed on every reuse.
+ * Successes are only remembered when a fresh, equivalent expression can be handed out each time (currently only
+ * {@link SimpleLiteral}s), since the syntaxes using them can freely modify them during initialization.
+ * Other successes are parsed again, which is still cheap as the failures they encounter are remembered.
+ * <p>
+ * An instance is only valid for one line and one {@link ParserState}, see {@link ParserState#getParseMemo(int)}.
+ */
+public class ParseMemo {
+    private final Map<Key, Outcome> outcomes = new HashMap<>();
+    private final Map<String, ParseInput> inputs = new HashMap<>();
+    private int line = -1;
+    private int modifications = -1;
+
+    /**
+     * Empties this memo if the given line or {@link ParserState} modification count
+     * differ from the ones of the remembered outcomes.
+     *
+     * @param line the line currently being parsed
+     * @param modifications the modification count of the parser state
+     */
+    void validate(int line, int modifications) {
+        if (this.line != line || this.modifications != modifications) {
+            outcomes.clear();
+            inputs.clear();
+            this.line = line;
+            this.modifications = modifications;
+        }
+    }
+
+    /**
+     * @param s a part of the current line
+     * @return the {@link ParseInput} for that string, shared by every pattern matched against it in this line
+     */
+    public ParseInput getInput(String s) {
+        return inputs.computeIfAbsent(s, ParseInput::new);
+    }
+
+    /**
+     * Parses an expression, or reuses the remembered outcome of the same parsing attempt.
+     *
+     * @param s the string to parse
+     * @param type the expected type
+     * @param conditional whether conditional expressions are accepted
+     * @param logger the logger
+     * @param parser the parsing attempt, only called if no outcome has been remembered
+     * @param <T> the type of the expression
+     * @return the parsed expression
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<? extends Expression<? extends T>> parse(String s,
+                                                                 PatternType<?> type,
+                                                                 boolean conditional,
+                                                                 SkriptLogger logger,
+                                                                 Supplier<Optional<? extends Expression<? extends T>>> parser) {
+        var key = new Key(s, type, conditional);
+        var outcome = outcomes.get(key);
+        if (outcome != null) {
+            if (outcome.result != null)
+                logger.clearErrors();
+            logger.replay(outcome.logs, outcome.depth, outcome.hasError);
+            return Optional.ofNullable(outcome.result).map(l -> (Expression<? extends T>) copy(l));
+        }
+
+        var depth = logger.getRecursionDepth();
+        var start = logger.getSequence();
+        var result = parser.get();
+        if (result.isPresent() && result.get().getClass() != SimpleLiteral.class)
+            return result;
+
+        var logs = logger.getPendingEntriesSince(start);
+        // Keep our own copy, the returned literal may be modified
+        var remembered = result.map(l -> copy((SimpleLiteral<?>) l)).orElse(null);
+        outcomes.put(key, new Outcome(remembered, SkriptLogger.keepRelevant(logs), depth, logger.hasError()));
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> SimpleLiteral<T> copy(SimpleLiteral<T> literal) {
+        var copy = new SimpleLiteral<>((Class<T>) literal.getReturnType(), literal.getArray(TriggerContext.DUMMY));
+        copy.setAndList(literal.isAndList());
+        return copy;
+    }
+
+    private record Key(String input, PatternType<?> type, boolean conditional) {}
+
+    private record Outcome(@Nullable SimpleLiteral<?> result, List<LogEntry> logs, int depth, boolean hasError) {}
+}
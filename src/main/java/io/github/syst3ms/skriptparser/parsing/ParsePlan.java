@@ -0,0 +1,179 @@
+package io.github.syst3ms.skriptparser.parsing;
+
+import io.github.syst3ms.skriptparser.registration.SyntaxInfo;
+import io.github.syst3ms.skriptparser.types.PatternType;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Remembers, for every part of a script that was parsed by searching through the registered syntaxes, which syntax
+ * and which of its patterns ended up matching. Such a plan is stored on disk, and the next time the very same script
+ * is parsed with the very same {@linkplain io.github.syst3ms.skriptparser.registration.RegistrySnapshot#getFingerprint()
+ * syntaxes}, these are tried first, so that the search usually succeeds on its first attempt.
+ * <p>
+ * A plan only changes which syntax and pattern are tried first. Whenever a remembered decision doesn't match anymore,
+ * parsing goes on with all the other candidates, in the order it would have tried them in without a plan.
+ *
+ * @see ScriptLoader#setParsePlanDirectory(Path)
+ */
+public class ParsePlan {
+    private static final int FORMAT_VERSION = 1;
+    // DataOutput#writeUTF can't write more than 65535 bytes, which a character can take up to 3 of
+    private static final int MAX_KEY_LENGTH = 65535 / 3;
+
+    /**
+     * The kinds of searches a plan remembers the outcome of
+     */
+    enum Kind {
+        EXPRESSION, EFFECT, SECTION, TRIGGER
+    }
+
+    private record Decision(String syntax, int pattern) {
+    }
+
+    private final String contentHash;
+    private final String registryFingerprint;
+    private final Map<String, Decision> planned;
+    private final Map<String, Decision> recorded = new HashMap<>();
+
+    private ParsePlan(String contentHash, String registryFingerprint, Map<String, Decision> planned) {
+        this.contentHash = contentHash;
+        this.registryFingerprint = registryFingerprint;
+        this.planned = planned;
+    }
+
+    /**
+     * Reads the plan stored in the given file. If there isn't any, or if it was made for another version of the
+     * script or another set of syntaxes, an empty plan is returned instead.
+     *
+     * @param file the file
+     * @param contentHash the hash of the content of the script
+     * @param registryFingerprint the fingerprint of the registered syntaxes
+     * @return the plan
+     */
+    static ParsePlan load(Path file, String contentHash, String registryFingerprint) {
+        Map<String, Decision> planned = new HashMap<>();
+        if (Files.isRegularFile(file)) {
+            try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                if (input.readInt() == FORMAT_VERSION
+                        && input.readUTF().equals(contentHash)
+                        && input.readUTF().equals(registryFingerprint)) {
+                    var size = input.readInt();
+                    for (var i = 0; i < size; i++) {
+                        planned.put(input.readUTF(), new Decision(input.readUTF(), input.readInt()));
+                    }
+                }
+            } catch (IOException e) {
+                // A corrupted plan is as good as no plan
+                planned.clear();
+            }
+        }
+        return new ParsePlan(contentHash, registryFingerprint, planned);
+    }
+
+    /**
+     * Writes this plan to the given file, unless it already holds exactly that.
+     *
+     * @param file the file
+     * @throws IOException if the file couldn't be written
+     */
+    void save(Path file) throws IOException {
+        // Decisions about triggers that were kept from a previous load weren't recorded again
+        Map<String, Decision> decisions = new HashMap<>(planned);
+        decisions.putAll(recorded);
+        if (decisions.equals(planned) && Files.isRegularFile(file))
+            return;
+        if (file.getParent() != null)
+            Files.createDirectories(file.getParent());
+        try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            output.writeInt(FORMAT_VERSION);
+            output.writeUTF(contentHash);
+            output.writeUTF(registryFingerprint);
+            output.writeInt(decisions.size());
+            for (var entry : decisions.entrySet()) {
+                output.writeUTF(entry.getKey());
+                output.writeUTF(entry.getValue().syntax());
+                output.writeInt(entry.getValue().pattern());
+            }
+        }
+    }
+
+    /**
+     * Moves the syntax that matched the given string last time in front of the others.
+     *
+     * @param kind what the string is being parsed as
+     * @param line the line being parsed
+     * @param s the string being parsed
+     * @param expectedType the type the string is being parsed as, if it is parsed as an expression
+     * @param candidates the syntaxes that could match, in the order they would be tried in
+     * @param <T> the kind of syntax
+     * @return the candidates, in the order they should be tried in
+     */
+    <T extends SyntaxInfo<?>> List<T> order(Kind kind, int line, String s, @Nullable PatternType<?> expectedType, List<T> candidates) {
+        var decision = planned.get(key(kind, line, s, expectedType));
+        if (decision == null)
+            return candidates;
+        for (var i = 0; i < candidates.size(); i++) {
+            var candidate = candidates.get(i);
+            if (candidate.getSyntaxClass().getName().equals(decision.syntax())) {
+                if (i == 0)
+                    return candidates;
+                List<T> ordered = new ArrayList<>(candidates.size());
+                ordered.add(candidate);
+                ordered.addAll(candidates.subList(0, i));
+                ordered.addAll(candidates.subList(i + 1, candidates.size()));
+                return ordered;
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * @param kind what the string is being parsed as
+     * @param line the line being parsed
+     * @param s the string being parsed
+     * @param expectedType the type the string is being parsed as, if it is parsed as an expression
+     * @param info the syntax about to be matched against the string
+     * @return the index of the pattern of the syntax that matched the string last time, or {@literal 0}
+     */
+    int getFirstPattern(Kind kind, int line, String s, @Nullable PatternType<?> expectedType, SyntaxInfo<?> info) {
+        var decision = planned.get(key(kind, line, s, expectedType));
+        if (decision == null
+                || decision.pattern() < 0
+                || decision.pattern() >= info.getPatterns().size()
+                || !info.getSyntaxClass().getName().equals(decision.syntax()))
+            return 0;
+        return decision.pattern();
+    }
+
+    /**
+     * Remembers that a syntax matched the given string.
+     *
+     * @param kind what the string was parsed as
+     * @param line the line being parsed
+     * @param s the string that was parsed
+     * @param expectedType the type the string was parsed as, if it was parsed as an expression
+     * @param info the syntax that matched
+     * @param pattern the index of the pattern that matched
+     */
+    void record(Kind kind, int line, String s, @Nullable PatternType<?> expectedType, SyntaxInfo<?> info, int pattern) {
+        var key = key(kind, line, s, expectedType);
+        if (key.length() <= MAX_KEY_LENGTH)
+            recorded.put(key, new Decision(info.getSyntaxClass().getName(), pattern));
+    }
+
+    private static String key(Kind kind, int line, String s, @Nullable PatternType<?> expectedType) {
+        return kind.ordinal() + ":" + line + ":" + (expectedType != null ? expectedType : "") + ":" + s;
+    }
+}
@@ -0,0 +1,301 @@
+package io.github.syst3ms.skriptparser.parsing;
+
+import io.github.syst3ms.skriptparser.log.SkriptLogger;
+import io.github.syst3ms.skriptparser.registration.SyntaxInfo;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Measures where the time spent parsing goes. While a profiler is {@linkplain #start() active}, every attempt at
+ * matching a syntax against a string is recorded, both for the syntax and for the line being parsed: how long it
+ * took, whether it matched, whether the syntax rejected it during initialization, and how many ways of splitting
+ * the string into expressions its patterns tried, which is how much backtracking it caused.
+ * <p>
+ * The time of an attempt doesn't include the time of the attempts nested in it, like the ones for the expressions
+ * of its pattern, so that the time of every line only accounts for what happened on that line.
+ * <p>
+ * Profiling is disabled by default, in which case the parser only checks for an active profiler once per attempt.
+ */
+public class ParseProfiler {
+    private static final double NANOS_PER_MILLISECOND = 1_000_000.0;
+
+    @Nullable
+    private static volatile ParseProfiler active;
+
+    private final Map<SyntaxInfo<?>, SyntaxStatistics> syntaxes = new ConcurrentHashMap<>();
+    private final Map<Line, LineStatistics> lines = new ConcurrentHashMap<>();
+    private final ThreadLocal<Deque<Attempt>> attempts = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private ParseProfiler() {
+    }
+
+    /**
+     * Starts profiling all parsing, on every thread, with a new profiler.
+     *
+     * @return the new profiler
+     */
+    public static ParseProfiler start() {
+        var profiler = new ParseProfiler();
+        active = profiler;
+        return profiler;
+    }
+
+    /**
+     * Stops profiling. The statistics of the profiler that was active stay available.
+     */
+    public static void stop() {
+        active = null;
+    }
+
+    /**
+     * @return the active profiler, or {@literal null} if profiling is disabled
+     */
+    @Nullable
+    public static ParseProfiler getActive() {
+        return active;
+    }
+
+    /**
+     * Records that the expression element of a pattern tried to parse a part of a string as an expression, which
+     * is counted as backtracking of the syntax currently being matched.
+     */
+    public static void recordSplit() {
+        var profiler = active;
+        if (profiler != null) {
+            var attempt = profiler.attempts.get().peek();
+            if (attempt != null)
+                attempt.splits++;
+        }
+    }
+
+    /**
+     * Records that the syntax currently being matched refused to be initialized.
+     */
+    static void recordRejection() {
+        var profiler = active;
+        if (profiler != null) {
+            var attempt = profiler.attempts.get().peek();
+            if (attempt != null)
+                attempt.rejections++;
+        }
+    }
+
+    /**
+     * Runs and records an attempt at matching a syntax.
+     *
+     * @param info the syntax
+     * @param logger the logger, which tells which line is being parsed
+     * @param match the attempt itself
+     * @param <T> the result of the attempt
+     * @return the result of the attempt
+     */
+    <T extends Optional<?>> T profile(SyntaxInfo<?> info, SkriptLogger logger, Supplier<T> match) {
+        var stack = attempts.get();
+        // Loading a section moves the logger to the lines inside of it
+        var line = new Line(logger.getFileName(), logger.getLine() + 1);
+        var enclosing = stack.peek();
+        var attempt = new Attempt(line, enclosing != null && enclosing.line.equals(line) ? enclosing.depth + 1 : 1);
+        stack.push(attempt);
+        var matched = false;
+        var start = System.nanoTime();
+        try {
+            var result = match.get();
+            matched = result.isPresent();
+            return result;
+        } finally {
+            var elapsed = System.nanoTime() - start;
+            stack.pop();
+            var parent = stack.peek();
+            if (parent != null)
+                parent.nested += elapsed;
+            var time = elapsed - attempt.nested;
+            syntaxes.computeIfAbsent(info, __ -> new SyntaxStatistics()).add(attempt, matched, time, line);
+            lines.computeIfAbsent(line, __ -> new LineStatistics()).add(attempt, time);
+        }
+    }
+
+    /**
+     * @return the statistics of every syntax that was attempted, in no particular order
+     */
+    public List<SyntaxProfile> getSyntaxProfiles() {
+        List<SyntaxProfile> profiles = new ArrayList<>(syntaxes.size());
+        syntaxes.forEach((info, statistics) -> profiles.add(statistics.toProfile(info)));
+        return profiles;
+    }
+
+    /**
+     * @return the statistics of every line that was parsed, in no particular order
+     */
+    public List<LineProfile> getLineProfiles() {
+        List<LineProfile> profiles = new ArrayList<>(lines.size());
+        lines.forEach((line, statistics) -> profiles.add(statistics.toProfile(line)));
+        return profiles;
+    }
+
+    /**
+     * Writes a human-readable report of the slowest lines, of the syntaxes that were attempted the most without
+     * ever matching, and of the syntaxes that caused the most backtracking in a single attempt.
+     *
+     * @param limit the maximal number of entries in each part of the report
+     * @return the report
+     */
+    public String getReport(int limit) {
+        var syntaxProfiles = getSyntaxProfiles();
+        var lineProfiles = getLineProfiles();
+        var totalTime = lineProfiles.stream().mapToLong(LineProfile::nanos).sum();
+        var totalAttempts = lineProfiles.stream().mapToLong(LineProfile::attempts).sum();
+
+        var report = new StringBuilder();
+        report.append(String.format("Parsing took %.3f ms over %d attempts%n", totalTime / NANOS_PER_MILLISECOND, totalAttempts));
+
+        report.append(String.format("Slowest lines:%n"));
+        lineProfiles.stream()
+                .sorted(Comparator.comparingLong(LineProfile::nanos).reversed())
+                .limit(limit)
+                .forEach(p -> report.append(String.format(
+                        "  %s: %.3f ms, %d attempts, nested %d deep%n",
+                        p.location(),
+                        p.nanos() / NANOS_PER_MILLISECOND,
+                        p.attempts(),
+                        p.maxDepth()
+                )));
+
+        report.append(String.format("Most attempted syntaxes that never matched:%n"));
+        syntaxProfiles.stream()
+                .filter(p -> p.successes() == 0)
+                .sorted(Comparator.comparingLong(SyntaxProfile::attempts).reversed())
+                .limit(limit)
+                .forEach(p -> report.append(String.format(
+                        "  %s: %d attempts, %d rejected, %.3f ms%n",
+                        p.syntax().getSyntaxClass().getName(),
+                        p.attempts(),
+                        p.rejections(),
+                        p.nanos() / NANOS_PER_MILLISECOND
+                )));
+
+        report.append(String.format("Deepest backtracking:%n"));
+        syntaxProfiles.stream()
+                .filter(p -> p.maxSplits() > 0)
+                .sorted(Comparator.comparingInt(SyntaxProfile::maxSplits).reversed())
+                .limit(limit)
+                .forEach(p -> report.append(String.format(
+                        "  %s: %d splits in one attempt (%s), %d in total%n",
+                        p.syntax().getSyntaxClass().getName(),
+                        p.maxSplits(),
+                        p.maxSplitsLocation(),
+                        p.splits()
+                )));
+        return report.toString();
+    }
+
+    /**
+     * The statistics of a syntax.
+     *
+     * @param syntax the syntax
+     * @param attempts the number of times it was matched against a string
+     * @param successes the number of times it matched
+     * @param rejections the number of times one of its patterns matched but it refused to be initialized
+     * @param nanos the time spent matching it, in nanoseconds
+     * @param splits the number of ways of splitting strings into expressions its patterns tried
+     * @param maxSplits the most splits tried in a single attempt
+     * @param maxSplitsLocation the line of that attempt
+     */
+    public record SyntaxProfile(SyntaxInfo<?> syntax,
+                                long attempts,
+                                long successes,
+                                long rejections,
+                                long nanos,
+                                long splits,
+                                int maxSplits,
+                                String maxSplitsLocation) {
+    }
+
+    /**
+     * The statistics of a line of a script.
+     *
+     * @param file the name of the script
+     * @param line the number of the line, starting at 1
+     * @param attempts the number of syntaxes that were matched against parts of this line
+     * @param nanos the time spent parsing this line, in nanoseconds, excluding lines nested in it
+     * @param maxDepth the most attempts that were nested in each other on this line, like the attempts for an
+     *                 expression inside of the attempt for an effect
+     */
+    public record LineProfile(@Nullable String file, int line, long attempts, long nanos, int maxDepth) {
+        public String location() {
+            return file + ":" + line;
+        }
+    }
+
+    private record Line(@Nullable String file, int line) {
+        @Override
+        public String toString() {
+            return file + ":" + line;
+        }
+    }
+
+    private static class Attempt {
+        private final Line line;
+        private final int depth;
+        private long nested;
+        private int splits;
+        private int rejections;
+
+        Attempt(Line line, int depth) {
+            this.line = line;
+            this.depth = depth;
+        }
+    }
+
+    private static class SyntaxStatistics {
+        private long attempts;
+        private long successes;
+        private long rejections;
+        private long nanos;
+        private long splits;
+        private int maxSplits;
+        @Nullable
+        private Line maxSplitsLine;
+
+        synchronized void add(Attempt attempt, boolean matched, long time, Line line) {
+            attempts++;
+            if (matched)
+                successes++;
+            rejections += attempt.rejections;
+            nanos += time;
+            splits += attempt.splits;
+            if (attempt.splits > maxSplits) {
+                maxSplits = attempt.splits;
+                maxSplitsLine = line;
+            }
+        }
+
+        synchronized SyntaxProfile toProfile(SyntaxInfo<?> info) {
+            return new SyntaxProfile(info, attempts, successes, rejections, nanos, splits, maxSplits, String.valueOf(maxSplitsLine));
+        }
+    }
+
+    private static class LineStatistics {
+        private long attempts;
+        private long nanos;
+        private int maxDepth;
+
+        synchronized void add(Attempt attempt, long time) {
+            attempts++;
+            nanos += time;
+            maxDepth = Math.max(maxDepth, attempt.depth);
+        }
+
+        synchronized LineProfile toProfile(Line line) {
+            return new LineProfile(line.file(), line.line(), attempts, nanos, maxDepth);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.syst3ms.skriptparser.parsing;
+
+import io.github.syst3ms.skriptparser.registration.SyntaxInfo;
+import io.github.syst3ms.skriptparser.registration.tags.Tag;
+import io.github.syst3ms.skriptparser.registration.tags.TagInfo;
+import io.github.syst3ms.skriptparser.util.SyntaxRanking;
+
+/**
+ * The {@linkplain SyntaxRanking rankings} of the syntaxes and tags used while parsing a script. Every script that is
+ * loaded gets new ones, shared by all of its triggers, so that the order syntaxes are tried in only depends on the
+ * script itself, and not on the scripts that happened to be parsed before it.
+ *
+ * @see ParserState#getRankings()
+ */
+public class ParseRankings {
+    private final SyntaxRanking<RankingContext, SyntaxInfo<?>> syntaxes = new SyntaxRanking<>(SyntaxInfo::getPriority);
+    private final SyntaxRanking<Class<Tag>, TagInfo<?>> tags = new SyntaxRanking<>(TagInfo::getPriority);
+
+    /**
+     * @return the ranking of the syntaxes, by the context they are parsed in
+     */
+    public SyntaxRanking<RankingContext, SyntaxInfo<?>> getSyntaxes() {
+        return syntaxes;
+    }
+
+    /**
+     * @return the ranking of the {@linkplain Tag tags}
+     */
+    public SyntaxRanking<Class<Tag>, TagInfo<?>> getTags() {
+        return tags;
+    }
+}
@@ -1,14 +1,19 @@
 package io.github.syst3ms.skriptparser.parsing;
 
 import io.github.syst3ms.skriptparser.lang.CodeSection;
+import io.github.syst3ms.skriptparser.lang.ExecutionFrame;
 import io.github.syst3ms.skriptparser.lang.Statement;
 import io.github.syst3ms.skriptparser.lang.SyntaxElement;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
+import io.github.syst3ms.skriptparser.structures.functions.Function;
 import io.github.syst3ms.skriptparser.util.Pair;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -22,6 +27,16 @@ public class ParserState {
     private final LinkedList<Pair<Set<Class<? extends SyntaxElement>>, Boolean>> restrictions = new LinkedList<>();
     private boolean isntAllowingSyntax;
     private boolean isDelayed = false;
+    private final ParseMemo parseMemo = new ParseMemo();
+    private final Map<String, Function<?>> functionDependencies = new HashMap<>();
+    private final ExecutionFrame.Layout frameLayout = new ExecutionFrame.Layout();
+    @Nullable
+    private ParsePlan parsePlan;
+    private ParseRankings rankings = new ParseRankings();
+    // The pattern the last matched syntax matched with, only recorded in the plan once the syntax is accepted
+    private int matchedPattern;
+    // Incremented on every change, so that parsing outcomes depending on the previous state are discarded
+    private int modifications;
 
     {
         currentStatements.add(new LinkedList<>());
@@ -41,6 +56,7 @@ public class ParserState {
      * @param currentContexts the handled {@link TriggerContext}s
      */
     public void setCurrentContexts(Set<Class<? extends TriggerContext>> currentContexts) {
+        modifications++;
         this.currentContexts = currentContexts;
     }
 
@@ -51,12 +67,21 @@ public class ParserState {
         return new LinkedList<>(currentSections);
     }
 
+    /**
+     * @return the closest enclosing {@link CodeSection}, or {@literal null} if there is none
+     */
+    @Nullable
+    public CodeSection getCurrentSection() {
+        return currentSections.peekFirst();
+    }
+
     /**
      * Adds a new enclosing {@link CodeSection} to the hierarchy
      *
      * @param section the enclosing {@link CodeSection}
      */
     public void addCurrentSection(CodeSection section) {
+        modifications++;
         currentSections.addFirst(section);
     }
 
@@ -64,6 +89,7 @@ public class ParserState {
      * Removes the current section from the hierarchy, after all parsing inside it has been completed.
      */
     public void removeCurrentSection() {
+        modifications++;
         currentSections.removeFirst();
     }
 
@@ -84,6 +110,7 @@ public class ParserState {
      * @param statement the enclosing {@link Statement}
      */
     public void addCurrentStatement(Statement statement) {
+        modifications++;
         currentStatements.getLast().add(statement);
     }
 
@@ -93,6 +120,7 @@ public class ParserState {
      * has been invoked.
      */
     public void recurseCurrentStatements() {
+        modifications++;
         currentStatements.addLast(new LinkedList<>());
     }
 
@@ -101,6 +129,7 @@ public class ParserState {
      * after all parsing inside it has been completed.
      */
     public void callbackCurrentStatements() {
+        modifications++;
         currentStatements.removeLast();
     }
 
@@ -111,6 +140,7 @@ public class ParserState {
      * @param restrictingExpressions whether expressions are also restricted
      */
     public void setSyntaxRestrictions(Set<Class<? extends SyntaxElement>> allowedSyntaxes, boolean restrictingExpressions) {
+        modifications++;
         if (allowedSyntaxes == null)
             isntAllowingSyntax = true;
         restrictions.addLast(new Pair<>(allowedSyntaxes, restrictingExpressions));
@@ -120,6 +150,7 @@ public class ParserState {
      * Clears the previously enforced syntax restrictions
      */
     public void clearSyntaxRestrictions() {
+        modifications++;
         isntAllowingSyntax = false;
         restrictions.removeLast();
     }
@@ -157,7 +188,84 @@ public class ParserState {
      * @param delayed whether the parser state is delayed
      */
     public void setDelayed(boolean delayed) {
+        modifications++;
         this.isDelayed = delayed;
     }
 
+    /**
+     * Records that the trigger being parsed calls the given function, which it has resolved at parse time.
+     * @param function the function
+     */
+    public void addFunctionDependency(Function<?> function) {
+        functionDependencies.put(function.getName(), function);
+    }
+
+    /**
+     * @return the functions called by the trigger being parsed, by name
+     * @see #addFunctionDependency(Function)
+     */
+    public Map<String, Function<?>> getFunctionDependencies() {
+        return Collections.unmodifiableMap(functionDependencies);
+    }
+
+    /**
+     * Allocates a slot in the {@linkplain ExecutionFrame frame} of every execution of the trigger being parsed, in
+     * which a Statement stores the state it needs while running.
+     *
+     * @param <T> the type of the values held by the slot
+     * @return the new slot
+     */
+    public <T> ExecutionFrame.Slot<T> newFrameSlot() {
+        return frameLayout.newSlot();
+    }
+
+    /**
+     * @return the {@link ParsePlan} of the script being parsed, if there is one
+     */
+    @Nullable
+    public ParsePlan getParsePlan() {
+        return parsePlan;
+    }
+
+    /**
+     * @param parsePlan the {@link ParsePlan} of the script being parsed
+     */
+    public void setParsePlan(@Nullable ParsePlan parsePlan) {
+        this.parsePlan = parsePlan;
+    }
+
+    /**
+     * @return the {@link ParseRankings} of the script being parsed
+     */
+    public ParseRankings getRankings() {
+        return rankings;
+    }
+
+    /**
+     * @param rankings the {@link ParseRankings} of the script being parsed, shared with its other triggers
+     */
+    public void setRankings(ParseRankings rankings) {
+        this.rankings = rankings;
+    }
+
+    int getMatchedPattern() {
+        return matchedPattern;
+    }
+
+    void setMatchedPattern(int matchedPattern) {
+        this.matchedPattern = matchedPattern;
+    }
+
+    /**
+     * Returns the {@link ParseMemo} holding the outcomes of expressions parsed in the given line. The memo is emptied
+     * whenever the line or this state changes, because these outcomes can then differ.
+     *
+     * @param line the line currently being parsed
+     * @return the memo for the current line and state
+     */
+    public ParseMemo getParseMemo(int line) {
+        parseMemo.validate(line, modifications);
+        return parseMemo;
+    }
+
 }
@@ -0,0 +1,22 @@
+package io.github.syst3ms.skriptparser.parsing;
+
+import io.github.syst3ms.skriptparser.lang.CodeSection;
+import io.github.syst3ms.skriptparser.lang.SyntaxElement;
+import io.github.syst3ms.skriptparser.util.SyntaxRanking;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A context in which the parser {@linkplain SyntaxRanking ranks} syntaxes by how often they were used. Syntaxes
+ * that are frequent somewhere, for example an effect that is mostly used inside of a given section, aren't
+ * necessarily as frequent elsewhere.
+ *
+ * @param syntaxType what the syntaxes are parsed as, like {@link io.github.syst3ms.skriptparser.lang.Expression}
+ *                   or {@link io.github.syst3ms.skriptparser.lang.Effect}
+ * @param expectedType the class expressions are expected to return, or {@literal null} for other syntaxes
+ * @param section the class of the closest enclosing section, or {@literal null} if there is none
+ * @see ParseRankings#getSyntaxes()
+ */
+public record RankingContext(Class<? extends SyntaxElement> syntaxType,
+                             @Nullable Class<?> expectedType,
+                             @Nullable Class<? extends CodeSection> section) {
+}
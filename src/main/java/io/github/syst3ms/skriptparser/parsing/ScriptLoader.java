@@ -5,26 +5,63 @@ import io.github.syst3ms.skriptparser.file.FileParser;
 import io.github.syst3ms.skriptparser.file.FileSection;
 import io.github.syst3ms.skriptparser.file.VoidElement;
 import io.github.syst3ms.skriptparser.lang.Statement;
+import io.github.syst3ms.skriptparser.lang.Trigger;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
 import io.github.syst3ms.skriptparser.lang.TriggerMap;
 import io.github.syst3ms.skriptparser.lang.UnloadedTrigger;
-import io.github.syst3ms.skriptparser.lang.event.SkriptEvent;
 import io.github.syst3ms.skriptparser.log.ErrorType;
 import io.github.syst3ms.skriptparser.log.LogEntry;
+import io.github.syst3ms.skriptparser.log.LogType;
 import io.github.syst3ms.skriptparser.log.SkriptLogger;
+import io.github.syst3ms.skriptparser.registration.RegistrySnapshot;
+import io.github.syst3ms.skriptparser.registration.SyntaxManager;
+import io.github.syst3ms.skriptparser.structures.functions.Function;
+import io.github.syst3ms.skriptparser.structures.functions.Functions;
+import io.github.syst3ms.skriptparser.structures.functions.StructFunction;
 import io.github.syst3ms.skriptparser.util.FileUtils;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 /**
  * Contains the logic for loading, parsing, and interpreting entire script files
  */
 public class ScriptLoader {
+    // The triggers of every loaded script that can be kept as they are when it is loaded again
+    private static final Map<String, CachedScript> LOADED_SCRIPTS = new ConcurrentHashMap<>();
+    // Held while loading, reloading or unloading a script, so that these never interleave
+    private static final Object RELOAD_LOCK = new Object();
+    @Nullable
+    private static Path parsePlanDirectory;
+
+    /**
+     * Sets the directory in which the {@link ParsePlan}s of the loaded scripts are stored, so that loading the same
+     * scripts again, even after a restart, is faster. Plans aren't used if no directory is set, which is the default.
+     *
+     * @param directory the directory, or {@literal null} to stop using plans
+     */
+    public static void setParsePlanDirectory(@Nullable Path directory) {
+        parsePlanDirectory = directory;
+    }
 
     /**
      * Parses and loads the provided script in memory.
@@ -39,76 +76,197 @@ public class ScriptLoader {
     /**
      * Parses and loads the provided script in memory.
      * The provided SkriptLogger can be used within syntaxes to input erroring into the logs during parse time.
+     * <p>
+     * When the script has already been loaded before, the triggers whose {@linkplain FileSection#getFingerprint() code}
+     * and called functions haven't changed since are kept as they are, and only the other ones are parsed again.
      *
      * @param scriptPath the script file to load.
      * @param logger     The {@link SkriptLogger} to use for the logged entries. Useful for custom logging.
      * @param debug      whether debug is enabled.
      */
     public static List<LogEntry> loadScript(Path scriptPath, SkriptLogger logger, boolean debug) {
-        List<FileElement> elements;
-        String scriptName = scriptPath.getFileName().toString().replaceAll("(.+)\\..+", "$1");
+        synchronized (RELOAD_LOCK) {
+            var loading = new ScriptLoading(scriptPath, logger, false);
+            loading.read();
+            loading.parseTriggers();
+            loading.loadTriggers();
+            return loading.register();
+        }
+    }
 
-        // Clear triggers from unloaded events
-        TriggerMap.clearTriggers(scriptName);
+    /**
+     * Parses and loads the provided scripts in memory, reading and parsing their files in parallel on virtual threads.
+     *
+     * @param scriptPaths the script files to load
+     * @param debug       whether debug is enabled
+     * @return the logged entries of every script, in the iteration order of the given collection
+     * @see #loadScripts(Collection, Executor, boolean)
+     */
+    public static Map<Path, List<LogEntry>> loadScripts(Collection<Path> scriptPaths, boolean debug) {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            return loadScripts(scriptPaths, executor, debug);
+        }
+    }
 
-        try {
-            var lines = FileUtils.readAllLines(scriptPath);
-
-            elements = FileParser.parseFileLines(scriptName,
-                lines,
-                0,
-                1,
-                logger
-            );
-            logger.finalizeLogs();
-        } catch (IOException e) {
-            e.printStackTrace();
-            return Collections.emptyList();
+    /**
+     * Parses and loads the provided scripts in memory, reading and parsing their files in parallel on the given
+     * executor.
+     * <p>
+     * Only the steps that don't depend on the order in which scripts are loaded run in parallel. The headers of the
+     * triggers, where functions get declared, are parsed one script after the other, in the iteration order of the
+     * given collection, and before the contents of any trigger, so that a function can be called from any of the
+     * scripts, no matter which one declares it. Once everything is parsed, the triggers are added, in that same order
+     * and by loading priority within each script.
+     * <p>
+     * If an exception is thrown while loading one of the scripts, that script is left without any triggers, and the
+     * exception is reported as an error in its logs. The other scripts are loaded as usual.
+     * <p>
+     * No other script is loaded, {@linkplain #reloadScript(Path, Executor, boolean) reloaded} or
+     * {@linkplain #unloadScript(Path) unloaded} meanwhile.
+     *
+     * @param scriptPaths the script files to load
+     * @param executor    the executor to read and parse the files on, for example {@link ForkJoinPool#commonPool()}
+     * @param debug       whether debug is enabled
+     * @return the logged entries of every script, in the iteration order of the given collection
+     */
+    public static Map<Path, List<LogEntry>> loadScripts(Collection<Path> scriptPaths, Executor executor, boolean debug) {
+        synchronized (RELOAD_LOCK) {
+            List<ScriptLoading> loadings = new ArrayList<>(scriptPaths.size());
+            for (var scriptPath : scriptPaths) {
+                loadings.add(new ScriptLoading(scriptPath, new SkriptLogger(debug), false));
+            }
+            runInParallel(loadings, ScriptLoading::read, executor);
+            for (var loading : loadings) {
+                loading.attempt(ScriptLoading::parseTriggers);
+            }
+            runInParallel(loadings, ScriptLoading::loadTriggers, executor);
+            Map<Path, List<LogEntry>> logs = new LinkedHashMap<>();
+            for (var loading : loadings) {
+                loading.attempt(ScriptLoading::register);
+                logs.put(loading.scriptPath, loading.getLogs());
+            }
+            return logs;
         }
-        logger.setFileInfo(scriptPath.getFileName().toString(), elements);
-        List<UnloadedTrigger> unloadedTriggers = new ArrayList<>();
-        for (var element : elements) {
-            logger.finalizeLogs();
-            logger.nextLine();
-            if (element instanceof VoidElement)
-                continue;
-            if (element instanceof FileSection) {
-                var trig = SyntaxParser.parseTrigger((FileSection) element, logger);
-                trig.ifPresent(t -> {
-                    logger.setLine(logger.getLine() + ((FileSection) element).length());
-                    unloadedTriggers.add(t);
-                });
-            } else {
-                logger.error(
-                    "Can't have code outside of a trigger",
-                    ErrorType.STRUCTURE_ERROR,
-                    "Code always starts with a trigger (or event). Refer to the documentation to see which event you need, or indent this line so it is part of a trigger"
-                );
+    }
+
+    /**
+     * Reloads the provided script on the given executor, without ever leaving it without triggers. Unlike
+     * {@link #loadScript(Path, boolean)}, which removes the current triggers of the script before parsing it, the new
+     * version is parsed while the current one keeps handling events, along with the functions it declares, which
+     * only this script can see until then. Once parsing is done, the new triggers and functions replace the current
+     * ones at once, and only then are the replaced triggers unloaded.
+     * <p>
+     * If the script can't be read, or if any error is logged while parsing it, the new version is discarded and the
+     * current one keeps running as if nothing happened. Reloads run one at a time, and never at the same time as
+     * a script is {@linkplain #loadScript(Path, boolean) loaded} or {@linkplain #unloadScript(Path) unloaded}.
+     *
+     * @param scriptPath the script file to reload
+     * @param executor   the executor to parse the script on
+     * @param debug      whether debug is enabled
+     * @return the logged entries, once the script is reloaded
+     */
+    public static CompletableFuture<List<LogEntry>> reloadScript(Path scriptPath, Executor executor, boolean debug) {
+        return CompletableFuture.supplyAsync(() -> {
+            synchronized (RELOAD_LOCK) {
+                var loading = new ScriptLoading(scriptPath, new SkriptLogger(debug), true);
+                try {
+                    loading.read();
+                    loading.parseTriggers();
+                    loading.loadTriggers();
+                    return loading.register();
+                } catch (RuntimeException | Error e) {
+                    loading.discard();
+                    throw e;
+                }
             }
+        }, executor);
+    }
+
+    /**
+     * Unloads the provided script, removing all of its triggers and functions.
+     *
+     * @param scriptPath the script file to unload
+     */
+    public static void unloadScript(Path scriptPath) {
+        synchronized (RELOAD_LOCK) {
+            var scriptName = getScriptName(scriptPath);
+            LOADED_SCRIPTS.remove(scriptName);
+            TriggerMap.clearTriggers(scriptName);
         }
-        unloadedTriggers.sort((a, b) -> b.trigger().getEvent().getLoadingPriority() - a.trigger().getEvent().getLoadingPriority());
+    }
 
-        for (var unloaded : unloadedTriggers) {
-            logger.finalizeLogs();
-            logger.setLine(unloaded.line());
-            var loaded = unloaded.trigger();
-            loaded.loadSection(unloaded.section(), unloaded.parserState(), logger);
-            //unloaded.getEventInfo().getRegisterer().handleTrigger(scriptName,loaded);
+    private static String getScriptName(Path scriptPath) {
+        return scriptPath.getFileName().toString().replaceAll("(.+)\\..+", "$1");
+    }
+
+    private static void runInParallel(List<ScriptLoading> loadings, Consumer<ScriptLoading> step, Executor executor) {
+        var tasks = loadings.stream()
+            .map(loading -> CompletableFuture.runAsync(() -> loading.attempt(step), executor))
+            .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(tasks).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error)
+                throw (Error) e.getCause();
+            throw e;
+        }
+    }
 
-            SkriptEvent event = unloaded.trigger().getEvent();
+    /*
+     * Finds the triggers of the previous load of the script that can be kept as they are, keyed by their section in the
+     * new file. All triggers of the script are removed from the TriggerMap, but only the ones that aren't kept are
+     * unloaded, and only their functions are removed. When staged, the current version of the script is left in place
+     * instead, and the functions that are kept are staged.
+     */
+    private static Map<FileSection, CachedTrigger> reuseTriggers(String scriptName, List<FileElement> elements, RegistrySnapshot snapshot, boolean staged) {
+        Map<FileSection, CachedTrigger> reused = new IdentityHashMap<>();
+        var previous = staged ? LOADED_SCRIPTS.get(scriptName) : LOADED_SCRIPTS.remove(scriptName);
+        // New syntaxes could make the same code parse differently
+        if (previous != null && previous.snapshot() == snapshot) {
+            Set<Trigger> present = Collections.newSetFromMap(new IdentityHashMap<>());
+            TriggerMap.getTriggersByScript(scriptName).values().forEach(present::addAll);
+            Map<Long, Deque<CachedTrigger>> candidates = new HashMap<>();
+            for (var cached : previous.triggers()) {
+                // The script may have been unloaded in the meantime
+                if (present.contains(cached.trigger()))
+                    candidates.computeIfAbsent(cached.fingerprint(), k -> new ArrayDeque<>()).add(cached);
+            }
+            for (var element : elements) {
+                if (element instanceof FileSection) {
+                    var section = (FileSection) element;
+                    var matching = candidates.get(section.getFingerprint());
+                    if (matching != null && !matching.isEmpty())
+                        reused.put(section, matching.poll());
+                }
+            }
+        }
 
-            Set<Class<? extends TriggerContext>> contexts = unloaded.eventInfo().getContexts();
-            if (contexts.isEmpty()) {
-                // A dummy context will be used for this
-                TriggerMap.addTrigger(scriptName, TriggerContext.class, loaded);
+        // Removing a function invalidates the triggers calling it, whose own functions must then be removed too
+        boolean invalidated;
+        do {
+            Set<Function<?>> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (var cached : reused.values()) {
+                if (cached.trigger().getEvent() instanceof StructFunction)
+                    kept.add(((StructFunction) cached.trigger().getEvent()).getFunction());
+            }
+            if (staged) {
+                Functions.stageFunctions(scriptName, kept);
             } else {
-                for (Class<? extends TriggerContext> context : contexts) {
-                    TriggerMap.addTrigger(scriptName, context, loaded);
-                }
+                Functions.retainFunctions(scriptName, kept);
             }
+            invalidated = reused.values().removeIf(cached -> cached.callsChangedFunctions(scriptName));
+        } while (invalidated);
+
+        if (!staged) {
+            Set<Trigger> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (var cached : reused.values()) {
+                kept.add(cached.trigger());
+            }
+            TriggerMap.removeTriggers(scriptName, kept);
         }
-        logger.finalizeLogs();
-        return logger.close();
+        return reused;
     }
 
     /**
@@ -147,11 +305,302 @@ public class ScriptLoader {
         }
         logger.finalizeLogs();
         for (var i = items.size() - 1; i > 0; i--) {
-            items.get(i - 1).setNext(items.get(i));
+            items.get(i - 1).setNext(items.get(i).getEntryPoint());
         }
         logger.callback();
         parserState.callbackCurrentStatements();
         return items;
     }
 
+    /*
+     * The state of a script being loaded, from reading its file to adding its triggers. Every step only touches this
+     * script, except for parseTriggers, which declares its functions, and register, which adds its triggers, so that
+     * only these two need to run in a definite order when loading multiple scripts. A staged loading doesn't touch the
+     * current version of the script until it is registered.
+     */
+    private static class ScriptLoading {
+        private final Path scriptPath;
+        private final String scriptName;
+        private final SkriptLogger logger;
+        private final boolean staged;
+        @Nullable
+        private List<FileElement> elements;
+        private String contentHash;
+        private RegistrySnapshot snapshot;
+        @Nullable
+        private Path planFile;
+        @Nullable
+        private ParsePlan plan;
+        private final ParseRankings rankings = new ParseRankings();
+        private final List<Trigger> triggers = new ArrayList<>();
+        private final Map<Trigger, UnloadedTrigger> unloadedTriggers = new IdentityHashMap<>();
+        private final Map<Trigger, CachedTrigger> kept = new IdentityHashMap<>();
+        // The section of every kept trigger, and the line the logger was at when reaching it
+        private final Map<Trigger, FileSection> keptSections = new IdentityHashMap<>();
+        private final Map<Trigger, Integer> keptLines = new IdentityHashMap<>();
+        private final Map<Trigger, Long> fingerprints = new IdentityHashMap<>();
+        private final Set<Trigger> reported = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Map<Trigger, Set<Class<? extends TriggerContext>>> contexts = new IdentityHashMap<>();
+        private final List<CachedTrigger> loaded = new ArrayList<>();
+        @Nullable
+        private List<LogEntry> logs;
+        private boolean failed;
+
+        ScriptLoading(Path scriptPath, SkriptLogger logger, boolean staged) {
+            this.scriptPath = scriptPath;
+            this.scriptName = getScriptName(scriptPath);
+            this.logger = logger;
+            this.staged = staged;
+        }
+
+        void read() {
+            try {
+                var lines = FileUtils.readAllLines(scriptPath);
+                contentHash = FileUtils.hash(String.join("\n", lines));
+
+                elements = FileParser.parseFileLines(scriptName,
+                    lines,
+                    0,
+                    1,
+                    logger
+                );
+                logger.finalizeLogs();
+            } catch (IOException e) {
+                e.printStackTrace();
+                elements = null;
+            }
+        }
+
+        void parseTriggers() {
+            if (elements == null) {
+                if (staged)
+                    return;
+                // Clear triggers from unloaded events
+                LOADED_SCRIPTS.remove(scriptName);
+                TriggerMap.clearTriggers(scriptName);
+                return;
+            }
+            snapshot = SyntaxManager.getSnapshot();
+            var reused = reuseTriggers(scriptName, elements, snapshot, staged);
+            var planDirectory = parsePlanDirectory;
+            planFile = planDirectory != null ? planDirectory.resolve(scriptName + ".plan") : null;
+            plan = planFile != null ? ParsePlan.load(planFile, contentHash, snapshot.getFingerprint()) : null;
+            logger.setFileInfo(scriptPath.getFileName().toString(), elements);
+            for (var element : elements) {
+                logger.finalizeLogs();
+                logger.nextLine();
+                if (element instanceof VoidElement)
+                    continue;
+                if (element instanceof FileSection) {
+                    var section = (FileSection) element;
+                    var cached = reused.get(section);
+                    if (cached != null) {
+                        keptSections.put(cached.trigger(), section);
+                        keptLines.put(cached.trigger(), logger.getLine());
+                        logger.setLine(logger.getLine() + section.length());
+                        triggers.add(cached.trigger());
+                        kept.put(cached.trigger(), cached);
+                        continue;
+                    }
+                    parseTrigger(section);
+                } else {
+                    logger.error(
+                        "Can't have code outside of a trigger",
+                        ErrorType.STRUCTURE_ERROR,
+                        "Code always starts with a trigger (or event). Refer to the documentation to see which event you need, or indent this line so it is part of a trigger"
+                    );
+                }
+            }
+            invalidateShadowedCalls();
+            triggers.sort((a, b) -> b.getEvent().getLoadingPriority() - a.getEvent().getLoadingPriority());
+        }
+
+        private void parseTrigger(FileSection section) {
+            var count = logger.getReportedCount();
+            var trig = SyntaxParser.parseTrigger(section, plan, rankings, logger);
+            logger.finalizeLogs();
+            trig.ifPresent(t -> {
+                logger.setLine(logger.getLine() + section.length());
+                triggers.add(t.trigger());
+                unloadedTriggers.put(t.trigger(), t);
+                fingerprints.put(t.trigger(), section.getFingerprint());
+                if (logger.getReportedCount() != count)
+                    reported.add(t.trigger());
+            });
+        }
+
+        /*
+         * The functions declared by the parsed triggers may shadow the ones that kept triggers call. These triggers
+         * are parsed again, after removing the functions they declare, which can in turn invalidate other ones.
+         */
+        private void invalidateShadowedCalls() {
+            List<CachedTrigger> invalidated;
+            while (!(invalidated = kept.values().stream()
+                    .filter(cached -> cached.callsChangedFunctions(scriptName))
+                    .toList()).isEmpty()) {
+                for (var cached : invalidated) {
+                    var trigger = cached.trigger();
+                    kept.remove(trigger);
+                    triggers.remove(trigger);
+                    if (trigger.getEvent() instanceof StructFunction)
+                        Functions.removeFunction(scriptName, ((StructFunction) trigger.getEvent()).getFunction());
+                    // It was kept when the other triggers of the script were removed, and is still running when staged
+                    if (!staged)
+                        trigger.getEvent().unload();
+                }
+                for (var cached : invalidated) {
+                    logger.setLine(keptLines.get(cached.trigger()));
+                    parseTrigger(keptSections.get(cached.trigger()));
+                }
+            }
+        }
+
+        void loadTriggers() {
+            for (var trigger : triggers) {
+                logger.finalizeLogs();
+                var unloaded = unloadedTriggers.get(trigger);
+                if (unloaded != null) {
+                    logger.setLine(unloaded.line());
+                    var count = logger.getReportedCount();
+                    trigger.loadSection(unloaded.section(), unloaded.parserState(), logger);
+                    //unloaded.getEventInfo().getRegisterer().handleTrigger(scriptName,loaded);
+                    logger.finalizeLogs();
+
+                    contexts.put(trigger, unloaded.eventInfo().getContexts());
+                    // Triggers that logged something are always parsed again, so that their logs show up every time
+                    if (logger.getReportedCount() == count && !reported.contains(trigger)) {
+                        loaded.add(new CachedTrigger(
+                            fingerprints.get(trigger),
+                            trigger,
+                            unloaded.eventInfo().getContexts(),
+                            unloaded.parserState().getFunctionDependencies()
+                        ));
+                    }
+                } else {
+                    var cached = kept.get(trigger);
+                    contexts.put(trigger, cached.contexts());
+                    loaded.add(cached);
+                }
+            }
+        }
+
+        List<LogEntry> register() {
+            if (staged)
+                return logs = publish();
+            if (elements == null)
+                return logs = Collections.emptyList();
+            TriggerMap.addTriggers(scriptName, getTriggersByContext());
+            LOADED_SCRIPTS.put(scriptName, new CachedScript(snapshot, loaded));
+            savePlan();
+            logger.finalizeLogs();
+            return logs = logger.close();
+        }
+
+        /*
+         * Runs a step of the loading of this script, unless a previous one failed. If it throws, the script is left
+         * without any triggers, so that loading the other scripts can go on.
+         */
+        void attempt(Consumer<ScriptLoading> step) {
+            if (failed)
+                return;
+            try {
+                step.accept(this);
+            } catch (RuntimeException e) {
+                failed = true;
+                Set<Trigger> added = Collections.newSetFromMap(new IdentityHashMap<>());
+                TriggerMap.getTriggersByScript(scriptName).values().forEach(added::addAll);
+                TriggerMap.clearTriggers(scriptName);
+                LOADED_SCRIPTS.remove(scriptName);
+                // The previous triggers that were being kept are unloaded as well
+                for (var trigger : triggers) {
+                    if (!added.contains(trigger))
+                        trigger.getEvent().unload();
+                }
+                logger.finalizeLogs();
+                logger.setLine(-1);
+                logger.error("An exception occurred while loading this script: " + e, ErrorType.EXCEPTION);
+                logger.finalizeLogs();
+                logs = logger.close();
+            }
+        }
+
+        List<LogEntry> getLogs() {
+            assert logs != null;
+            return logs;
+        }
+
+        /*
+         * Replaces the current version of the script with the staged one, unless it couldn't be read or has errors.
+         */
+        private List<LogEntry> publish() {
+            savePlan();
+            logger.finalizeLogs();
+            var logs = logger.close();
+            if (elements == null || logs.stream().anyMatch(log -> log.getType() == LogType.ERROR)) {
+                discard();
+                return logs;
+            }
+            Functions.publishFunctions(scriptName);
+            TriggerMap.replaceTriggers(scriptName, getTriggersByContext());
+            LOADED_SCRIPTS.put(scriptName, new CachedScript(snapshot, loaded));
+            return logs;
+        }
+
+        /*
+         * Forgets everything a staged loading parsed, leaving the current version of the script in place.
+         */
+        void discard() {
+            Functions.discardFunctions(scriptName);
+            // The new triggers were never added, but their events may have set things up when they were parsed
+            for (var trigger : triggers) {
+                if (!kept.containsKey(trigger))
+                    trigger.getEvent().unload();
+            }
+        }
+
+        private Map<Class<? extends TriggerContext>, List<Trigger>> getTriggersByContext() {
+            Map<Class<? extends TriggerContext>, List<Trigger>> triggersByContext = new LinkedHashMap<>();
+            for (var trigger : triggers) {
+                var triggerContexts = contexts.get(trigger);
+                if (triggerContexts.isEmpty()) {
+                    // A dummy context will be used for this
+                    triggersByContext.computeIfAbsent(TriggerContext.class, k -> new ArrayList<>()).add(trigger);
+                } else {
+                    for (Class<? extends TriggerContext> context : triggerContexts) {
+                        triggersByContext.computeIfAbsent(context, k -> new ArrayList<>()).add(trigger);
+                    }
+                }
+            }
+            return triggersByContext;
+        }
+
+        private void savePlan() {
+            if (plan != null) {
+                try {
+                    plan.save(planFile);
+                } catch (IOException e) {
+                    // Not being able to save the plan only makes the next load slower
+                    logger.setLine(-1);
+                    logger.warn("Couldn't save the parse plan of this script to " + planFile + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private record CachedScript(RegistrySnapshot snapshot, List<CachedTrigger> triggers) {
+    }
+
+    private record CachedTrigger(long fingerprint,
+                                 Trigger trigger,
+                                 Set<Class<? extends TriggerContext>> contexts,
+                                 Map<String, Function<?>> functions) {
+        /*
+         * Whether any function this trigger calls doesn't resolve to the same one it did when it was parsed
+         */
+        boolean callsChangedFunctions(String scriptName) {
+            return functions.entrySet().stream()
+                .anyMatch(e -> Functions.getFunctionByName(e.getKey(), scriptName).orElse(null) != e.getValue());
+        }
+    }
+
 }
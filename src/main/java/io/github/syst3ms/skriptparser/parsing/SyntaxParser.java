@@ -6,40 +6,45 @@ import io.github.syst3ms.skriptparser.lang.CodeSection;
 import io.github.syst3ms.skriptparser.lang.Effect;
 import io.github.syst3ms.skriptparser.lang.Expression;
 import io.github.syst3ms.skriptparser.lang.ExpressionList;
+import io.github.syst3ms.skriptparser.lang.Foldable;
 import io.github.syst3ms.skriptparser.lang.Literal;
 import io.github.syst3ms.skriptparser.lang.LiteralList;
 import io.github.syst3ms.skriptparser.lang.SimpleLiteral;
+import io.github.syst3ms.skriptparser.lang.SyntaxElement;
 import io.github.syst3ms.skriptparser.lang.Trigger;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
 import io.github.syst3ms.skriptparser.lang.UnloadedTrigger;
 import io.github.syst3ms.skriptparser.lang.Variable;
 import io.github.syst3ms.skriptparser.lang.VariableString;
 import io.github.syst3ms.skriptparser.lang.base.ConditionalExpression;
+import io.github.syst3ms.skriptparser.lang.base.ConstantCondition;
+import io.github.syst3ms.skriptparser.lang.base.ConstantExpression;
 import io.github.syst3ms.skriptparser.lang.event.SkriptEvent;
 import io.github.syst3ms.skriptparser.log.ErrorContext;
 import io.github.syst3ms.skriptparser.log.ErrorType;
 import io.github.syst3ms.skriptparser.log.SkriptLogger;
+import io.github.syst3ms.skriptparser.parsing.ParsePlan.Kind;
 import io.github.syst3ms.skriptparser.pattern.PatternElement;
 import io.github.syst3ms.skriptparser.pattern.PatternParser;
 import io.github.syst3ms.skriptparser.registration.ExpressionInfo;
 import io.github.syst3ms.skriptparser.registration.SkriptEventInfo;
 import io.github.syst3ms.skriptparser.registration.SyntaxInfo;
 import io.github.syst3ms.skriptparser.registration.SyntaxManager;
+import io.github.syst3ms.skriptparser.types.LiteralShape;
 import io.github.syst3ms.skriptparser.types.PatternType;
 import io.github.syst3ms.skriptparser.types.Type;
 import io.github.syst3ms.skriptparser.types.TypeManager;
-import io.github.syst3ms.skriptparser.types.conversions.Converters;
 import io.github.syst3ms.skriptparser.util.ClassUtils;
-import io.github.syst3ms.skriptparser.util.RecentElementList;
 import io.github.syst3ms.skriptparser.util.StringUtils;
 import io.github.syst3ms.skriptparser.variables.Variables;
 import org.intellij.lang.annotations.MagicConstant;
+import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 
@@ -65,6 +70,7 @@ public class SyntaxParser {
     public static final int CONDITIONAL = 2;
 
     public static final Pattern LIST_SPLIT_PATTERN = Pattern.compile("\\s*(,)\\s*|\\s+(and|n?or)\\s+", Pattern.CASE_INSENSITIVE);
+    private static final Pattern BOOLEAN_OPERATOR_PATTERN = Pattern.compile("(?:(?<=\\s)|^)(?:not|or|and|\\\\\\\\|&&)(?=\\s|$)(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)");
 
     /**
      * The pattern type representing {@link Boolean}
@@ -89,26 +95,9 @@ public class SyntaxParser {
             .map(val -> (ExpressionInfo<ExprBooleanOperators, Boolean>) val)
             .orElseThrow();
 
-    /**
-     * All {@link Effect effects} that are successfully parsed during parsing, in order of last successful parsing
-     */
-    private static final RecentElementList<SyntaxInfo<? extends Effect>> recentEffects = new RecentElementList<>();
-    /**
-     * All {@link CodeSection sections} that are successfully parsed during parsing, in order of last successful parsing
-     */
-    private static final RecentElementList<SyntaxInfo<? extends CodeSection>> recentSections = new RecentElementList<>();
-    /**
-     * All {@link SkriptEvent events} that are successfully parsed during parsing, in order of last successful parsing
-     */
-    private static final RecentElementList<SkriptEventInfo<?>> recentEvents = new RecentElementList<>();
-    /**
-     * All {@link Expression expressions} that are successfully parsed during parsing, in order of last successful parsing
-     */
-    private static final RecentElementList<ExpressionInfo<?, ?>> recentExpressions = new RecentElementList<>();
-    /**
-     * All {@link ConditionalExpression conditions} that are successfully parsed during parsing, in order of last successful parsing
-     */
-    private static final RecentElementList<ExpressionInfo<? extends ConditionalExpression, ? extends Boolean>> recentConditions = new RecentElementList<>();
+    private static final Set<Class<?>> BOOLEAN_RETURN_TYPE = Set.of(Boolean.class);
+
+    private static final RankingContext TRIGGER_RANKING_CONTEXT = new RankingContext(SkriptEvent.class, null, null);
 
     /**
      * Parses an {@link Expression} from the given {@linkplain String} and {@link PatternType expected return type}
@@ -124,7 +113,7 @@ public class SyntaxParser {
     public static <T> Optional<? extends Expression<? extends T>> parseExpression(String s, PatternType<T> expectedType, ParserState parserState, SkriptLogger logger) {
         if (s.isEmpty())
             return Optional.empty();
-        if (s.startsWith("(") && s.endsWith(")") && StringUtils.findClosingIndex(s, '(', ')', 0) == s.length() - 1) {
+        if (s.startsWith("(") && s.endsWith(")") && getInput(s, parserState, logger).findClosingParenthesis(0) == s.length() - 1) {
             s = s.substring(1, s.length() - 1);
         }
 
@@ -155,11 +144,12 @@ public class SyntaxParser {
             s = s.substring("list ".length());
         } else {
             // TODO bandaid patch to stop checking strings if they're booleans operators
-            if (s.matches("(?:(?<=\\s)|^)(?:not|or|and|\\\\\\\\|&&)(?=\\s|$)(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)")) {
+            if (BOOLEAN_OPERATOR_PATTERN.matcher(s).matches()) {
                 // We parse boolean operators first to prevent clutter while parsing.
                 var booleanOperator = matchExpressionInfo(s, EXPRESSION_BOOLEAN_OPERATORS, expectedType, parserState, logger);
                 if (booleanOperator.isPresent()) {
-                    recentExpressions.acknowledge(EXPRESSION_BOOLEAN_OPERATORS);
+                    parserState.getRankings().getSyntaxes().acknowledge(rankingContext(Expression.class, expectedType, parserState), EXPRESSION_BOOLEAN_OPERATORS);
+                    recordMatch(parserState, Kind.EXPRESSION, s, expectedType, EXPRESSION_BOOLEAN_OPERATORS, logger);
                     logger.clearErrors();
                     return booleanOperator;
                 }
@@ -172,15 +162,28 @@ public class SyntaxParser {
                 return listLiteral;
             }
         }
-        for (var info : recentExpressions.mergeWith(SyntaxManager.getAllExpressions())) {
+        var hadError = logger.hasError();
+        var operation = InfixOperatorParser.parse(s, expectedType, parserState, logger);
+        if (operation.isPresent()) {
+            logger.clearErrors();
+            return operation;
+        }
+        // Only the errors of the attempt itself are forgotten, regular matching reports the same ones anyway
+        if (!hadError)
+            logger.forgetError();
+        var rankingContext = rankingContext(Expression.class, expectedType, parserState);
+        var candidates = SyntaxManager.getExpressionCandidates(s, expectedType.getType().getTypeClass());
+        candidates = order(parserState, Kind.EXPRESSION, s, expectedType, logger, parserState.getRankings().getSyntaxes().rank(rankingContext, candidates));
+        for (var info : candidates) {
             var expr = matchExpressionInfo(s, info, expectedType, parserState, logger);
             if (expr.isPresent()) {
                 if (parserState.isRestrictingExpressions() && parserState.forbidsSyntax(expr.get().getClass())) {
                     logger.setContext(ErrorContext.RESTRICTED_SYNTAXES);
-                    logger.error("The enclosing section does not allow the use of this expression: " + expr.get().toString(TriggerContext.DUMMY, logger.isDebug()), ErrorType.SEMANTIC_ERROR);
+                    logger.error(() -> "The enclosing section does not allow the use of this expression: " + expr.get().toString(TriggerContext.DUMMY, logger.isDebug()), ErrorType.SEMANTIC_ERROR);
                     return Optional.empty();
                 }
-                recentExpressions.acknowledge(info);
+                parserState.getRankings().getSyntaxes().acknowledge(rankingContext, info);
+                recordMatch(parserState, Kind.EXPRESSION, s, expectedType, info, logger);
                 logger.clearErrors();
                 return expr;
             }
@@ -188,7 +191,8 @@ public class SyntaxParser {
         }
 
         logger.setContext(ErrorContext.NO_MATCH);
-        logger.error("No expression matching '" + s + "' was found", ErrorType.NO_MATCH);
+        var input = s;
+        logger.error(() -> "No expression matching '" + input + "' was found", ErrorType.NO_MATCH);
         return Optional.empty();
     }
 
@@ -208,7 +212,7 @@ public class SyntaxParser {
      */
     public static Optional<? extends Expression<Boolean>> parseBooleanExpression(String s, @MagicConstant(intValues = {NOT_CONDITIONAL, MAYBE_CONDITIONAL, CONDITIONAL}) int conditional, ParserState parserState, SkriptLogger logger) {
         // I swear this is the cleanest way to do it
-        if (s.startsWith("(") && s.endsWith(")") && StringUtils.findClosingIndex(s, '(', ')', 0) == s.length() - 1) {
+        if (s.startsWith("(") && s.endsWith(")") && getInput(s, parserState, logger).findClosingParenthesis(0) == s.length() - 1) {
             s = s.substring(1, s.length() - 1);
         }
         if (s.equalsIgnoreCase("true")) {
@@ -231,9 +235,16 @@ public class SyntaxParser {
                 return variable;
             }
         }
-        for (var info : recentExpressions.mergeWith(SyntaxManager.getAllExpressions())) {
-            if (info.getReturnType().getType().getTypeClass() != Boolean.class)
-                continue;
+        var rankingContext = rankingContext(Expression.class, BOOLEAN_PATTERN_TYPE, parserState);
+        var candidates = order(
+                parserState,
+                Kind.EXPRESSION,
+                s,
+                BOOLEAN_PATTERN_TYPE,
+                logger,
+                parserState.getRankings().getSyntaxes().rank(rankingContext, SyntaxManager.getExpressionCandidates(s, BOOLEAN_RETURN_TYPE))
+        );
+        for (var info : candidates) {
             var expr = (Optional<? extends Expression<Boolean>>) matchExpressionInfo(s, info, BOOLEAN_PATTERN_TYPE, parserState, logger);
             if (expr.isPresent()) {
                 switch (conditional) {
@@ -248,9 +259,6 @@ public class SyntaxParser {
                         }
                         break;
                     case MAYBE_CONDITIONAL: // Can be conditional
-                        if (ConditionalExpression.class.isAssignableFrom(expr.get().getClass())) {
-                            recentConditions.acknowledge((ExpressionInfo<? extends ConditionalExpression, ? extends Boolean>) info);
-                        }
                     case CONDITIONAL: // Has to be conditional
                         if (!ConditionalExpression.class.isAssignableFrom(expr.get().getClass())) {
                             logger.error(
@@ -263,7 +271,8 @@ public class SyntaxParser {
                     default: // You just want me dead, don't you ?
                         break;
                 }
-                recentExpressions.acknowledge(info);
+                parserState.getRankings().getSyntaxes().acknowledge(rankingContext, info);
+                recordMatch(parserState, Kind.EXPRESSION, s, BOOLEAN_PATTERN_TYPE, info, logger);
                 logger.clearErrors();
                 return expr;
             }
@@ -271,78 +280,122 @@ public class SyntaxParser {
         }
 
         logger.setContext(ErrorContext.NO_MATCH);
-        logger.error("No expression matching '" + s + "' was found", ErrorType.NO_MATCH);
+        var input = s;
+        logger.error(() -> "No expression matching '" + input + "' was found", ErrorType.NO_MATCH);
         return Optional.empty();
     }
 
     private static <T> Optional<? extends Expression<? extends T>> matchExpressionInfo(String s, ExpressionInfo<?, ?> info, PatternType<T> expectedType, ParserState parserState, SkriptLogger logger) {
+        var profiler = ParseProfiler.getActive();
+        return profiler == null
+                ? matchExpressionPatterns(s, info, expectedType, parserState, logger)
+                : profiler.profile(info, logger, () -> matchExpressionPatterns(s, info, expectedType, parserState, logger));
+    }
+
+    private static <T> Optional<? extends Expression<? extends T>> matchExpressionPatterns(String s, ExpressionInfo<?, ?> info, PatternType<T> expectedType, ParserState parserState, SkriptLogger logger) {
         var patterns = info.getPatterns();
         var infoType = info.getReturnType();
         var infoTypeClass = infoType.getType().getTypeClass();
         var expectedTypeClass = expectedType.getType().getTypeClass();
-        if (!expectedTypeClass.isAssignableFrom(infoTypeClass) && !Converters.converterExists(infoTypeClass, expectedTypeClass))
+        if (!SyntaxManager.getSnapshot().getReturnTypesCompatibleWith(expectedTypeClass).contains(infoTypeClass))
             return Optional.empty();
-        for (var i = 0; i < patterns.size(); i++) {
+        var first = getFirstPattern(parserState.getParsePlan(), Kind.EXPRESSION, s, expectedType, info, logger);
+        for (var n = 0; n < patterns.size(); n++) {
+            var i = getPattern(first, n);
             var element = patterns.get(i);
             logger.setContext(ErrorContext.MATCHING);
             var parser = new MatchContext(element, parserState, logger);
             if (element.match(s, 0, parser) == s.length()) {
-                try {
-                    var expression = (Expression<? extends T>) info.getSyntaxClass()
-                            .getDeclaredConstructor()
-                            .newInstance();
-                    logger.setContext(ErrorContext.INITIALIZATION);
-                    if (!expression.init(
-                            parser.getParsedExpressions().toArray(new Expression[0]),
-                            i,
-                            parser.toParseResult()
-                    )) {
-                        continue;
-                    }
-                    logger.setContext(ErrorContext.CONSTRAINT_CHECKING);
-                    Class<?> expressionReturnType = expression.getReturnType();
-                    if (!expectedTypeClass.isAssignableFrom(expressionReturnType)) { // Would only screw up in case of bad dynamic type usage
-                        var converted = expression.convertExpression(expectedTypeClass);
-                        if (converted.isPresent()) {
-                            return converted;
-                        } else {
-                            var type = TypeManager.getByClass(expressionReturnType);
-                            assert type.isPresent();
-                            logger.error(StringUtils.withIndefiniteArticle(expectedType.toString(), false) +
-                                    " was expected, but " +
-                                    StringUtils.withIndefiniteArticle(type.get().toString(), false) +
-                                    " was found", ErrorType.SEMANTIC_ERROR);
-                            return Optional.empty();
-                        }
-                    }
-                    if (!expression.isSingle() &&
-                            expectedType.isSingle()) {
-                        logger.error(
-                                "A single value was expected, but '" + s + "' represents multiple values.",
-                                ErrorType.SEMANTIC_ERROR,
-                                "Use a loop/map to divert each element of this list into single elements"
-                        );
-                        continue;
-                    }
-                    if (parserState.isRestrictingExpressions() && parserState.forbidsSyntax(expression.getClass())) {
-                        logger.setContext(ErrorContext.RESTRICTED_SYNTAXES);
-                        logger.error(
-                                "The enclosing section does not allow the use of this expression: "
-                                        + expression.toString(TriggerContext.DUMMY, logger.isDebug()),
-                                ErrorType.SEMANTIC_ERROR,
-                                "The current section limits the usage of syntax. This means that certain syntax cannot be used here, which was the case. Remove this expression entirely and refer to the documentation for the correct usage of this section"
-                        );
-                        continue;
+                var expression = (Expression<? extends T>) instantiate(info, logger);
+                if (expression == null)
+                    continue;
+                logger.setContext(ErrorContext.INITIALIZATION);
+                var inputs = parser.getParsedExpressions().toArray(new Expression[0]);
+                if (!expression.init(inputs, i, parser.toParseResult())) {
+                    ParseProfiler.recordRejection();
+                    continue;
+                }
+                logger.setContext(ErrorContext.CONSTRAINT_CHECKING);
+                Class<?> expressionReturnType = expression.getReturnType();
+                if (!expectedTypeClass.isAssignableFrom(expressionReturnType)) { // Would only screw up in case of bad dynamic type usage
+                    var converted = expression.convertExpression(expectedTypeClass);
+                    if (converted.isPresent()) {
+                        parserState.setMatchedPattern(i);
+                        return converted;
+                    } else {
+                        var type = TypeManager.getByClass(expressionReturnType);
+                        assert type.isPresent();
+                        logger.error(() -> StringUtils.withIndefiniteArticle(expectedType.toString(), false) +
+                                " was expected, but " +
+                                StringUtils.withIndefiniteArticle(type.get().toString(), false) +
+                                " was found", ErrorType.SEMANTIC_ERROR);
+                        return Optional.empty();
                     }
-                    return Optional.of(expression);
-                } catch (InstantiationException | IllegalAccessException | NoSuchMethodException | InvocationTargetException e) {
-                    logger.error("Couldn't instantiate class '" + info.getSyntaxClass().getName() + "'", ErrorType.EXCEPTION);
                 }
+                if (!expression.isSingle() &&
+                        expectedType.isSingle()) {
+                    logger.error(
+                            () -> "A single value was expected, but '" + s + "' represents multiple values.",
+                            ErrorType.SEMANTIC_ERROR,
+                            "Use a loop/map to divert each element of this list into single elements"
+                    );
+                    continue;
+                }
+                if (parserState.isRestrictingExpressions() && parserState.forbidsSyntax(expression.getClass())) {
+                    logger.setContext(ErrorContext.RESTRICTED_SYNTAXES);
+                    logger.error(
+                            () -> "The enclosing section does not allow the use of this expression: "
+                                    + expression.toString(TriggerContext.DUMMY, logger.isDebug()),
+                            ErrorType.SEMANTIC_ERROR,
+                            "The current section limits the usage of syntax. This means that certain syntax cannot be used here, which was the case. Remove this expression entirely and refer to the documentation for the correct usage of this section"
+                    );
+                    continue;
+                }
+                parserState.setMatchedPattern(i);
+                return Optional.of(fold(expression, inputs));
             }
         }
         return Optional.empty();
     }
 
+    /**
+     * Evaluates a {@link Foldable} expression right away if all of its inputs are constant.
+     * @param expression the initialized expression
+     * @param inputs the expressions it was initialized with
+     * @param <T> the return type of the expression
+     * @return an expression holding the values of the expression, or the expression itself if it couldn't be folded
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Expression<? extends T> fold(Expression<? extends T> expression, Expression<?>[] inputs) {
+        if (!(expression instanceof Foldable))
+            return expression;
+        for (var input : inputs) {
+            if (!Foldable.isConstant(input))
+                return expression;
+        }
+        if (!((Foldable) expression).canFold())
+            return expression;
+        T[] values;
+        try {
+            values = expression.getArray(TriggerContext.DUMMY);
+        } catch (RuntimeException e) {
+            // Let it fail at runtime like it always did
+            return expression;
+        }
+        var representation = expression.toString(TriggerContext.DUMMY, false);
+        if (expression instanceof ConditionalExpression) {
+            var value = values.length == 1 && Boolean.TRUE.equals(values[0]);
+            return (Expression<? extends T>) new ConstantCondition(value, representation);
+        }
+        return new ConstantExpression<>(
+                expression.getReturnType(),
+                values,
+                expression.isSingle(),
+                expression.isAndList(),
+                representation
+        );
+    }
+
     /**
      * Parses a list literal expression (of the form {@code ..., ... and ...}) from the given {@linkplain String}  and {@link PatternType expected return type}
      * @param <T> the type of the list literal
@@ -359,13 +412,14 @@ public class SyntaxParser {
         if (!s.contains(",") && !s.contains("and") && !s.contains("nor") && !s.contains("or"))
             return Optional.empty();
         List<String> parts = new ArrayList<>();
+        var input = getInput(s, parserState, logger);
         var m = LIST_SPLIT_PATTERN.matcher(s);
         var lastIndex = 0;
-        for (var i = 0; i < s.length(); i = StringUtils.nextSimpleCharacterIndex(s, i + 1)) {
+        for (var i = 0; i < s.length(); i = input.nextSimpleCharacterIndex(i + 1)) {
             if (i == -1) {
                 return Optional.empty();
-            } else if (StringUtils.nextSimpleCharacterIndex(s, i) > i) { // We are currently at the start of something we need to skip over
-                i = StringUtils.nextSimpleCharacterIndex(s, i) - 1;
+            } else if (input.nextSimpleCharacterIndex(i) > i) { // We are currently at the start of something we need to skip over
+                i = input.nextSimpleCharacterIndex(i) - 1;
                 continue;
             }
             var c = s.charAt(i);
@@ -380,11 +434,9 @@ public class SyntaxParser {
                     lastIndex = i;
                 }
             } else if (c == '(') {
-                var closing = StringUtils.getEnclosedText(s, '(', ')', i);
-                if (closing.isPresent()) {
-                    var finalI = i; // Lambdas require it
-                    i = closing.map(cl -> finalI + cl.length() + 1).orElse(i);
-                }
+                var closing = input.findClosingParenthesis(i);
+                if (closing != -1)
+                    i = closing;
             }
         }
         if (lastIndex < s.length() - 1)
@@ -447,6 +499,10 @@ public class SyntaxParser {
         }
     }
 
+    private static ParseInput getInput(String s, ParserState parserState, SkriptLogger logger) {
+        return parserState.getParseMemo(logger.getLine()).getInput(s);
+    }
+
     /**
      * Parses a literal of a given {@link PatternType type} from the given {@linkplain String}
      * @param <T> the type of the literal
@@ -459,24 +515,25 @@ public class SyntaxParser {
      * or for another reason detailed in an error message.
      */
     public static <T> Optional<? extends Expression<? extends T>> parseLiteral(String s, PatternType<T> expectedType, ParserState parserState, SkriptLogger logger) {
-        var classToTypeMap = TypeManager.getClassToTypeMap();
-        for (var c : classToTypeMap.keySet()) {
-            Class<? extends T> expectedClass = expectedType.getType().getTypeClass();
-            if (expectedClass.isAssignableFrom(c) || Converters.converterExists(c, expectedClass)) {
-                Optional<? extends Function<String, ?>> literalParser = classToTypeMap.get(c).getLiteralParser();
-                if (literalParser.isPresent()) {
-                    var literal = literalParser.map(l -> (T) l.apply(s));
-                    if (literal.isPresent() && expectedClass.isAssignableFrom(c)) {
-                        return Optional.of(new SimpleLiteral<>((Class<T>) literal.get().getClass(), literal.get()));
-                    } else if (literal.isPresent()) {
-                        return new SimpleLiteral<>((Class<T>) c, literal.get()).convertExpression(expectedType.getType().getTypeClass());
-                    }
-                } else if (expectedClass == String.class || c == String.class) {
-                    var vs = VariableString.newInstanceWithQuotes(s, parserState, logger)
-                            .map(v -> (Expression<? extends T>) v);
-                    if (vs.isPresent()) {
-                        return vs;
-                    }
+        Class<? extends T> expectedClass = expectedType.getType().getTypeClass();
+        var shape = LiteralShape.of(s);
+        for (var type : SyntaxManager.getSnapshot().getLiteralTypesCompatibleWith(expectedClass)) {
+            var c = type.getTypeClass();
+            Optional<? extends Function<String, ?>> literalParser = type.getLiteralParser();
+            if (literalParser.isPresent()) {
+                if (!type.acceptsLiteralShape(shape))
+                    continue;
+                var literal = literalParser.map(l -> (T) l.apply(s));
+                if (literal.isPresent() && expectedClass.isAssignableFrom(c)) {
+                    return Optional.of(new SimpleLiteral<>((Class<T>) literal.get().getClass(), literal.get()));
+                } else if (literal.isPresent()) {
+                    return new SimpleLiteral<>((Class<T>) c, literal.get()).convertExpression(expectedType.getType().getTypeClass());
+                }
+            } else if (shape == LiteralShape.QUOTED) { // Only string literals are left, which are always quoted
+                var vs = VariableString.newInstanceWithQuotes(s, parserState, logger)
+                        .map(v -> (Expression<? extends T>) v);
+                if (vs.isPresent()) {
+                    return vs;
                 }
             }
         }
@@ -496,15 +553,18 @@ public class SyntaxParser {
         if (s.isEmpty())
             return Optional.empty();
 
-        for (var recentEffect : recentEffects.mergeWith(SyntaxManager.getEffects())) {
+        var rankingContext = rankingContext(Effect.class, null, parserState);
+        var candidates = order(parserState, Kind.EFFECT, s, null, logger, parserState.getRankings().getSyntaxes().rank(rankingContext, SyntaxManager.getEffectCandidates(s)));
+        for (var recentEffect : candidates) {
             var eff = matchEffectInfo(s, recentEffect, parserState, logger);
             if (eff.isPresent()) {
                 if (parserState.forbidsSyntax(eff.get().getClass())) {
                     logger.setContext(ErrorContext.RESTRICTED_SYNTAXES);
-                    logger.error("The enclosing section does not allow the use of this effect: " + eff.get().toString(TriggerContext.DUMMY, logger.isDebug()), ErrorType.SEMANTIC_ERROR);
+                    logger.error(() -> "The enclosing section does not allow the use of this effect: " + eff.get().toString(TriggerContext.DUMMY, logger.isDebug()), ErrorType.SEMANTIC_ERROR);
                     return Optional.empty();
                 }
-                recentEffects.acknowledge(recentEffect);
+                parserState.getRankings().getSyntaxes().acknowledge(rankingContext, recentEffect);
+                recordMatch(parserState, Kind.EFFECT, s, null, recentEffect, logger);
                 logger.clearErrors();
                 return eff;
             }
@@ -512,33 +572,40 @@ public class SyntaxParser {
         }
 
         logger.setContext(ErrorContext.NO_MATCH);
-        logger.error("No effect matching '" + s + "' was found", ErrorType.NO_MATCH);
+        logger.error(() -> "No effect matching '" + s + "' was found", ErrorType.NO_MATCH);
         return Optional.empty();
     }
 
     private static Optional<? extends Effect> matchEffectInfo(String s, SyntaxInfo<? extends Effect> info, ParserState parserState, SkriptLogger logger) {
+        var profiler = ParseProfiler.getActive();
+        return profiler == null
+                ? matchEffectPatterns(s, info, parserState, logger)
+                : profiler.profile(info, logger, () -> matchEffectPatterns(s, info, parserState, logger));
+    }
+
+    private static Optional<? extends Effect> matchEffectPatterns(String s, SyntaxInfo<? extends Effect> info, ParserState parserState, SkriptLogger logger) {
         var patterns = info.getPatterns();
-        for (var i = 0; i < patterns.size(); i++) {
+        var first = getFirstPattern(parserState.getParsePlan(), Kind.EFFECT, s, null, info, logger);
+        for (var n = 0; n < patterns.size(); n++) {
+            var i = getPattern(first, n);
             var element = patterns.get(i);
             logger.setContext(ErrorContext.MATCHING);
             var parser = new MatchContext(element, parserState, logger);
             if (element.match(s, 0, parser) == s.length()) {
-                try {
-                    var eff = info.getSyntaxClass()
-                            .getDeclaredConstructor()
-                            .newInstance();
-                    logger.setContext(ErrorContext.INITIALIZATION);
-                    if (!eff.init(
-                            parser.getParsedExpressions().toArray(new Expression[0]),
-                            i,
-                            parser.toParseResult()
-                    )) {
-                        continue;
-                    }
-                    return Optional.of(eff);
-                } catch (InstantiationException | IllegalAccessException | NoSuchMethodException | InvocationTargetException e) {
-                    logger.error("Couldn't instantiate class " + info.getSyntaxClass(), ErrorType.EXCEPTION);
+                var eff = instantiate(info, logger);
+                if (eff == null)
+                    continue;
+                logger.setContext(ErrorContext.INITIALIZATION);
+                if (!eff.init(
+                        parser.getParsedExpressions().toArray(new Expression[0]),
+                        i,
+                        parser.toParseResult()
+                )) {
+                    ParseProfiler.recordRejection();
+                    continue;
                 }
+                parserState.setMatchedPattern(i);
+                return Optional.of(eff);
             }
         }
         return Optional.empty();
@@ -557,15 +624,22 @@ public class SyntaxParser {
         if (content.isEmpty())
             return Optional.empty();
 
-        for (var toParse : recentSections.mergeWith(SyntaxManager.getSections())) {
+        var rankingContext = rankingContext(CodeSection.class, null, parserState);
+        var candidates = order(parserState, Kind.SECTION, content, null, logger, parserState.getRankings().getSyntaxes().rank(rankingContext, SyntaxManager.getSectionCandidates(content)));
+        for (var toParse : candidates) {
+            // The line is recorded before the contents of the section are loaded, which changes it
+            var line = logger.getLine();
             var sec = matchSectionInfo(section, toParse, parserState, logger);
             if (sec.isPresent()) {
                 if (parserState.forbidsSyntax(sec.get().getClass())) {
                     logger.setContext(ErrorContext.RESTRICTED_SYNTAXES);
-                    logger.error("The enclosing section does not allow the use of this section: " + sec.get().toString(TriggerContext.DUMMY, logger.isDebug()), ErrorType.SEMANTIC_ERROR);
+                    logger.error(() -> "The enclosing section does not allow the use of this section: " + sec.get().toString(TriggerContext.DUMMY, logger.isDebug()), ErrorType.SEMANTIC_ERROR);
                     return Optional.empty();
                 }
-                recentSections.acknowledge(toParse);
+                parserState.getRankings().getSyntaxes().acknowledge(rankingContext, toParse);
+                var plan = parserState.getParsePlan();
+                if (plan != null)
+                    plan.record(Kind.SECTION, line, content, null, toParse, parserState.getMatchedPattern());
                 logger.clearErrors();
                 return sec;
             }
@@ -573,35 +647,42 @@ public class SyntaxParser {
         }
 
         logger.setContext(ErrorContext.NO_MATCH);
-        logger.error("No section matching '" + content + "' was found", ErrorType.NO_MATCH);
+        logger.error(() -> "No section matching '" + content + "' was found", ErrorType.NO_MATCH);
         return Optional.empty();
     }
 
     private static Optional<? extends CodeSection> matchSectionInfo(FileSection section, SyntaxInfo<? extends CodeSection> info, ParserState parserState, SkriptLogger logger) {
+        var profiler = ParseProfiler.getActive();
+        return profiler == null
+                ? matchSectionPatterns(section, info, parserState, logger)
+                : profiler.profile(info, logger, () -> matchSectionPatterns(section, info, parserState, logger));
+    }
+
+    private static Optional<? extends CodeSection> matchSectionPatterns(FileSection section, SyntaxInfo<? extends CodeSection> info, ParserState parserState, SkriptLogger logger) {
         var patterns = info.getPatterns();
-        for (var i = 0; i < patterns.size(); i++) {
+        var first = getFirstPattern(parserState.getParsePlan(), Kind.SECTION, section.getLineContent(), null, info, logger);
+        for (var n = 0; n < patterns.size(); n++) {
+            var i = getPattern(first, n);
             var element = patterns.get(i);
             logger.setContext(ErrorContext.MATCHING);
             var parser = new MatchContext(element, parserState, logger);
             if (element.match(section.getLineContent(), 0, parser) != -1) {
-                try {
-                    var sec = info.getSyntaxClass()
-                            .getDeclaredConstructor()
-                            .newInstance();
-                    logger.setContext(ErrorContext.INITIALIZATION);
-                    if (!sec.init(
-                            parser.getParsedExpressions().toArray(Expression[]::new),
-                            i,
-                            parser.toParseResult())) {
-                        continue;
-                    }
-                    if (!sec.loadSection(section, parserState, logger)) {
-                        continue;
-                    }
-                    return Optional.of(sec);
-                } catch (InstantiationException | IllegalAccessException | NoSuchMethodException | InvocationTargetException e) {
-                    logger.error("Couldn't instantiate class " + info.getSyntaxClass(), ErrorType.EXCEPTION);
+                var sec = instantiate(info, logger);
+                if (sec == null)
+                    continue;
+                logger.setContext(ErrorContext.INITIALIZATION);
+                if (!sec.init(
+                        parser.getParsedExpressions().toArray(Expression[]::new),
+                        i,
+                        parser.toParseResult())) {
+                    ParseProfiler.recordRejection();
+                    continue;
+                }
+                if (!sec.loadSection(section, parserState, logger)) {
+                    continue;
                 }
+                parserState.setMatchedPattern(i);
+                return Optional.of(sec);
             }
         }
         return Optional.empty();
@@ -616,12 +697,46 @@ public class SyntaxParser {
      * or for another reason detailed in an error message
      */
     public static Optional<? extends UnloadedTrigger> parseTrigger(FileSection section, SkriptLogger logger) {
+        return parseTrigger(section, null, logger);
+    }
+
+    /**
+     * Parses a section of a file as a {@link Trigger}, following the given {@link ParsePlan}
+     * @param section the section to be parsed
+     * @param plan the plan of the script being parsed, which will also be used by the parser state of the trigger
+     * @param logger the logger
+     * @return a trigger that was successfully parsed, or {@literal null} if the section is empty,
+     * no match was found
+     * or for another reason detailed in an error message
+     */
+    public static Optional<? extends UnloadedTrigger> parseTrigger(FileSection section, @Nullable ParsePlan plan, SkriptLogger logger) {
+        return parseTrigger(section, plan, new ParseRankings(), logger);
+    }
+
+    /**
+     * Parses a section of a file as a {@link Trigger}, following the given {@link ParsePlan}
+     * @param section the section to be parsed
+     * @param plan the plan of the script being parsed, which will also be used by the parser state of the trigger
+     * @param rankings the rankings of the script being parsed, which will also be used by the parser state of the trigger
+     * @param logger the logger
+     * @return a trigger that was successfully parsed, or {@literal null} if the section is empty,
+     * no match was found
+     * or for another reason detailed in an error message
+     */
+    public static Optional<? extends UnloadedTrigger> parseTrigger(FileSection section,
+                                                                   @Nullable ParsePlan plan,
+                                                                   ParseRankings rankings,
+                                                                   SkriptLogger logger) {
         if (section.getLineContent().isEmpty())
             return Optional.empty();
-        for (var info : recentEvents.mergeWith(SyntaxManager.getTriggers())) {
-            var trigger = matchEventInfo(section, info, logger);
+        var content = section.getLineContent();
+        var candidates = rankings.getSyntaxes().rank(TRIGGER_RANKING_CONTEXT, SyntaxManager.getTriggerCandidates(content));
+        if (plan != null)
+            candidates = plan.order(Kind.TRIGGER, logger.getLine(), content, null, candidates);
+        for (var info : candidates) {
+            var trigger = matchEventInfo(section, info, plan, rankings, logger);
             if (trigger.isPresent()) {
-                recentEvents.acknowledge(info);
+                rankings.getSyntaxes().acknowledge(TRIGGER_RANKING_CONTEXT, info);
                 logger.clearErrors();
                 return trigger;
             }
@@ -629,41 +744,141 @@ public class SyntaxParser {
         }
 
         logger.setContext(ErrorContext.NO_MATCH);
-        logger.error("No trigger matching '" + section.getLineContent() + "' was found", ErrorType.NO_MATCH);
+        logger.error(() -> "No trigger matching '" + section.getLineContent() + "' was found", ErrorType.NO_MATCH);
         return Optional.empty();
     }
 
-    private static Optional<? extends UnloadedTrigger> matchEventInfo(FileSection section, SkriptEventInfo<?> info, SkriptLogger logger) {
+    private static Optional<? extends UnloadedTrigger> matchEventInfo(FileSection section,
+                                                                      SkriptEventInfo<?> info,
+                                                                      @Nullable ParsePlan plan,
+                                                                      ParseRankings rankings,
+                                                                      SkriptLogger logger) {
+        var profiler = ParseProfiler.getActive();
+        return profiler == null
+                ? matchEventPatterns(section, info, plan, rankings, logger)
+                : profiler.profile(info, logger, () -> matchEventPatterns(section, info, plan, rankings, logger));
+    }
+
+    private static Optional<? extends UnloadedTrigger> matchEventPatterns(FileSection section,
+                                                                          SkriptEventInfo<?> info,
+                                                                          @Nullable ParsePlan plan,
+                                                                          ParseRankings rankings,
+                                                                          SkriptLogger logger) {
         var patterns = info.getPatterns();
-        for (var i = 0; i < patterns.size(); i++) {
+        var first = getFirstPattern(plan, Kind.TRIGGER, section.getLineContent(), null, info, logger);
+        for (var n = 0; n < patterns.size(); n++) {
+            var i = getPattern(first, n);
             var element = patterns.get(i);
             var parserState = new ParserState();
+            parserState.setParsePlan(plan);
+            parserState.setRankings(rankings);
             logger.setContext(ErrorContext.MATCHING);
             var parser = new MatchContext(element, parserState, logger);
             if (element.match(section.getLineContent(), 0, parser) != -1) {
-                try {
-                    var event = info.getSyntaxClass()
-                            .getDeclaredConstructor()
-                            .newInstance();
-                    logger.setContext(ErrorContext.INITIALIZATION);
-                    if (!event.init(
-                            parser.getParsedExpressions().toArray(new Expression[0]),
-                            i,
-                            parser.toParseResult()
-                    )) {
-                        continue;
-                    }
-                    var trig = new Trigger(event);
-                    parserState.setCurrentContexts(info.getContexts());
-                    /*
-                     * We don't actually load the trigger here, that will be left to the loading priority system
-                     */
-                    return Optional.of(new UnloadedTrigger(trig, section, logger.getLine(), info, parserState));
-                } catch (InstantiationException | IllegalAccessException | NoSuchMethodException | InvocationTargetException e) {
-                    logger.error("Couldn't instantiate class " + info.getSyntaxClass(), ErrorType.EXCEPTION);
+                var event = instantiate(info, logger);
+                if (event == null)
+                    continue;
+                logger.setContext(ErrorContext.INITIALIZATION);
+                if (!event.init(
+                        parser.getParsedExpressions().toArray(new Expression[0]),
+                        i,
+                        parser.toParseResult()
+                )) {
+                    ParseProfiler.recordRejection();
+                    continue;
                 }
+                var trig = new Trigger(event);
+                parserState.setCurrentContexts(info.getContexts());
+                record(plan, Kind.TRIGGER, section.getLineContent(), null, info, i, logger);
+                /*
+                 * We don't actually load the trigger here, that will be left to the loading priority system
+                 */
+                return Optional.of(new UnloadedTrigger(trig, section, logger.getLine(), info, parserState));
             }
         }
         return Optional.empty();
     }
+
+    private static <I extends SyntaxInfo<?>> List<I> order(ParserState parserState,
+                                                           Kind kind,
+                                                           String s,
+                                                           @Nullable PatternType<?> expectedType,
+                                                           SkriptLogger logger,
+                                                           List<I> candidates) {
+        var plan = parserState.getParsePlan();
+        return plan != null ? plan.order(kind, logger.getLine(), s, expectedType, candidates) : candidates;
+    }
+
+    private static RankingContext rankingContext(Class<? extends SyntaxElement> syntaxType,
+                                                 @Nullable PatternType<?> expectedType,
+                                                 ParserState parserState) {
+        var section = parserState.getCurrentSection();
+        return new RankingContext(
+                syntaxType,
+                expectedType != null ? expectedType.getType().getTypeClass() : null,
+                section != null ? section.getClass() : null
+        );
+    }
+
+    private static int getFirstPattern(@Nullable ParsePlan plan,
+                                       Kind kind,
+                                       String s,
+                                       @Nullable PatternType<?> expectedType,
+                                       SyntaxInfo<?> info,
+                                       SkriptLogger logger) {
+        return plan != null ? plan.getFirstPattern(kind, logger.getLine(), s, expectedType, info) : 0;
+    }
+
+    /*
+     * The index of the nth pattern to try, when the one the plan remembers is tried first and all the other ones follow
+     * in their usual order
+     */
+    private static int getPattern(int first, int n) {
+        if (n == 0) {
+            return first;
+        } else {
+            return n <= first ? n - 1 : n;
+        }
+    }
+
+    private static void record(@Nullable ParsePlan plan,
+                               Kind kind,
+                               String s,
+                               @Nullable PatternType<?> expectedType,
+                               SyntaxInfo<?> info,
+                               int pattern,
+                               SkriptLogger logger) {
+        if (plan != null)
+            plan.record(kind, logger.getLine(), s, expectedType, info, pattern);
+    }
+
+    /*
+     * Records the pattern the syntax matched with, once the caller accepted it
+     */
+    private static void recordMatch(ParserState parserState,
+                                    Kind kind,
+                                    String s,
+                                    @Nullable PatternType<?> expectedType,
+                                    SyntaxInfo<?> info,
+                                    SkriptLogger logger) {
+        record(parserState.getParsePlan(), kind, s, expectedType, info, parserState.getMatchedPattern(), logger);
+    }
+
+    /**
+     * Creates a new instance of the syntax described by the given info, logging an error if that's not possible.
+     *
+     * @param info the info of the syntax
+     * @param logger the logger
+     * @param <C> the syntax class
+     * @return the new instance, or {@literal null} if it couldn't be created
+     */
+    @Nullable
+    static <C> C instantiate(SyntaxInfo<C> info, SkriptLogger logger) {
+        try {
+            return info.newInstance();
+        } catch (SkriptParserException e) {
+            logger.error("Couldn't instantiate class " + info.getSyntaxClass(), ErrorType.EXCEPTION);
+            return null;
+        }
+    }
 }
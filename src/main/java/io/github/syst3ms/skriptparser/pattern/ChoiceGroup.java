@@ -45,11 +45,11 @@ public class ChoiceGroup implements PatternElement {
             var branch = context.branch(choice.getElement());
             var m = choice.getElement().match(s, index, branch);
             if (m != -1) {
-                context.merge(branch);
                 if (choice.getMark() != null)
                     context.addMark(choice.getMark());
                 return m;
             }
+            branch.rollback();
         }
         return -1;
     }
@@ -1,18 +1,39 @@
 package io.github.syst3ms.skriptparser.pattern;
 
 import io.github.syst3ms.skriptparser.parsing.MatchContext;
+import io.github.syst3ms.skriptparser.parsing.ParseInput;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Multiple {@link PatternElement}s put together in order.
  */
 public class CompoundElement implements PatternElement {
     private final List<PatternElement> elements;
+    // Everything below only depends on the elements, so it is computed once instead of on every match
+    private final List<String> keywords;
+    private final String[] requiredKeywords;
+    private final List<List<PatternElement>> possibleInputs;
 
     public CompoundElement(List<PatternElement> elements) {
         this.elements = elements;
+        this.keywords = elements.stream()
+                .filter(el -> el instanceof TextElement)
+                .map(el -> ((TextElement) el).getText().strip().toLowerCase())
+                .collect(Collectors.toUnmodifiableList());
+        this.requiredKeywords = keywords.stream()
+                .filter(k -> !k.isEmpty())
+                .map(ParseInput::fold)
+                .distinct()
+                .toArray(String[]::new);
+        var possibleInputs = new ArrayList<List<PatternElement>>(elements.size());
+        for (var i = 0; i < elements.size(); i++) {
+            possibleInputs.add(List.copyOf(PatternElement.getPossibleInputs(elements.subList(i + 1, elements.size()))));
+        }
+        this.possibleInputs = possibleInputs;
     }
 
     /**
@@ -26,6 +47,23 @@ public class CompoundElement implements PatternElement {
         return elements;
     }
 
+    /**
+     * @return the keywords of this element
+     * @see PatternElement#getKeywords(PatternElement)
+     */
+    List<String> getKeywords() {
+        return keywords;
+    }
+
+    /**
+     * @param index the index of an element
+     * @return the possible inputs after the element at that index
+     * @see PatternElement#getPossibleInputsAfter(PatternElement, int)
+     */
+    List<PatternElement> getPossibleInputsAfter(int index) {
+        return possibleInputs.get(index);
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj)
@@ -41,9 +79,9 @@ public class CompoundElement implements PatternElement {
     @Override
     public int match(String s, int index, MatchContext context) {
         // Keywords - makes matching remarkably faster in almost all cases
-        var toCheck = s.substring(index).toLowerCase();
-        for (var keyword : PatternElement.getKeywords(this)) {
-            if (!toCheck.contains(keyword))
+        var input = context.getInput(s);
+        for (var keyword : requiredKeywords) {
+            if (input.indexOf(keyword, index) == -1)
                 return -1;
         }
 
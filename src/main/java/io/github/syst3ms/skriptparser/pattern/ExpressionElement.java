@@ -7,11 +7,12 @@ import io.github.syst3ms.skriptparser.lang.base.ConditionalExpression;
 import io.github.syst3ms.skriptparser.log.ErrorType;
 import io.github.syst3ms.skriptparser.log.SkriptLogger;
 import io.github.syst3ms.skriptparser.parsing.MatchContext;
+import io.github.syst3ms.skriptparser.parsing.ParseInput;
+import io.github.syst3ms.skriptparser.parsing.ParseProfiler;
 import io.github.syst3ms.skriptparser.parsing.ParserState;
 import io.github.syst3ms.skriptparser.parsing.SyntaxParser;
 import io.github.syst3ms.skriptparser.types.PatternType;
 import io.github.syst3ms.skriptparser.util.ClassUtils;
-import io.github.syst3ms.skriptparser.util.StringUtils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -33,12 +34,14 @@ import java.util.Optional;
  */
 public class ExpressionElement implements PatternElement {
     private final List<PatternType<?>> types;
+    private final PatternType<?>[] typeArray;
     private final Acceptance acceptance;
     private final boolean nullable;
     private final boolean acceptsConditional;
 
     public ExpressionElement(List<PatternType<?>> types, Acceptance acceptance, boolean nullable, boolean acceptsConditional) {
         this.types = types;
+        this.typeArray = types.toArray(new PatternType<?>[0]);
         this.acceptance = acceptance;
         this.nullable = nullable;
         this.acceptsConditional = acceptsConditional;
@@ -46,21 +49,21 @@ public class ExpressionElement implements PatternElement {
 
     @Override
     public int match(String s, int index, MatchContext context) {
-        var typeArray = types.toArray(new PatternType<?>[0]);
         if (index >= s.length()) {
             return -1;
         }
         var logger = context.getLogger();
+        var input = context.getInput(s);
         var source = context.getSource();
         var possibilityIndex = context.getPatternIndex();
-        var flattened = PatternElement.flatten(context.getOriginalElement());
-        while (source.isPresent() && possibilityIndex + 1 >= flattened.size()) {
-            flattened = PatternElement.flatten(source.get().getOriginalElement());
+        var owner = context.getOriginalElement();
+        while (source.isPresent() && possibilityIndex + 1 >= PatternElement.getFlattenedSize(owner)) {
+            owner = source.get().getOriginalElement();
             possibilityIndex = source.get().getPatternIndex();
             source = source.get().getSource();
         }
         // We look at what could possibly be after the expression in the current syntax
-        var possibleInputs = PatternElement.getPossibleInputs(flattened.subList(possibilityIndex + 1, flattened.size()));
+        var possibleInputs = PatternElement.getPossibleInputsAfter(owner, possibilityIndex);
         for (var possibleInput : possibleInputs) {  // We iterate over those possibilities
             if (possibleInput instanceof TextElement) {
                 var text = ((TextElement) possibleInput).getText();
@@ -78,7 +81,8 @@ public class ExpressionElement implements PatternElement {
                     }
                     return -1;
                 }
-                var i = StringUtils.indexOfIgnoreCase(s, text, index);
+                var folded = ((TextElement) possibleInput).getFoldedText();
+                var i = input.indexOf(folded, index);
                 while (i != -1) {
                     var toParse = s.substring(index, i).strip();
                     var expression = parse(toParse, typeArray, context.getParserState(), logger);
@@ -86,7 +90,7 @@ public class ExpressionElement implements PatternElement {
                         context.addExpression(expression.get());
                         return index + toParse.length();
                     }
-                    i = StringUtils.indexOfIgnoreCase(s, text, i + 1);
+                    i = input.indexOf(folded, i + 1);
                 }
             } else if (possibleInput instanceof RegexGroup) {
                 var m = ((RegexGroup) possibleInput).getPattern().matcher(s).region(index, s.length());
@@ -106,17 +110,16 @@ public class ExpressionElement implements PatternElement {
                 }
             } else {
                 assert possibleInput instanceof ExpressionElement;
-                var nextPossibleInputs = PatternElement.getPossibleInputs(flattened.subList(context.getPatternIndex() + 1, flattened.size()));
-                if (nextPossibleInputs.stream().anyMatch(pe -> !(pe instanceof TextElement))) {
+                var nextPossibleInputs = PatternElement.getPossibleInputsAfter(owner, context.getPatternIndex());
+                if (!onlyText(nextPossibleInputs)) {
                     continue;
                 }
                 for (var nextPossibleInput : nextPossibleInputs) {
                     var text = ((TextElement) nextPossibleInput).getText();
                     if (text.equals("")) {
-                        var rest = s.substring(index);
-                        var splits = splitAtSpaces(rest);
+                        var splits = splitAtSpaces(input, index, s.length());
                         for (var split : splits) {
-                            var i = StringUtils.indexOfIgnoreCase(s, split, index);
+                            var i = input.indexOf(ParseInput.fold(split), index);
                             if (i != -1) {
                                 var toParse = s.substring(index, i);
                                 var expression = parse(toParse, typeArray, context.getParserState(), logger);
@@ -128,14 +131,13 @@ public class ExpressionElement implements PatternElement {
                         }
                         return -1;
                     } else {
-                        var bound = StringUtils.indexOfIgnoreCase(s, text, index);
+                        var bound = input.indexOf(((TextElement) nextPossibleInput).getFoldedText(), index);
                         if (bound == -1) {
                             continue;
                         }
-                        var rest = s.substring(index, bound);
-                        var splits = splitAtSpaces(rest);
+                        var splits = splitAtSpaces(input, index, bound);
                         for (var split : splits) {
-                            var i = StringUtils.indexOfIgnoreCase(s, split, index);
+                            var i = input.indexOf(ParseInput.fold(split), index);
                             if (i != -1) {
                                 var toParse = s.substring(index, i);
                                 var expression = parse(toParse, typeArray, context.getParserState(), logger);
@@ -152,22 +154,33 @@ public class ExpressionElement implements PatternElement {
         return -1;
     }
 
-    private List<String> splitAtSpaces(String s) {
+    private static boolean onlyText(List<PatternElement> elements) {
+        for (var element : elements) {
+            if (!(element instanceof TextElement))
+                return false;
+        }
+        return true;
+    }
+
+    private List<String> splitAtSpaces(ParseInput input, int start, int end) {
+        var s = input.getString();
         List<String> split = new ArrayList<>();
         var sb = new StringBuilder();
-        var charArray = s.toCharArray();
-        for (var i = 0; i < charArray.length; i++) {
-            var c = charArray[i];
+        for (var i = start; i < end; i++) {
+            var c = s.charAt(i);
             if (c == ' ') {
                 if (sb.length() > 0) {
                     split.add(sb.toString());
                     sb.setLength(0);
                 }
             } else if (c == '(') {
-                var enclosed = StringUtils.getEnclosedText(s, '(', ')', i)
-                        .map(en -> "(" + en + ")");
-                sb.append(enclosed.orElse("("));
-                i += enclosed.map(s1 -> s1.length() + 1).orElse(0);
+                var closing = input.findClosingParenthesis(i);
+                if (closing != -1 && closing < end) {
+                    sb.append(s, i, closing + 1);
+                    i = closing + 2;
+                } else {
+                    sb.append(c);
+                }
             } else {
                 sb.append(c);
             }
@@ -180,19 +193,24 @@ public class ExpressionElement implements PatternElement {
 
     @SuppressWarnings("unchecked")
     private <T> Optional<? extends Expression<? extends T>> parse(String s, PatternType<?>[] types, ParserState parserState, SkriptLogger logger) {
+        ParseProfiler.recordSplit();
         for (var type : types) {
             Optional<? extends Expression<? extends T>> expression;
             logger.recurse();
+            var memo = parserState.getParseMemo(logger.getLine());
             if (type.equals(SyntaxParser.BOOLEAN_PATTERN_TYPE)) {
                 // NOTE : conditions call parseBooleanExpression straight away
-                expression = (Optional<? extends Expression<? extends T>>) SyntaxParser.parseBooleanExpression(
-                        s,
-                        acceptsConditional ? SyntaxParser.MAYBE_CONDITIONAL : SyntaxParser.NOT_CONDITIONAL,
-                        parserState,
-                        logger
+                expression = memo.parse(s, type, acceptsConditional, logger, () ->
+                        (Optional<? extends Expression<? extends T>>) SyntaxParser.parseBooleanExpression(
+                                s,
+                                acceptsConditional ? SyntaxParser.MAYBE_CONDITIONAL : SyntaxParser.NOT_CONDITIONAL,
+                                parserState,
+                                logger
+                        )
                 );
             } else {
-                expression = SyntaxParser.parseExpression(s, (PatternType<T>) type, parserState, logger);
+                expression = memo.parse(s, type, false, logger, () ->
+                        SyntaxParser.parseExpression(s, (PatternType<T>) type, parserState, logger));
             }
             logger.callback();
             if (expression.isEmpty())
@@ -203,19 +221,19 @@ public class ExpressionElement implements PatternElement {
                         break;
                     case EXPRESSIONS_ONLY:
                         if (Literal.isLiteral(e)) {
-                            logger.error("Only expressions are allowed, found literal " + s, ErrorType.SEMANTIC_ERROR);
+                            logger.error(() -> "Only expressions are allowed, found literal " + s, ErrorType.SEMANTIC_ERROR);
                             return false;
                         }
                         break;
                     case LITERALS_ONLY:
                         if (!Literal.isLiteral(e)) {
-                            logger.error("Only literals are allowed, found expression " + s, ErrorType.SEMANTIC_ERROR);
+                            logger.error(() -> "Only literals are allowed, found expression " + s, ErrorType.SEMANTIC_ERROR);
                             return false;
                         }
                         break;
                     case VARIABLES_ONLY:
                         if (!(e instanceof Variable)) {
-                            logger.error("Only variables are allowed, found " + s, ErrorType.SEMANTIC_ERROR);
+                            logger.error(() -> "Only variables are allowed, found " + s, ErrorType.SEMANTIC_ERROR);
                             return false;
                         }
                         break;
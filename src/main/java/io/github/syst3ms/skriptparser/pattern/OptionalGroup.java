@@ -32,7 +32,6 @@ public class OptionalGroup implements PatternElement {
     public int match(String s, int index, MatchContext context) {
         var branch = context.branch(element);
         var m = element.match(s, index, branch);
-        context.merge(branch);
         return m != -1 ? m : index;
     }
 
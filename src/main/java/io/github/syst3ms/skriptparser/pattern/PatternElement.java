@@ -22,6 +22,11 @@ public interface PatternElement {
      */
     int match(String s, int index, MatchContext context);
 
+    /**
+     * The possible inputs at the very end of a pattern, where only the end of the line can follow
+     */
+    List<PatternElement> END_OF_LINE = List.of(new TextElement("\0"));
+
     static List<PatternElement> flatten(PatternElement element) {
         if (element instanceof CompoundElement) {
             return ((CompoundElement) element).getElements();
@@ -37,12 +42,41 @@ public interface PatternElement {
      * @return the always-present text elements of this pattern
      */
     static List<String> getKeywords(PatternElement element) {
+        if (element instanceof CompoundElement)
+            return ((CompoundElement) element).getKeywords();
         return flatten(element).stream()
                 .filter(el -> el instanceof TextElement)
                 .map(el -> ((TextElement) el).getText().strip().toLowerCase())
                 .collect(Collectors.toList());
     }
 
+    /**
+     * @param element the element
+     * @return the amount of elements in {@link #flatten(PatternElement) the flattened version} of the element
+     */
+    static int getFlattenedSize(PatternElement element) {
+        return element instanceof CompoundElement ? ((CompoundElement) element).getElements().size() : 1;
+    }
+
+    /**
+     * Returns what could possibly come right after the element at the given index of
+     * {@link #flatten(PatternElement) the flattened version} of a pattern element. This is the same as calling
+     * {@link #getPossibleInputs(List)} on the remaining elements, except that the result was computed when the pattern
+     * was built, and is shared between all calls.
+     * @param element the element
+     * @param index the index of the element whose possible followers are looked up
+     * @return an unmodifiable list of the possible inputs after the given index
+     */
+    static List<PatternElement> getPossibleInputsAfter(PatternElement element, int index) {
+        if (element instanceof CompoundElement) {
+            return ((CompoundElement) element).getPossibleInputsAfter(index);
+        } else if (index == 0) {
+            return END_OF_LINE;
+        } else {
+            throw new IndexOutOfBoundsException(index);
+        }
+    }
+
     static List<PatternElement> getPossibleInputs(List<PatternElement> elements) {
         List<PatternElement> optionalPossibilities = new ArrayList<>(); // We generally want to get the non-optional ones out of the way first
         List<PatternElement> possibilities = new ArrayList<>();
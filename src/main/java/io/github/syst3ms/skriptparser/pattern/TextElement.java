@@ -1,6 +1,7 @@
 package io.github.syst3ms.skriptparser.pattern;
 
 import io.github.syst3ms.skriptparser.parsing.MatchContext;
+import io.github.syst3ms.skriptparser.parsing.ParseInput;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -8,15 +9,28 @@ import org.jetbrains.annotations.Nullable;
  */
 public class TextElement implements PatternElement {
     private final String text;
+    private final String stripped;
+    private final String folded;
+    private final String foldedStripped;
 
     public TextElement(String text) {
         this.text = text;
+        this.stripped = text.strip();
+        this.folded = ParseInput.fold(text);
+        this.foldedStripped = ParseInput.fold(stripped);
     }
 
     public String getText() {
         return text;
     }
 
+    /**
+     * @return the text, {@linkplain ParseInput#fold(String) case-folded}
+     */
+    String getFoldedText() {
+        return folded;
+    }
+
     @Override
     public boolean equals(@Nullable Object obj) {
         return obj instanceof TextElement && text.equalsIgnoreCase(((TextElement) obj).text);
@@ -32,14 +46,13 @@ public class TextElement implements PatternElement {
                 start++;
         }
         var end = 0;
-        var stripped = text.strip();
         // We advance until we reach the first non-whitespace character in s
         if (index + start + stripped.length() > s.length()) {
             return -1;
         }
         if (stripped.isEmpty()) {
             return index + start;
-        } else if (s.regionMatches(true, index + start, stripped, 0, stripped.length())) {
+        } else if (context.getInput(s).regionMatches(index + start, foldedStripped)) {
             if (Character.isWhitespace(text.charAt(text.length() - 1))) {
                 while (index + start + stripped.length() - end < s.length()
                         && Character.isWhitespace(s.charAt(index + start + stripped.length() - end))) {
@@ -4,6 +4,7 @@ import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import io.github.syst3ms.skriptparser.Parser;
 import io.github.syst3ms.skriptparser.structures.functions.FunctionParameter;
+import io.github.syst3ms.skriptparser.types.LiteralShape;
 import io.github.syst3ms.skriptparser.types.Type;
 import io.github.syst3ms.skriptparser.types.TypeManager;
 import io.github.syst3ms.skriptparser.types.changers.Arithmetic;
@@ -50,6 +51,7 @@ public class DefaultRegistration {
                     return null;
                 }
             })
+            .literalShapes(LiteralShape.NUMERIC)
             .name("Integer")
             .description("A whole number.")
             .since("1.0.0")
@@ -99,6 +101,7 @@ public class DefaultRegistration {
                     return null;
                 }
             })
+            .literalShapes(LiteralShape.NUMERIC)
             .arithmetic(new Arithmetic<Float, Float>() {
                 @Override
                 public Float difference(Float first, Float second) {
@@ -146,6 +149,7 @@ public class DefaultRegistration {
                     return null;
                 }
             })
+            .literalShapes(LiteralShape.NUMERIC)
             .arithmetic(new Arithmetic<Double, Double>() {
                 @Override
                 public Double difference(Double first, Double second) {
@@ -193,6 +197,7 @@ public class DefaultRegistration {
                     return null;
                 }
             })
+            .literalShapes(LiteralShape.NUMERIC)
             .toStringFunction(Object::toString)
             .arithmetic(new Arithmetic<Number, Number>() {
                 @Override
@@ -282,6 +287,7 @@ public class DefaultRegistration {
                     return null;
                 }
             })
+            .literalShapes(LiteralShape.WORD)
             .name("Boolean")
             .description("A boolean value, represented as 'true' or 'false'.")
             .since("1.0.0")
@@ -318,6 +324,7 @@ public class DefaultRegistration {
             .description("Represents a color.")
             .since("1.0.0")
             .literalParser(s -> Color.ofLiteral(s).orElse(null))
+            .literalShapes(LiteralShape.WORD)
             .toStringFunction(Color::toString)
             .serializer(new TypeSerializer<>() {
                 @Override
@@ -340,6 +347,7 @@ public class DefaultRegistration {
             .usage(DurationUtils.getUsage())
             .since("1.0.0")
             .literalParser(s -> DurationUtils.parseDuration(s).orElse(null))
+            .literalShapes(LiteralShape.NUMERIC, LiteralShape.WORD)
             .toStringFunction(DurationUtils::toStringDuration)
             .serializer(new TypeSerializer<>() {
                 @Override
@@ -419,6 +427,7 @@ public class DefaultRegistration {
             .description("A time, represented as a string in the format 'HH:mm:ss'.")
             .since("1.0.0")
             .literalParser(s -> Time.parse(s).orElse(null))
+            .literalShapes(LiteralShape.NUMERIC)
             .toStringFunction(Time::toString)
             .arithmetic(new Arithmetic<Time, Duration>() {
                 @Override
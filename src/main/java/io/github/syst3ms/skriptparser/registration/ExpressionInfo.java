@@ -9,6 +9,7 @@ import io.github.syst3ms.skriptparser.types.Type;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * A class containing info about an {@link Expression} syntax
@@ -28,6 +29,11 @@ public class ExpressionInfo<C, T> extends SyntaxInfo<C> {
         this.returnType = new PatternType<>(returnType, isSingle);
     }
 
+    public ExpressionInfo(SkriptAddon registerer, Class<C> c, Supplier<? extends C> factory, Type<T> returnType, boolean isSingle, int priority, List<PatternElement> patterns, Documentation documentation, Map<String, Object> data) {
+        super(registerer, c, factory, priority, patterns, documentation, data);
+        this.returnType = new PatternType<>(returnType, isSingle);
+    }
+
     public PatternType<T> getReturnType() {
         return returnType;
     }
@@ -0,0 +1,20 @@
+package io.github.syst3ms.skriptparser.registration;
+
+/**
+ * Declares that one of the patterns of an expression is an infix operator, that is, a pattern of the form
+ * {@code %type%[ ]<token>[ ]%type%}. Chains of such operators, like {@code 1 + 2 * 3 - 4}, are then parsed in a
+ * single pass using the precedence and associativity of each operator, instead of trying every occurrence of every
+ * operator as a split point.
+ *
+ * @param pattern the index of the pattern this operator corresponds to
+ * @param token the operator itself, like {@code +}
+ * @param precedence how tightly the operator binds, higher values binding tighter
+ * @param rightAssociative whether {@code a op b op c} means {@code a op (b op c)} rather than {@code (a op b) op c}
+ * @see SkriptRegistration.ExpressionRegistrar#infixOperator(int, String, int, boolean)
+ */
+public record InfixOperator(int pattern, String token, int precedence, boolean rightAssociative) {
+    /**
+     * The identifier under which the infix operators of an expression are stored in its {@link SyntaxInfo} data
+     */
+    public static final String OPERATORS_IDENTIFIER = "infixOperators";
+}
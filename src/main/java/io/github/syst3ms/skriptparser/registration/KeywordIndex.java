@@ -0,0 +1,112 @@
+package io.github.syst3ms.skriptparser.registration;
+
+import io.github.syst3ms.skriptparser.pattern.PatternElement;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * An inverted index from the mandatory keywords of syntax patterns to the syntaxes declaring them.
+ * <p>
+ * A pattern can only ever match a string containing every one of its {@linkplain PatternElement#getKeywords(PatternElement)
+ * keywords}, so every pattern is filed under one of them, its anchor. Looking up a string then only has to
+ * check whether each distinct anchor appears in it, instead of trying every registered syntax in turn.
+ * Syntaxes having a pattern without any keyword (for example {@code %number% %number%}) are always candidates.
+ * <p>
+ * The candidates are always returned in the order of the list the index was built from, so that
+ * {@link SyntaxManager#INFO_COMPARATOR priorities} are respected.
+ *
+ * @param <T> the type of {@link SyntaxInfo}
+ */
+public class KeywordIndex<T extends SyntaxInfo<?>> {
+    private final List<T> infos;
+    private final BitSet alwaysCandidates = new BitSet();
+    private final Map<String, List<IndexedPattern>> anchors = new HashMap<>();
+
+    /**
+     * @param infos the syntaxes to index, already in the order they should be tested in
+     */
+    public KeywordIndex(List<T> infos) {
+        this.infos = List.copyOf(infos);
+        for (var i = 0; i < this.infos.size(); i++) {
+            for (var pattern : this.infos.get(i).getPatterns()) {
+                var keywords = PatternElement.getKeywords(pattern).stream()
+                        .filter(k -> !k.isEmpty())
+                        .distinct()
+                        .toArray(String[]::new);
+                if (keywords.length == 0) {
+                    alwaysCandidates.set(i);
+                    continue;
+                }
+                // The longest keyword is usually the most selective one
+                var anchor = 0;
+                for (var j = 1; j < keywords.length; j++) {
+                    if (keywords[j].length() > keywords[anchor].length())
+                        anchor = j;
+                }
+                anchors.computeIfAbsent(keywords[anchor], __ -> new ArrayList<>())
+                        .add(new IndexedPattern(i, keywords));
+            }
+        }
+    }
+
+    /**
+     * Selects all syntaxes that could possibly match the given string, that is all syntaxes that have at least one
+     * pattern whose keywords are all contained in the string.
+     *
+     * @param s the string that is about to be parsed
+     * @return a new, mutable list of the candidate syntaxes, in the order of the indexed list
+     */
+    public List<T> getCandidates(String s) {
+        return getCandidates(s, __ -> true);
+    }
+
+    /**
+     * Like {@link #getCandidates(String)}, but only keeps the syntaxes matching the given filter.
+     *
+     * @param s the string that is about to be parsed
+     * @param filter the filter
+     * @return a new, mutable list of the candidate syntaxes, in the order of the indexed list
+     */
+    public List<T> getCandidates(String s, Predicate<? super T> filter) {
+        var lower = s.toLowerCase();
+        var selected = (BitSet) alwaysCandidates.clone();
+        for (var entry : anchors.entrySet()) {
+            if (!lower.contains(entry.getKey()))
+                continue;
+            for (var pattern : entry.getValue()) {
+                if (!selected.get(pattern.index) && pattern.isContainedIn(lower))
+                    selected.set(pattern.index);
+            }
+        }
+        List<T> candidates = new ArrayList<>(selected.cardinality());
+        for (var i = selected.nextSetBit(0); i >= 0; i = selected.nextSetBit(i + 1)) {
+            var info = infos.get(i);
+            if (filter.test(info))
+                candidates.add(info);
+        }
+        return candidates;
+    }
+
+    private static class IndexedPattern {
+        private final int index;
+        private final String[] keywords;
+
+        IndexedPattern(int index, String[] keywords) {
+            this.index = index;
+            this.keywords = keywords;
+        }
+
+        boolean isContainedIn(String lower) {
+            for (var keyword : keywords) {
+                if (!lower.contains(keyword))
+                    return false;
+            }
+            return true;
+        }
+    }
+}
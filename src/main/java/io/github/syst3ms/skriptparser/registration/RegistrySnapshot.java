@@ -0,0 +1,282 @@
+package io.github.syst3ms.skriptparser.registration;
+
+import io.github.syst3ms.skriptparser.lang.CodeSection;
+import io.github.syst3ms.skriptparser.lang.Effect;
+import io.github.syst3ms.skriptparser.pattern.ExpressionElement;
+import io.github.syst3ms.skriptparser.pattern.PatternElement;
+import io.github.syst3ms.skriptparser.types.LiteralShape;
+import io.github.syst3ms.skriptparser.types.Type;
+import io.github.syst3ms.skriptparser.types.conversions.Converters;
+import io.github.syst3ms.skriptparser.util.FileUtils;
+import io.github.syst3ms.skriptparser.util.Pair;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * An immutable view of all syntaxes registered at a given moment, published by {@link SyntaxManager} every time
+ * a {@link SkriptRegistration} is registered. Everything the parser and the runtime look up is computed once here:
+ * the syntaxes of each kind sorted in parsing order, their {@linkplain KeywordIndex keyword indices},
+ * expressions grouped by return type along with which of these types can be converted to which,
+ * the types whose literals can be used for each expected type, the declared {@linkplain InfixOperator infix operators}
+ * and a class to {@link ExpressionInfo} lookup.
+ * <p>
+ * Since a snapshot never changes, it can be freely shared between threads. Late registrations don't affect it,
+ * they publish a new snapshot instead.
+ */
+public class RegistrySnapshot {
+    static final RegistrySnapshot EMPTY = new RegistrySnapshot(List.of(), List.of(), List.of(), List.of(), List.of());
+
+    private final List<ExpressionInfo<?, ?>> expressions;
+    private final List<SyntaxInfo<? extends Effect>> effects;
+    private final List<SyntaxInfo<? extends CodeSection>> sections;
+    private final List<SkriptEventInfo<?>> triggers;
+    private final KeywordIndex<ExpressionInfo<?, ?>> expressionIndex;
+    private final KeywordIndex<SyntaxInfo<? extends Effect>> effectIndex;
+    private final KeywordIndex<SyntaxInfo<? extends CodeSection>> sectionIndex;
+    private final KeywordIndex<SkriptEventInfo<?>> triggerIndex;
+    private final Map<Class<?>, List<ExpressionInfo<?, ?>>> expressionsByReturnType;
+    private final ClassValue<Optional<ExpressionInfo<?, ?>>> expressionsBySyntaxClass;
+    private final ClassValue<Set<Class<?>>> compatibleReturnTypes;
+    private final ClassValue<List<Type<?>>> literalTypes;
+    private final List<Pair<ExpressionInfo<?, ?>, InfixOperator>> infixOperators;
+    private final String infixOperatorStarts;
+    private final List<Type<?>> types;
+    // Computed lazily, see getFingerprint()
+    @Nullable
+    private volatile String fingerprint;
+
+    /**
+     * All syntax lists must already be sorted using {@link SyntaxManager#INFO_COMPARATOR}.
+     * Types must be in registration order.
+     */
+    RegistrySnapshot(List<ExpressionInfo<?, ?>> expressions,
+                     List<SyntaxInfo<? extends Effect>> effects,
+                     List<SyntaxInfo<? extends CodeSection>> sections,
+                     List<SkriptEventInfo<?>> triggers,
+                     List<Type<?>> types) {
+        this.expressions = List.copyOf(expressions);
+        this.effects = List.copyOf(effects);
+        this.sections = List.copyOf(sections);
+        this.triggers = List.copyOf(triggers);
+        this.expressionIndex = new KeywordIndex<>(this.expressions);
+        this.effectIndex = new KeywordIndex<>(this.effects);
+        this.sectionIndex = new KeywordIndex<>(this.sections);
+        this.triggerIndex = new KeywordIndex<>(this.triggers);
+
+        Map<Class<?>, List<ExpressionInfo<?, ?>>> byReturnType = new HashMap<>();
+        Map<Class<?>, ExpressionInfo<?, ?>> bySyntaxClass = new HashMap<>();
+        List<Pair<ExpressionInfo<?, ?>, InfixOperator>> operators = new ArrayList<>();
+        for (var info : this.expressions) {
+            var declared = info.getData(InfixOperator.OPERATORS_IDENTIFIER, InfixOperator[].class);
+            if (declared != null) {
+                for (var operator : declared) {
+                    if (!operator.token().isEmpty() && isInfixPattern(info, operator.pattern()))
+                        operators.add(new Pair<>(info, operator));
+                }
+            }
+            byReturnType.computeIfAbsent(info.getReturnType().getType().getTypeClass(), __ -> new ArrayList<>())
+                    .add(info);
+            // The first one in parsing order wins, should a class be registered twice
+            bySyntaxClass.putIfAbsent(info.getSyntaxClass(), info);
+        }
+        this.infixOperators = List.copyOf(operators);
+        var starts = new StringBuilder();
+        for (var operator : operators) {
+            var start = Character.toLowerCase(operator.getSecond().token().charAt(0));
+            if (starts.indexOf(String.valueOf(start)) == -1)
+                starts.append(start);
+        }
+        this.infixOperatorStarts = starts.toString();
+        byReturnType.replaceAll((__, infos) -> Collections.unmodifiableList(infos));
+        this.expressionsByReturnType = Collections.unmodifiableMap(byReturnType);
+        this.expressionsBySyntaxClass = new ClassValue<>() {
+            @Override
+            protected Optional<ExpressionInfo<?, ?>> computeValue(Class<?> type) {
+                return Optional.ofNullable(bySyntaxClass.get(type));
+            }
+        };
+        this.compatibleReturnTypes = new ClassValue<>() {
+            @Override
+            protected Set<Class<?>> computeValue(Class<?> expected) {
+                Set<Class<?>> compatible = new HashSet<>();
+                for (var returnType : expressionsByReturnType.keySet()) {
+                    if (expected.isAssignableFrom(returnType) || Converters.converterExists(returnType, expected))
+                        compatible.add(returnType);
+                }
+                return Collections.unmodifiableSet(compatible);
+            }
+        };
+        var allTypes = List.copyOf(types);
+        this.types = allTypes;
+        this.literalTypes = new ClassValue<>() {
+            @Override
+            protected List<Type<?>> computeValue(Class<?> expected) {
+                List<Type<?>> literals = new ArrayList<>();
+                for (var type : allTypes) {
+                    var c = type.getTypeClass();
+                    if (!expected.isAssignableFrom(c) && !Converters.converterExists(c, expected))
+                        continue;
+                    // Types without a literal parser still matter for string literals
+                    if (type.getLiteralParser().isPresent() || expected == String.class || c == String.class)
+                        literals.add(type);
+                }
+                return Collections.unmodifiableList(literals);
+            }
+        };
+    }
+
+    /**
+     * A hash of everything in this snapshot that affects how a script is parsed: the class, priority and patterns of
+     * every syntax, in parsing order, along with the registered types. Two snapshots with the same fingerprint parse
+     * scripts the same way, even across restarts, so that anything remembered about parsing can be keyed by it.
+     * Whenever an addon is added, removed or changes its syntaxes, the fingerprint changes too.
+     *
+     * @return the fingerprint of this snapshot, as a hexadecimal string
+     */
+    public String getFingerprint() {
+        var computed = fingerprint;
+        if (computed == null) {
+            var builder = new StringBuilder();
+            for (var infos : List.of(expressions, effects, sections, triggers)) {
+                for (var info : infos) {
+                    builder.append(info.getSyntaxClass().getName()).append('\0').append(info.getPriority());
+                    for (var pattern : info.getPatterns()) {
+                        builder.append('\0').append(pattern);
+                    }
+                    builder.append('\n');
+                }
+                builder.append('\n');
+            }
+            for (var type : types) {
+                builder.append(type.getTypeClass().getName()).append('\0').append(type.getBaseName()).append('\n');
+            }
+            computed = fingerprint = FileUtils.hash(builder);
+        }
+        return computed;
+    }
+
+    /*
+     * Operators whose pattern doesn't look like %type% <token> %type% are simply left to regular matching
+     */
+    private static boolean isInfixPattern(ExpressionInfo<?, ?> info, int pattern) {
+        if (pattern < 0 || pattern >= info.getPatterns().size())
+            return false;
+        var elements = PatternElement.flatten(info.getPatterns().get(pattern));
+        if (elements.size() < 3
+                || !(elements.get(0) instanceof ExpressionElement)
+                || !(elements.get(elements.size() - 1) instanceof ExpressionElement))
+            return false;
+        var left = ((ExpressionElement) elements.get(0)).getTypes();
+        var right = ((ExpressionElement) elements.get(elements.size() - 1)).getTypes();
+        return left.size() == 1 && left.equals(right);
+    }
+
+    /**
+     * @return all registered expressions, in parsing order
+     */
+    public List<ExpressionInfo<?, ?>> getExpressions() {
+        return expressions;
+    }
+
+    /**
+     * @return all registered effects, in parsing order
+     */
+    public List<SyntaxInfo<? extends Effect>> getEffects() {
+        return effects;
+    }
+
+    /**
+     * @return all registered sections, in parsing order
+     */
+    public List<SyntaxInfo<? extends CodeSection>> getSections() {
+        return sections;
+    }
+
+    /**
+     * @return all registered triggers (events/structures), in parsing order
+     */
+    public List<SkriptEventInfo<?>> getTriggers() {
+        return triggers;
+    }
+
+    public KeywordIndex<ExpressionInfo<?, ?>> getExpressionIndex() {
+        return expressionIndex;
+    }
+
+    public KeywordIndex<SyntaxInfo<? extends Effect>> getEffectIndex() {
+        return effectIndex;
+    }
+
+    public KeywordIndex<SyntaxInfo<? extends CodeSection>> getSectionIndex() {
+        return sectionIndex;
+    }
+
+    public KeywordIndex<SkriptEventInfo<?>> getTriggerIndex() {
+        return triggerIndex;
+    }
+
+    /**
+     * @return all registered expressions grouped by the class of their declared return type,
+     * each group being in parsing order
+     */
+    public Map<Class<?>, List<ExpressionInfo<?, ?>>> getExpressionsByReturnType() {
+        return expressionsByReturnType;
+    }
+
+    /**
+     * Returns the declared return types of registered expressions whose values can be used where the given type is
+     * expected, either directly or through {@linkplain Converters converters}. It is computed once per expected type,
+     * which is why a snapshot must only be made once all converters have been registered.
+     *
+     * @param expected the expected type
+     * @return the compatible return types
+     */
+    public Set<Class<?>> getReturnTypesCompatibleWith(Class<?> expected) {
+        return compatibleReturnTypes.get(expected);
+    }
+
+    /**
+     * Returns the types whose literals can be used where the given type is expected, either directly or
+     * through {@linkplain Converters converters}, in the order their literal parsers should be tried.
+     * Like {@link #getReturnTypesCompatibleWith(Class)}, it is computed once per expected type.
+     *
+     * @param expected the expected type
+     * @return the types whose literals are compatible
+     * @see LiteralShape
+     */
+    public List<Type<?>> getLiteralTypesCompatibleWith(Class<?> expected) {
+        return literalTypes.get(expected);
+    }
+
+    /**
+     * @return the declared {@linkplain InfixOperator infix operators} along with the expressions declaring them,
+     * in parsing order
+     */
+    public List<Pair<ExpressionInfo<?, ?>, InfixOperator>> getInfixOperators() {
+        return infixOperators;
+    }
+
+    /**
+     * @return the first characters of the tokens of the declared {@linkplain InfixOperator infix operators}, in
+     * lower case, each appearing once
+     */
+    public String getInfixOperatorStarts() {
+        return infixOperatorStarts;
+    }
+
+    /**
+     * @param syntaxClass the class of the expression
+     * @return the {@link ExpressionInfo} the given class was registered with
+     */
+    public Optional<ExpressionInfo<?, ?>> getExpressionInfo(Class<?> syntaxClass) {
+        return expressionsBySyntaxClass.get(syntaxClass);
+    }
+}
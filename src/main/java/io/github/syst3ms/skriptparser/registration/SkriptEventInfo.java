@@ -8,6 +8,7 @@ import io.github.syst3ms.skriptparser.pattern.PatternElement;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * A class containing info about an {@link SkriptEvent event} syntax
@@ -22,6 +23,11 @@ public class SkriptEventInfo<E extends SkriptEvent> extends SyntaxInfo<E> {
         this.contexts = handledContexts;
     }
 
+    public SkriptEventInfo(SkriptAddon registerer, Class<E> c, Supplier<? extends E> factory, Set<Class<? extends TriggerContext>> handledContexts, int priority, List<PatternElement> patterns, Documentation documentation, Map<String, Object> data) {
+        super(registerer, c, factory, priority, patterns, documentation, data);
+        this.contexts = handledContexts;
+    }
+
     /**
      * @return the list of all {@link TriggerContext}s this event is able to handle.
      */
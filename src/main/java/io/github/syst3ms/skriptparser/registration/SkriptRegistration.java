@@ -36,6 +36,7 @@ import io.github.syst3ms.skriptparser.registration.tags.TagManager;
 import io.github.syst3ms.skriptparser.structures.functions.FunctionParameter;
 import io.github.syst3ms.skriptparser.structures.functions.Functions;
 import io.github.syst3ms.skriptparser.structures.functions.JavaFunction;
+import io.github.syst3ms.skriptparser.types.LiteralShape;
 import io.github.syst3ms.skriptparser.types.Type;
 import io.github.syst3ms.skriptparser.types.TypeManager;
 import io.github.syst3ms.skriptparser.types.changers.Arithmetic;
@@ -43,6 +44,7 @@ import io.github.syst3ms.skriptparser.types.changers.Changer;
 import io.github.syst3ms.skriptparser.types.changers.TypeSerializer;
 import io.github.syst3ms.skriptparser.types.conversions.ConverterInfo;
 import io.github.syst3ms.skriptparser.types.conversions.Converters;
+import io.github.syst3ms.skriptparser.util.ClassUtils;
 import io.github.syst3ms.skriptparser.util.CollectionUtils;
 import io.github.syst3ms.skriptparser.util.MultiMap;
 import io.github.syst3ms.skriptparser.util.StringUtils;
@@ -52,6 +54,7 @@ import org.jetbrains.annotations.Nullable;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -234,6 +237,23 @@ public class SkriptRegistration {
         return new ExpressionRegistrar<>(c, returnType, isSingle, patterns);
     }
 
+    /**
+     * Starts a registration process for an {@link Expression}, whose instances are created by the given factory
+     * instead of the no-argument constructor of the class.
+     *
+     * @param c          the Expression's class
+     * @param factory    the factory creating new instances of the Expression, usually a constructor reference
+     * @param returnType the Expression's return type
+     * @param isSingle   whether the Expression is a single value
+     * @param patterns   the Expression's patterns
+     * @param <C>        the Expression
+     * @param <T>        the Expression's return type
+     * @return an {@link ExpressionRegistrar} to continue the registration process
+     */
+    public <C extends Expression<T>, T> ExpressionRegistrar<C, T> newExpression(Class<C> c, Supplier<? extends C> factory, Class<T> returnType, boolean isSingle, String... patterns) {
+        return new ExpressionRegistrar<>(c, factory, returnType, isSingle, patterns);
+    }
+
     /**
      * Registers an {@link Expression} with the isSingle set to true by default.
      * Mainly so you can override with {@link Expression#isSingle()}
@@ -397,6 +417,23 @@ public class SkriptRegistration {
         return new ExecutableExpressionRegistrar<>(c, returnType, isSingle, patterns);
     }
 
+    /**
+     * Create a new {@link ExecutableExpression}, whose instances are created by the given factory
+     * instead of the no-argument constructor of the class.
+     *
+     * @param c          the Expression's class
+     * @param factory    the factory creating new instances of the Expression, usually a constructor reference
+     * @param returnType the Expression's return type
+     * @param isSingle   whether the Expression is a single value
+     * @param patterns   the Expression's patterns
+     * @param <C>        the Expression
+     * @param <T>        the Expression's return type
+     * @return An {@link ExecutableExpression} to continue the registration process
+     */
+    public <C extends ExecutableExpression<T>, T> ExecutableExpressionRegistrar<C, T> newExecutableExpression(Class<C> c, Supplier<? extends C> factory, Class<T> returnType, boolean isSingle, String... patterns) {
+        return new ExecutableExpressionRegistrar<>(c, factory, returnType, isSingle, patterns);
+    }
+
     /**
      * Registers an {@link ExecutableExpression}
      *
@@ -424,6 +461,20 @@ public class SkriptRegistration {
         return new EffectRegistrar<>(c, patterns);
     }
 
+    /**
+     * Starts a registration process for an {@link Effect}, whose instances are created by the given factory
+     * instead of the no-argument constructor of the class.
+     *
+     * @param c        the Effect's class
+     * @param factory  the factory creating new instances of the Effect, usually a constructor reference
+     * @param patterns the Effect's patterns
+     * @param <C>      the Effect
+     * @return an {@link EffectRegistrar} to continue the registration process
+     */
+    public <C extends Effect> EffectRegistrar<C> newEffect(Class<C> c, Supplier<? extends C> factory, String... patterns) {
+        return new EffectRegistrar<>(c, factory, patterns);
+    }
+
     /**
      * Registers an {@link Effect}
      *
@@ -459,6 +510,20 @@ public class SkriptRegistration {
         return new SectionRegistrar<>(c, patterns);
     }
 
+    /**
+     * Starts a registration process for a {@link CodeSection}, whose instances are created by the given factory
+     * instead of the no-argument constructor of the class.
+     *
+     * @param c        the CodeSection's class
+     * @param factory  the factory creating new instances of the CodeSection, usually a constructor reference
+     * @param patterns the CodeSection's patterns
+     * @param <C>      the CodeSection
+     * @return a {@link SectionRegistrar} to continue the registration process
+     */
+    public <C extends CodeSection> SectionRegistrar<C> newSection(Class<C> c, Supplier<? extends C> factory, String... patterns) {
+        return new SectionRegistrar<>(c, factory, patterns);
+    }
+
     /**
      * Registers a {@link CodeSection}
      *
@@ -492,6 +557,20 @@ public class SkriptRegistration {
         return new EventRegistrar<>(c, patterns);
     }
 
+    /**
+     * Starts a registration process for a {@link SkriptEvent}, whose instances are created by the given factory
+     * instead of the no-argument constructor of the class.
+     *
+     * @param c        the SkriptEvent's class
+     * @param factory  the factory creating new instances of the SkriptEvent, usually a constructor reference
+     * @param patterns the SkriptEvent's patterns
+     * @param <E>      the SkriptEvent
+     * @return an {@link EventRegistrar} to continue the registration process
+     */
+    public <E extends SkriptEvent> EventRegistrar<E> newEvent(Class<E> c, Supplier<? extends E> factory, String... patterns) {
+        return new EventRegistrar<>(c, factory, patterns);
+    }
+
     /**
      * Starts a registration process for a {@link Structure}
      *
@@ -504,6 +583,20 @@ public class SkriptRegistration {
         return new StructureRegistrar<>(c, patterns);
     }
 
+    /**
+     * Starts a registration process for a {@link Structure}, whose instances are created by the given factory
+     * instead of the no-argument constructor of the class.
+     *
+     * @param c        the Structure's class
+     * @param factory  the factory creating new instances of the Structure, usually a constructor reference
+     * @param patterns the Structure's patterns
+     * @param <S>      the Structure
+     * @return a {@link StructureRegistrar} to continue the registration process
+     */
+    public <S extends Structure> StructureRegistrar<S> newStructure(Class<S> c, Supplier<? extends S> factory, String... patterns) {
+        return new StructureRegistrar<>(c, factory, patterns);
+    }
+
     /**
      * Registers a {@link SkriptEvent}
      *
@@ -753,6 +846,19 @@ public class SkriptRegistration {
         tags.add(new TagInfo<>(c, priority));
     }
 
+    /**
+     * Registers a {@link Tag}, whose instances are created by the given factory
+     * instead of the no-argument constructor of the class.
+     *
+     * @param c        the Tag's class
+     * @param factory  the factory creating new instances of the Tag, usually a constructor reference
+     * @param priority the parsing priority this Tag has. 5 by default, a lower number means lower priority
+     * @param <C>      the Tag
+     */
+    public <C extends Tag> void addTag(Class<C> c, Supplier<? extends C> factory, int priority) {
+        tags.add(new TagInfo<>(c, factory, priority));
+    }
+
     /**
      * Adds all currently registered syntaxes to Skript's usable database.
      *
@@ -776,6 +882,7 @@ public class SkriptRegistration {
         TagManager.register(this);
         Converters.registerConverters(this);
         Converters.createMissingConverters();
+        SyntaxManager.freeze();
         finishConsumers.forEach(consumer -> consumer.accept(registerer));
         for (FunctionRegistrar<?> function : getFunctions()) {
             Functions.registerFunction(this, function.javaFunction);
@@ -827,6 +934,7 @@ public class SkriptRegistration {
         private Function<? super C, String> toVariableNameFunction;
         @Nullable
         private Function<String, ? extends C> literalParser;
+        private Set<LiteralShape> literalShapes = EnumSet.allOf(LiteralShape.class);
         @Nullable
         private Changer<? super C> defaultChanger;
         @Nullable
@@ -852,6 +960,17 @@ public class SkriptRegistration {
             return this;
         }
 
+        /**
+         * @param shapes the {@linkplain LiteralShape shapes} of the strings the literal parser is able to parse.
+         *               All shapes are accepted by default.
+         * @return the registrar
+         */
+        public TypeRegistrar<C> literalShapes(LiteralShape... shapes) {
+            this.literalShapes = EnumSet.noneOf(LiteralShape.class);
+            Collections.addAll(this.literalShapes, shapes);
+            return this;
+        }
+
         /**
          * @param toStringFunction a function converting an instance of the type to a String
          * @return the registrar
@@ -944,19 +1063,25 @@ public class SkriptRegistration {
         @Override
         public void register() {
             newTypes = true;
-            types.add(new Type<>(c, baseName, pattern, literalParser, toStringFunction, toVariableNameFunction, defaultChanger, arithmetic, documentation, serializer, this.supplier));
+            types.add(new Type<>(c, baseName, pattern, literalParser, literalShapes, toStringFunction, toVariableNameFunction, defaultChanger, arithmetic, documentation, serializer, this.supplier));
         }
     }
 
     public abstract class SyntaxRegistrar<C extends SyntaxElement> implements Registrar {
         protected final Class<C> c;
+        protected final Supplier<? extends C> factory;
         protected final List<String> patterns = new ArrayList<>();
         protected final Map<String, Object> data = new HashMap<>();
         protected Documentation documentation = new Documentation();
         protected int priority = 5;
 
         SyntaxRegistrar(Class<C> c, String... patterns) {
+            this(c, ClassUtils.getConstructorFactory(c), patterns);
+        }
+
+        SyntaxRegistrar(Class<C> c, Supplier<? extends C> factory, String... patterns) {
             this.c = c;
+            this.factory = factory;
             Collections.addAll(this.patterns, patterns);
             this.documentation.setName(c.getSimpleName()); // Dummy name if not specified
             typeCheck();
@@ -1050,10 +1175,13 @@ public class SkriptRegistration {
         ExpressionRegistrar<C, T> expressionRegistrar;
 
         ExecutableExpressionRegistrar(Class<C> c, Class<T> returnType, boolean isSingle, String... patterns) {
-            super(c, patterns);
-            this.effectRegistrar = new EffectRegistrar<>(c, patterns);
-            this.expressionRegistrar = new ExpressionRegistrar<>(c, returnType, isSingle, patterns);
+            this(c, ClassUtils.getConstructorFactory(c), returnType, isSingle, patterns);
+        }
 
+        ExecutableExpressionRegistrar(Class<C> c, Supplier<? extends C> factory, Class<T> returnType, boolean isSingle, String... patterns) {
+            super(c, factory, patterns);
+            this.effectRegistrar = new EffectRegistrar<>(c, factory, patterns);
+            this.expressionRegistrar = new ExpressionRegistrar<>(c, factory, returnType, isSingle, patterns);
         }
 
         @Override
@@ -1186,14 +1314,34 @@ public class SkriptRegistration {
     public class ExpressionRegistrar<C extends Expression<? extends T>, T> extends SyntaxRegistrar<C> {
         private final Class<T> returnType;
         private final boolean isSingle;
+        private final List<InfixOperator> operators = new ArrayList<>();
 
         ExpressionRegistrar(Class<C> c, Class<T> returnType, boolean isSingle, String... patterns) {
-            super(c, patterns);
+            this(c, ClassUtils.getConstructorFactory(c), returnType, isSingle, patterns);
+        }
+
+        ExpressionRegistrar(Class<C> c, Supplier<? extends C> factory, Class<T> returnType, boolean isSingle, String... patterns) {
+            super(c, factory, patterns);
             this.returnType = returnType;
             this.isSingle = isSingle;
             typeCheck();
         }
 
+        /**
+         * Declares one of the patterns of this expression as an infix operator, which must be of the form
+         * {@code %type%[ ]<token>[ ]%type%}.
+         * @param pattern the index of the pattern
+         * @param token the operator, like {@code +}
+         * @param precedence how tightly the operator binds, higher values binding tighter
+         * @param rightAssociative whether the operator is right-associative
+         * @return the registrar
+         * @see InfixOperator
+         */
+        public ExpressionRegistrar<C, T> infixOperator(int pattern, String token, int precedence, boolean rightAssociative) {
+            operators.add(new InfixOperator(pattern, token, precedence, rightAssociative));
+            return this;
+        }
+
         /**
          * Adds this expression to the list of currently registered syntaxes
          */
@@ -1204,7 +1352,9 @@ public class SkriptRegistration {
                 logger.error("Couldn't find a type corresponding to the class '" + returnType.getName() + "'", ErrorType.NO_MATCH);
                 return;
             }
-            expressions.putOne(super.c, new ExpressionInfo<>(registerer, super.c, type.get(), isSingle, priority, parsePatterns(), this.documentation, super.data));
+            if (!operators.isEmpty())
+                data.put(InfixOperator.OPERATORS_IDENTIFIER, operators.toArray(new InfixOperator[0]));
+            expressions.putOne(super.c, new ExpressionInfo<>(registerer, super.c, super.factory, type.get(), isSingle, priority, parsePatterns(), this.documentation, super.data));
         }
     }
 
@@ -1213,18 +1363,26 @@ public class SkriptRegistration {
             super(c, patterns);
         }
 
+        EffectRegistrar(Class<C> c, Supplier<? extends C> factory, String... patterns) {
+            super(c, factory, patterns);
+        }
+
         /**
          * Adds this effect to the list of currently registered syntaxes
          */
         @Override
         public void register() {
-            effects.add(new SyntaxInfo<>(registerer, super.c, priority, parsePatterns(), this.documentation, super.data));
+            effects.add(new SyntaxInfo<>(registerer, super.c, super.factory, priority, parsePatterns(), this.documentation, super.data));
         }
     }
 
     public class SectionRegistrar<C extends CodeSection> extends SyntaxRegistrar<C> {
         SectionRegistrar(Class<C> c, String... patterns) {
-            super(c, patterns);
+            this(c, ClassUtils.getConstructorFactory(c), patterns);
+        }
+
+        SectionRegistrar(Class<C> c, Supplier<? extends C> factory, String... patterns) {
+            super(c, factory, patterns);
             typeCheck();
         }
 
@@ -1233,7 +1391,7 @@ public class SkriptRegistration {
          */
         @Override
         public void register() {
-            sections.add(new SyntaxInfo<>(registerer, super.c, priority, parsePatterns(), this.documentation, super.data));
+            sections.add(new SyntaxInfo<>(registerer, super.c, super.factory, priority, parsePatterns(), this.documentation, super.data));
         }
     }
 
@@ -1242,7 +1400,11 @@ public class SkriptRegistration {
         private Set<Class<? extends TriggerContext>> handledContexts = new HashSet<>();
 
         EventRegistrar(Class<T> c, String... patterns) {
-            super(c, patterns);
+            this(c, ClassUtils.getConstructorFactory(c), patterns);
+        }
+
+        EventRegistrar(Class<T> c, Supplier<? extends T> factory, String... patterns) {
+            super(c, factory, patterns);
             this.documentation.setName(c.getSimpleName()); // Dummy name if not specified
             typeCheck();
         }
@@ -1307,7 +1469,7 @@ public class SkriptRegistration {
                     super.patterns.set(i, "[on] " + pattern);
                 }
             }
-            events.add(new SkriptEventInfo<>(registerer, super.c, handledContexts, priority, parsePatterns(), this.documentation, data));
+            events.add(new SkriptEventInfo<>(registerer, super.c, super.factory, handledContexts, priority, parsePatterns(), this.documentation, data));
             registerer.addHandledEvent(this.c);
         }
     }
@@ -1317,7 +1479,11 @@ public class SkriptRegistration {
         private Set<Class<? extends TriggerContext>> handledContexts = new HashSet<>();
 
         StructureRegistrar(Class<T> c, String... patterns) {
-            super(c, patterns);
+            this(c, ClassUtils.getConstructorFactory(c), patterns);
+        }
+
+        StructureRegistrar(Class<T> c, Supplier<? extends T> factory, String... patterns) {
+            super(c, factory, patterns);
             this.documentation.setName(c.getSimpleName()); // Dummy name if not specified
             typeCheck();
         }
@@ -1422,7 +1588,7 @@ public class SkriptRegistration {
                     super.patterns.set(i, pattern);
                 }
             }
-            structures.add(new StructureInfo<>(registerer, super.c, handledContexts, priority, parsePatterns(), this.documentation, data));
+            structures.add(new StructureInfo<>(registerer, super.c, super.factory, handledContexts, priority, parsePatterns(), this.documentation, data));
             registerer.addHandledEvent(this.c);
         }
     }
@@ -8,6 +8,7 @@ import io.github.syst3ms.skriptparser.pattern.PatternElement;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * A class containing info about a {@link Structure} syntax
@@ -20,4 +21,8 @@ public class StructureInfo<E extends Structure> extends SkriptEventInfo<E> {
         super(registerer, c, handledContexts, priority, patterns, documentation, data);
     }
 
+    public StructureInfo(SkriptAddon registerer, Class<E> c, Supplier<? extends E> factory, Set<Class<? extends TriggerContext>> handledContexts, int priority, List<PatternElement> patterns, Documentation documentation, Map<String, Object> data) {
+        super(registerer, c, factory, handledContexts, priority, patterns, documentation, data);
+    }
+
 }
@@ -4,11 +4,14 @@ import io.github.syst3ms.skriptparser.docs.Documentation;
 import io.github.syst3ms.skriptparser.lang.Expression;
 import io.github.syst3ms.skriptparser.lang.SyntaxElement;
 import io.github.syst3ms.skriptparser.lang.event.SkriptEvent;
+import io.github.syst3ms.skriptparser.parsing.SkriptParserException;
 import io.github.syst3ms.skriptparser.pattern.PatternElement;
+import io.github.syst3ms.skriptparser.util.ClassUtils;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * A class containing info about a {@link SyntaxElement} that isn't an {@link Expression} or an {@link SkriptEvent}
@@ -18,6 +21,7 @@ import java.util.Map;
 public class SyntaxInfo<C> {
     protected final Map<String, Object> data;
     private final Class<C> c;
+    private final Supplier<? extends C> factory;
     private final List<PatternElement> patterns;
     private final int priority;
     private final SkriptAddon registerer;
@@ -28,7 +32,12 @@ public class SyntaxInfo<C> {
     }
 
     public SyntaxInfo(SkriptAddon registerer, Class<C> c, int priority, List<PatternElement> patterns, Documentation documentation, Map<String, Object> data) {
+        this(registerer, c, ClassUtils.getConstructorFactory(c), priority, patterns, documentation, data);
+    }
+
+    public SyntaxInfo(SkriptAddon registerer, Class<C> c, Supplier<? extends C> factory, int priority, List<PatternElement> patterns, Documentation documentation, Map<String, Object> data) {
         this.c = c;
+        this.factory = factory;
         this.patterns = patterns;
         this.priority = priority;
         this.registerer = registerer;
@@ -44,6 +53,23 @@ public class SyntaxInfo<C> {
         return c;
     }
 
+    /**
+     * @return the factory creating new instances of the syntax class
+     */
+    public Supplier<? extends C> getFactory() {
+        return factory;
+    }
+
+    /**
+     * Creates a new instance of the syntax class, using the factory given at registration.
+     *
+     * @return the new instance
+     * @throws SkriptParserException if the syntax class couldn't be instantiated
+     */
+    public C newInstance() {
+        return factory.get();
+    }
+
     public int getPriority() {
         return priority;
     }
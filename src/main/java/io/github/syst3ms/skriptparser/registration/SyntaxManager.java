@@ -3,12 +3,14 @@ package io.github.syst3ms.skriptparser.registration;
 import io.github.syst3ms.skriptparser.lang.CodeSection;
 import io.github.syst3ms.skriptparser.lang.Effect;
 import io.github.syst3ms.skriptparser.lang.Expression;
+import io.github.syst3ms.skriptparser.types.TypeManager;
 import io.github.syst3ms.skriptparser.util.MultiMap;
 
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public class SyntaxManager {
 
@@ -26,15 +28,13 @@ public class SyntaxManager {
     private static final List<SyntaxInfo<? extends Effect>> effects = new ArrayList<>();
     private static final List<SyntaxInfo<? extends CodeSection>> sections = new ArrayList<>();
     private static final List<SkriptEventInfo<?>> triggers = new ArrayList<>();
+    private static volatile RegistrySnapshot snapshot = RegistrySnapshot.EMPTY;
 
-    static void register(SkriptRegistration reg) {
+    static synchronized void register(SkriptRegistration reg) {
         effects.addAll(reg.getEffects());
-        effects.sort(INFO_COMPARATOR);
         sections.addAll(reg.getSections());
-        sections.sort(INFO_COMPARATOR);
         triggers.addAll(reg.getEvents());
         triggers.addAll(reg.getStructures());
-        triggers.sort(INFO_COMPARATOR);
         for (var entry : reg.getExpressions().entrySet()) {
             var key = entry.getKey();
             var infos = entry.getValue();
@@ -45,12 +45,72 @@ public class SyntaxManager {
     }
 
     /**
-     * @return a list of all currently registered expressions
+     * Publishes a new {@link RegistrySnapshot} containing everything registered so far. This is done at the end of
+     * every {@link SkriptRegistration#register()}, once types and converters are known, so that syntaxes of addons
+     * registering late are taken into account.
      */
-    public static List<ExpressionInfo<?, ?>> getAllExpressions() {
+    static synchronized void freeze() {
         var expressionInfos = expressions.getAllValues();
         expressionInfos.sort(INFO_COMPARATOR);
-        return expressionInfos;
+        effects.sort(INFO_COMPARATOR);
+        sections.sort(INFO_COMPARATOR);
+        triggers.sort(INFO_COMPARATOR);
+        snapshot = new RegistrySnapshot(
+                expressionInfos,
+                effects,
+                sections,
+                triggers,
+                List.copyOf(TypeManager.getClassToTypeMap().values())
+        );
+    }
+
+    /**
+     * @return the latest {@link RegistrySnapshot} of all registered syntaxes
+     */
+    public static RegistrySnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @return an unmodifiable list of all currently registered expressions, in parsing order
+     */
+    public static List<ExpressionInfo<?, ?>> getAllExpressions() {
+        return snapshot.getExpressions();
+    }
+
+    /**
+     * @param s the string about to be parsed
+     * @return the registered expressions that could possibly match the given string, in parsing order
+     * @see KeywordIndex
+     */
+    public static List<ExpressionInfo<?, ?>> getExpressionCandidates(String s) {
+        return snapshot.getExpressionIndex().getCandidates(s);
+    }
+
+    /**
+     * @param s the string about to be parsed
+     * @param expectedClass the class the expression should return, or be converted to
+     * @return the registered expressions that could possibly match the given string and return the given type,
+     * in parsing order
+     * @see KeywordIndex
+     * @see RegistrySnapshot#getReturnTypesCompatibleWith(Class)
+     */
+    public static List<ExpressionInfo<?, ?>> getExpressionCandidates(String s, Class<?> expectedClass) {
+        return getExpressionCandidates(s, snapshot.getReturnTypesCompatibleWith(expectedClass));
+    }
+
+    /**
+     * @param s the string about to be parsed
+     * @param returnTypes the exact declared return types the expressions should have
+     * @return the registered expressions that could possibly match the given string and have one of the given
+     * return types, in parsing order
+     * @see KeywordIndex
+     */
+    public static List<ExpressionInfo<?, ?>> getExpressionCandidates(String s, Set<Class<?>> returnTypes) {
+        return snapshot.getExpressionIndex().getCandidates(
+                s,
+                info -> returnTypes.contains(info.getReturnType().getType().getTypeClass())
+        );
     }
 
     /**
@@ -61,36 +121,58 @@ public class SyntaxManager {
      */
     @SuppressWarnings("unchecked")
     public static <E extends Expression<T>, T> Optional<? extends ExpressionInfo<E, T>> getExpressionExact(Expression<T> expr) {
-        Class<?> c = expr.getSource().getClass();
-        for (var info : SyntaxManager.getAllExpressions()) {
-            if (info.getSyntaxClass() == c) {
-                return Optional.of((ExpressionInfo<E, T>) info);
-            }
-        }
-        return Optional.empty();
+        return snapshot.getExpressionInfo(expr.getSource().getClass())
+                .map(info -> (ExpressionInfo<E, T>) info);
     }
 
     /**
-     * @return a list of all currently registered sections
+     * @return an unmodifiable list of all currently registered sections, in parsing order
      */
     public static List<SyntaxInfo<? extends CodeSection>> getSections() {
-        return sections;
+        return snapshot.getSections();
     }
 
     /**
-     * @return a list of all currently registered effects
+     * @param s the string about to be parsed
+     * @return the registered sections that could possibly match the given string, in parsing order
+     * @see KeywordIndex
+     */
+    public static List<SyntaxInfo<? extends CodeSection>> getSectionCandidates(String s) {
+        return snapshot.getSectionIndex().getCandidates(s);
+    }
+
+    /**
+     * @return an unmodifiable list of all currently registered effects, in parsing order
      */
     public static List<SyntaxInfo<? extends Effect>> getEffects() {
-        return effects;
+        return snapshot.getEffects();
+    }
+
+    /**
+     * @param s the string about to be parsed
+     * @return the registered effects that could possibly match the given string, in parsing order
+     * @see KeywordIndex
+     */
+    public static List<SyntaxInfo<? extends Effect>> getEffectCandidates(String s) {
+        return snapshot.getEffectIndex().getCandidates(s);
     }
 
     /**
      * Get all currently registered triggers (events/structures).
      *
-     * @return a list of all currently registered triggers (events/structures)
+     * @return an unmodifiable list of all currently registered triggers (events/structures), in parsing order
      */
     public static List<SkriptEventInfo<?>> getTriggers() {
-        return triggers;
+        return snapshot.getTriggers();
+    }
+
+    /**
+     * @param s the string about to be parsed
+     * @return the registered triggers (events/structures) that could possibly match the given string, in parsing order
+     * @see KeywordIndex
+     */
+    public static List<SkriptEventInfo<?>> getTriggerCandidates(String s) {
+        return snapshot.getTriggerIndex().getCandidates(s);
     }
 
 }
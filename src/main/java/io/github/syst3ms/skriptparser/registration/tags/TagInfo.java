@@ -1,5 +1,9 @@
 package io.github.syst3ms.skriptparser.registration.tags;
 
+import io.github.syst3ms.skriptparser.util.ClassUtils;
+
+import java.util.function.Supplier;
+
 /**
  * A class containing info about a {@link Tag}.
  *
@@ -8,10 +12,16 @@ package io.github.syst3ms.skriptparser.registration.tags;
  */
 public class TagInfo<C extends Tag> {
     private final Class<C> c;
+    private final Supplier<? extends C> factory;
     private final int priority;
 
     public TagInfo(Class<C> c, int priority) {
+        this(c, ClassUtils.getConstructorFactory(c), priority);
+    }
+
+    public TagInfo(Class<C> c, Supplier<? extends C> factory, int priority) {
         this.c = c;
+        this.factory = factory;
         this.priority = priority;
     }
 
@@ -19,6 +29,13 @@ public class TagInfo<C extends Tag> {
         return c;
     }
 
+    /**
+     * @return a new instance of the tag class, created by the factory given at registration
+     */
+    public C newInstance() {
+        return factory.get();
+    }
+
     public int getPriority() {
         return priority;
     }
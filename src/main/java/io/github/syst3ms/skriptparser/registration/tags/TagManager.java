@@ -3,10 +3,12 @@ package io.github.syst3ms.skriptparser.registration.tags;
 import io.github.syst3ms.skriptparser.log.ErrorContext;
 import io.github.syst3ms.skriptparser.log.ErrorType;
 import io.github.syst3ms.skriptparser.log.SkriptLogger;
+import io.github.syst3ms.skriptparser.parsing.ParserState;
+import io.github.syst3ms.skriptparser.parsing.SkriptParserException;
 import io.github.syst3ms.skriptparser.registration.SkriptRegistration;
-import io.github.syst3ms.skriptparser.util.RecentElementList;
+import io.github.syst3ms.skriptparser.util.SyntaxRanking;
+import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
@@ -18,10 +20,6 @@ public class TagManager {
      */
     private static final Comparator<TagInfo<?>> INFO_COMPARATOR = (t, t2) -> t2.getPriority() - t.getPriority();
 
-    /**
-     * All {@link Tag tags} that are successfully parsed during parsing, in order of last successful parsing
-     */
-    private static final RecentElementList<TagInfo<?>> recentTags = new RecentElementList<>();
     private static final List<TagInfo<?>> tags = new ArrayList<>();
 
 
@@ -46,27 +44,33 @@ public class TagManager {
      * @return the parsed tag, empty if no tag was found
      */
     public static Optional<Tag> parseTag(String toParse, SkriptLogger logger) {
+        return parseRankedTag(toParse, null, logger);
+    }
+
+    /**
+     * Parse a string as a {@link Tag}, trying the tags the script being parsed used lately first.
+     * Note that this does not support angle brackets ('<>') or ampersands ('&').
+     *
+     * @param toParse     the string to parse
+     * @param parserState the current parser state
+     * @param logger      the logger
+     * @return the parsed tag, empty if no tag was found
+     */
+    public static Optional<Tag> parseTag(String toParse, ParserState parserState, SkriptLogger logger) {
+        return parseRankedTag(toParse, parserState.getRankings().getTags(), logger);
+    }
+
+    private static Optional<Tag> parseRankedTag(String toParse, @Nullable SyntaxRanking<Class<Tag>, TagInfo<?>> ranking, SkriptLogger logger) {
         if (toParse.isEmpty()
             || Character.isWhitespace(toParse.charAt(0))
             || Character.isWhitespace(toParse.charAt(toParse.length() - 1)))
             return Optional.empty();
 
-        for (var recentTag : recentTags) {
-            var tag = matchTagInfo(toParse, recentTag, logger);
+        for (var info : ranking != null ? ranking.rank(Tag.class, tags) : tags) {
+            var tag = matchTagInfo(toParse, info, logger);
             if (tag.isPresent()) {
-                recentTags.acknowledge(recentTag);
-                logger.clearErrors();
-                return tag;
-            }
-            logger.forgetError();
-        }
-        // Let's not loop over the same elements again
-        var remainingTags = tags;
-        recentTags.removeFrom(remainingTags);
-        for (var remainingTag : remainingTags) {
-            var tag = matchTagInfo(toParse, remainingTag, logger);
-            if (tag.isPresent()) {
-                recentTags.acknowledge(remainingTag);
+                if (ranking != null)
+                    ranking.acknowledge(Tag.class, info);
                 logger.clearErrors();
                 return tag;
             }
@@ -89,17 +93,16 @@ public class TagManager {
             if (s.isEmpty())
                 return Optional.empty();
         }
+        Tag tag;
         try {
-            var tag = info.getSyntaxClass()
-                .getDeclaredConstructor()
-                .newInstance();
-            logger.setContext(ErrorContext.INITIALIZATION);
-            if (tag.init(key, parameters))
-                return Optional.of(tag);
-        } catch (InstantiationException | IllegalAccessException | NoSuchMethodException |
-                 InvocationTargetException e) {
+            tag = info.newInstance();
+        } catch (SkriptParserException e) {
             logger.error("Couldn't instantiate class " + info.getSyntaxClass(), ErrorType.EXCEPTION);
+            return Optional.empty();
         }
+        logger.setContext(ErrorContext.INITIALIZATION);
+        if (tag.init(key, parameters))
+            return Optional.of(tag);
         return Optional.empty();
     }
 }
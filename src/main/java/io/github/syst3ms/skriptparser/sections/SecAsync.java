@@ -3,6 +3,7 @@ package io.github.syst3ms.skriptparser.sections;
 import io.github.syst3ms.skriptparser.Parser;
 import io.github.syst3ms.skriptparser.file.FileSection;
 import io.github.syst3ms.skriptparser.lang.CodeSection;
+import io.github.syst3ms.skriptparser.lang.ExecutionFrame;
 import io.github.syst3ms.skriptparser.lang.Expression;
 import io.github.syst3ms.skriptparser.lang.Statement;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
@@ -50,10 +51,10 @@ public class SecAsync extends CodeSection {
     @Override
     public Optional<? extends Statement> walk(TriggerContext ctx) {
         Optional<? extends Statement>[] item = new Optional[]{getFirst()};
-        ThreadUtils.runAsync(() -> {
+        ThreadUtils.runAsync(ExecutionFrame.carry(ctx, () -> {
             while (!item[0].equals(getNext())) // Calling equals() on optionals calls equals() on their values
                 item[0] = item[0].flatMap(i -> i.walk(ctx));
-        });
+        }));
         return getNext();
     }
 
@@ -3,6 +3,7 @@ package io.github.syst3ms.skriptparser.sections;
 import io.github.syst3ms.skriptparser.Parser;
 import io.github.syst3ms.skriptparser.lang.CodeSection;
 import io.github.syst3ms.skriptparser.lang.Expression;
+import io.github.syst3ms.skriptparser.lang.Foldable;
 import io.github.syst3ms.skriptparser.lang.Statement;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
 import io.github.syst3ms.skriptparser.log.ErrorType;
@@ -43,13 +44,19 @@ public class SecConditional extends CodeSection {
     private Expression<Boolean> condition;
     @Nullable
     private SecConditional fallingClause;
+    // Only set when the condition is known at parse time, in which case the branch to take is known as well
+    @Nullable
+    private Boolean constant;
 
     @SuppressWarnings("unchecked")
     @Override
     public boolean init(Expression<?>[] expressions, int matchedPattern, ParseContext parseContext) {
         mode = ConditionalMode.values()[matchedPattern];
-        if (mode != ConditionalMode.ELSE)
+        if (mode != ConditionalMode.ELSE) {
             condition = (Expression<Boolean>) expressions[0];
+            if (Foldable.isConstant(condition))
+                constant = condition.getSingle(TriggerContext.DUMMY).filter(Boolean::booleanValue).isPresent();
+        }
 
         if (mode == ConditionalMode.IF)
             return true;
@@ -68,20 +75,29 @@ public class SecConditional extends CodeSection {
     }
 
     @Override
-    public Optional<? extends Statement> walk(TriggerContext ctx) {
+    @Nullable
+    public Statement advance(TriggerContext ctx) {
         assert condition != null || mode == ConditionalMode.ELSE;
         if (mode == ConditionalMode.ELSE) {
-            return getFirst();
+            return getFirstStatement();
         }
-        if (condition.getSingle(ctx).filter(Boolean::booleanValue).isPresent()) {
-            return getFirst();
+        var verified = constant != null
+                ? constant
+                : condition.getSingle(ctx).filter(Boolean::booleanValue).isPresent();
+        if (verified) {
+            return getFirstStatement();
         } else if (fallingClause != null) {
-            return Optional.of(fallingClause);
+            return fallingClause;
         } else {
-            return getNext();
+            return getNextStatement();
         }
     }
 
+    @Override
+    public Optional<? extends Statement> walk(TriggerContext ctx) {
+        return Optional.ofNullable(advance(ctx));
+    }
+
     @Override
     public Statement setNext(@Nullable Statement next) {
         while (next instanceof SecConditional && ((SecConditional) next).mode != ConditionalMode.IF) {
@@ -90,6 +106,36 @@ public class SecConditional extends CodeSection {
         return super.setNext(next);
     }
 
+    /**
+     * When the condition of an 'if' is known at parse time, the statements before it are directly linked to the branch
+     * it takes, so the condition isn't even looked at when running.
+     */
+    @Override
+    public Statement getEntryPoint() {
+        return mode == ConditionalMode.IF ? getTakenBranch() : this;
+    }
+
+    /*
+     * The statement this clause leads to if that is known at parse time, or the clause itself otherwise
+     */
+    private Statement getTakenBranch() {
+        Statement target;
+        if (mode != ConditionalMode.ELSE && constant == null) {
+            return this;
+        } else if (mode == ConditionalMode.ELSE || constant) {
+            target = items.isEmpty() ? next : getFirstStatement();
+        } else if (fallingClause != null) {
+            target = fallingClause.getTakenBranch();
+            // The statements before this one would skip a clause they are linked to
+            if (target == fallingClause)
+                return this;
+        } else {
+            target = next;
+        }
+        // The statement after this one is only known later when this is the last item of its section
+        return target != null ? target : this;
+    }
+
     @Override
     public String toString(TriggerContext ctx, boolean debug) {
         return mode + (condition != null ? " " + condition.toString(ctx, debug) : "");
@@ -2,6 +2,7 @@ package io.github.syst3ms.skriptparser.sections;
 
 import io.github.syst3ms.skriptparser.Parser;
 import io.github.syst3ms.skriptparser.file.FileSection;
+import io.github.syst3ms.skriptparser.lang.ExecutionFrame;
 import io.github.syst3ms.skriptparser.lang.Expression;
 import io.github.syst3ms.skriptparser.lang.Statement;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
@@ -44,12 +45,11 @@ public class SecFilter extends ReturnSection<Boolean> implements SelfReferencing
             .register();
     }
 
-    private final List<Object> result = new ArrayList<>();
+    private ExecutionFrame.Slot<List<Object>> result;
     private Expression<?> filtered;
     @Nullable
     private Statement actualNext;
-    @Nullable
-    private Iterator<?> iterator;
+    private ExecutionFrame.Slot<Iterator<?>> iterator;
 
     @Override
     public boolean init(Expression<?>[] expressions, int matchedPattern, ParseContext parseContext) {
@@ -71,6 +71,8 @@ public class SecFilter extends ReturnSection<Boolean> implements SelfReferencing
     @Override
     public boolean loadSection(FileSection section, ParserState parserState, SkriptLogger logger) {
         var currentLine = logger.getLine();
+        iterator = parserState.newFrameSlot();
+        result = parserState.newFrameSlot();
         super.setNext(this);
         return super.loadSection(section, parserState, logger) && checkReturns(logger, currentLine, true);
     }
@@ -79,41 +81,47 @@ public class SecFilter extends ReturnSection<Boolean> implements SelfReferencing
     @Override
     public Optional<? extends Statement> walk(TriggerContext ctx) {
         boolean isVariable = filtered instanceof Variable<?>;
-        if (iterator == null)
-            iterator = isVariable
+        var current = iterator.get(ctx);
+        if (current == null) {
+            current = isVariable
                 ? ((Variable<?>) filtered).variablesIterator(ctx)
                 : filtered.iterator(ctx);
+            iterator.set(ctx, current);
+            result.set(ctx, new ArrayList<>());
+        }
 
-        if (iterator.hasNext()) {
-            setArguments(isVariable
-                ? ((Pair<String, Object>) iterator.next()).getSecond()
-                : iterator.next()
+        if (current.hasNext()) {
+            setArguments(ctx, isVariable
+                ? ((Pair<String, Object>) current.next()).getSecond()
+                : current.next()
             );
             return start();
         } else {
-            if (result.size() == 0) {
+            var values = result.get(ctx);
+            if (values.size() == 0) {
                 filtered.change(ctx, ChangeMode.DELETE, new Object[0]);
             } else {
-                filtered.change(ctx, ChangeMode.SET, result.toArray());
+                filtered.change(ctx, ChangeMode.SET, values.toArray());
             }
-            finish();
+            finish(ctx);
             return Optional.ofNullable(actualNext);
         }
     }
 
     @Override
-    public void step(Statement item) {
-        if (getReturned().map(val -> val[0]).orElse(false)) {
-            assert getArguments().length == 1;
-            result.add(getArguments()[0]); // We add the filtered argument to the result
+    public void step(TriggerContext ctx, Statement item) {
+        if (getReturned(ctx).map(val -> val[0]).orElse(false)) {
+            assert getArguments(ctx).length == 1;
+            result.get(ctx).add(getArguments(ctx)[0]); // We add the filtered argument to the result
         }
     }
 
     @Override
-    public void finish() {
+    public void finish(TriggerContext ctx) {
         // Cache clearing
-        iterator = null;
-        result.clear();
+        super.finish(ctx);
+        iterator.clear(ctx);
+        result.clear(ctx);
     }
 
     @Override
@@ -2,6 +2,7 @@ package io.github.syst3ms.skriptparser.sections;
 
 import io.github.syst3ms.skriptparser.Parser;
 import io.github.syst3ms.skriptparser.file.FileSection;
+import io.github.syst3ms.skriptparser.lang.ExecutionFrame;
 import io.github.syst3ms.skriptparser.lang.Expression;
 import io.github.syst3ms.skriptparser.lang.Statement;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
@@ -46,16 +47,17 @@ public class SecFlatMap extends ReturnSection<Object> implements SelfReferencing
             .since("1.0.0");
     }
 
-    private final List<Object> result = new ArrayList<>();
+    private ExecutionFrame.Slot<List<Object>> result;
     private Expression<?> flatMapped;
     @Nullable
     private Statement actualNext;
-    @Nullable
-    private Iterator<?> iterator;
+    private ExecutionFrame.Slot<Iterator<?>> iterator;
 
     @Override
     public boolean loadSection(FileSection section, ParserState parserState, SkriptLogger logger) {
         var currentLine = logger.getLine();
+        iterator = parserState.newFrameSlot();
+        result = parserState.newFrameSlot();
         super.setNext(this);
         return super.loadSection(section, parserState, logger) && checkReturns(logger, currentLine, true);
     }
@@ -81,41 +83,47 @@ public class SecFlatMap extends ReturnSection<Object> implements SelfReferencing
     @Override
     public Optional<? extends Statement> walk(TriggerContext ctx) {
         boolean isVariable = flatMapped instanceof Variable<?>;
-        if (iterator == null)
-            iterator = isVariable
+        var current = iterator.get(ctx);
+        if (current == null) {
+            current = isVariable
                 ? ((Variable<?>) flatMapped).variablesIterator(ctx)
                 : flatMapped.iterator(ctx);
+            iterator.set(ctx, current);
+            result.set(ctx, new ArrayList<>());
+        }
 
-        if (iterator.hasNext()) {
-            setArguments(isVariable
-                ? ((Pair<String, Object>) iterator.next()).getSecond()
-                : iterator.next()
+        if (current.hasNext()) {
+            setArguments(ctx, isVariable
+                ? ((Pair<String, Object>) current.next()).getSecond()
+                : current.next()
             );
             return start();
         } else {
-            if (result.size() == 0) {
+            var values = result.get(ctx);
+            if (values.size() == 0) {
                 flatMapped.change(ctx, ChangeMode.DELETE, new Object[0]);
             } else {
-                flatMapped.change(ctx, ChangeMode.SET, result.toArray());
+                flatMapped.change(ctx, ChangeMode.SET, values.toArray());
             }
-            finish();
+            finish(ctx);
             return Optional.ofNullable(actualNext);
         }
     }
 
     @Override
-    public void step(Statement item) {
-        assert getArguments().length == 1;
-        if (getReturned().isPresent()) {
-            result.addAll(Arrays.asList(getReturned().get())); // We add the filtered argument to the result
+    public void step(TriggerContext ctx, Statement item) {
+        assert getArguments(ctx).length == 1;
+        if (getReturned(ctx).isPresent()) {
+            result.get(ctx).addAll(Arrays.asList(getReturned(ctx).get())); // We add the filtered argument to the result
         }
     }
 
     @Override
-    public void finish() {
+    public void finish(TriggerContext ctx) {
         // Cache clearing
-        iterator = null;
-        result.clear();
+        super.finish(ctx);
+        iterator.clear(ctx);
+        result.clear(ctx);
     }
 
     @Override
@@ -2,6 +2,7 @@ package io.github.syst3ms.skriptparser.sections;
 
 import io.github.syst3ms.skriptparser.Parser;
 import io.github.syst3ms.skriptparser.file.FileSection;
+import io.github.syst3ms.skriptparser.lang.ExecutionFrame;
 import io.github.syst3ms.skriptparser.lang.Expression;
 import io.github.syst3ms.skriptparser.lang.Literal;
 import io.github.syst3ms.skriptparser.lang.SimpleLiteral;
@@ -56,8 +57,7 @@ public class SecLoop extends ArgumentSection implements Continuable, SelfReferen
     @Nullable
     private Statement actualNext;
 
-    @Nullable
-    private Iterator<?> iterator;
+    private ExecutionFrame.Slot<Iterator<?>> iterator;
 
     /**
      * Returns a SimpleLiteral containing the numbers 1 up until a certain amount, specified
@@ -79,6 +79,7 @@ public class SecLoop extends ArgumentSection implements Continuable, SelfReferen
 
     @Override
     public boolean loadSection(FileSection section, ParserState parserState, SkriptLogger logger) {
+        iterator = parserState.newFrameSlot();
         if (!super.loadSection(section, parserState, logger))
             return false;
         super.setNext(this);
@@ -121,27 +122,32 @@ public class SecLoop extends ArgumentSection implements Continuable, SelfReferen
     }
 
     @Override
-    public Optional<? extends Statement> walk(TriggerContext ctx) {
-        if (isNumericLoop && expression == null) {
-            // We just set the looped expression to a range from 1 to the amount of times.
+    @Nullable
+    public Statement advance(TriggerContext ctx) {
+        var current = iterator.get(ctx);
+        if (current == null) {
+            // The amount of times can differ between executions, so the range is computed every time.
             // This allows the usage of 'loop-number' to get the current iteration
-            expression = rangeOf(ctx, times);
-        }
-
-        if (iterator == null) {
-            assert expression != null;
-            iterator = expression instanceof Variable ? ((Variable<?>) expression).variablesIterator(ctx) : expression.iterator(ctx);
+            var looped = isNumericLoop ? rangeOf(ctx, times) : expression;
+            assert looped != null;
+            current = looped instanceof Variable ? ((Variable<?>) looped).variablesIterator(ctx) : looped.iterator(ctx);
+            iterator.set(ctx, current);
         }
 
-        if (iterator.hasNext()) {
-            setArguments(iterator.next());
-            return start();
+        if (current.hasNext()) {
+            setArguments(ctx, current.next());
+            return start().orElse(null);
         } else {
-            finish();
-            return Optional.ofNullable(actualNext);
+            finish(ctx);
+            return actualNext;
         }
     }
 
+    @Override
+    public Optional<? extends Statement> walk(TriggerContext ctx) {
+        return Optional.ofNullable(advance(ctx));
+    }
+
     @Override
     public Statement setNext(@Nullable Statement next) {
         this.actualNext = next;
@@ -149,9 +155,10 @@ public class SecLoop extends ArgumentSection implements Continuable, SelfReferen
     }
 
     @Override
-    public void finish() {
+    public void finish(TriggerContext ctx) {
         // Cache clearing
-        iterator = null;
+        super.finish(ctx);
+        iterator.clear(ctx);
     }
 
     @Override
@@ -55,15 +55,21 @@ public class SecWhile extends CodeSection implements Continuable, SelfReferencin
     }
 
     @Override
-    public Optional<? extends Statement> walk(TriggerContext ctx) {
+    @Nullable
+    public Statement advance(TriggerContext ctx) {
         Optional<? extends Boolean> cond = condition.getSingle(ctx);
         if (cond.isEmpty() || !cond.get().booleanValue()) {
-            return Optional.ofNullable(actualNext);
+            return actualNext;
         } else {
-            return getFirst();
+            return getFirstStatement();
         }
     }
 
+    @Override
+    public Optional<? extends Statement> walk(TriggerContext ctx) {
+        return Optional.ofNullable(advance(ctx));
+    }
+
     @Override
     public Statement setNext(@Nullable Statement next) {
         this.actualNext = next;
@@ -58,6 +58,7 @@ public class EffFunctionCall extends Effect {
             return false;
         }
         function = optionalFunction.get();
+        parseContext.getParserState().addFunctionDependency(function);
         FunctionParameter<?>[] functionParameters = function.getParameters();
         String exprString = result.group(2);
         PatternType<?> objectType = TypeManager.getPatternType("objects").get();
@@ -60,6 +60,7 @@ public class ExprFunctionCall implements Expression<Object> {
             return false;
         }
         function = optionalFunction.get();
+        parseContext.getParserState().addFunctionDependency(function);
         FunctionParameter<?>[] functionParameters = function.getParameters();
         String exprString = result.group(2);
         PatternType<?> objectType = TypeManager.getPatternType("objects").get();
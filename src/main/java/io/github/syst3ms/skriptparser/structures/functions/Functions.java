@@ -12,6 +12,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 public class Functions {
@@ -19,6 +20,8 @@ public class Functions {
     static final String FUNCTION_NAME_REGEX = "^[a-zA-Z0-9_]*";
     static final String FUNCTION_CALL_PATTERN = "<(" + Functions.FUNCTION_NAME_REGEX + ")\\((.*)\\)>";
     private static final Map<String, List<Function<?>>> functionsMap = new HashMap<>();
+    // The functions of the scripts being reloaded in the background, which only these scripts can see until published
+    private static final Map<String, List<Function<?>>> stagedFunctions = new HashMap<>();
     private static final Map<SkriptAddon, List<Function<?>>> FUNCTIONS_BY_ADDON = new HashMap<>();
     private static final String JAVA_FUNCTION_NAME = "java_functions_dont_change";
     private static final Pattern FUNCTION_NAME_PATTERN = Pattern.compile(FUNCTION_NAME_REGEX);
@@ -26,11 +29,11 @@ public class Functions {
     private Functions() {
     }
 
-    public static List<Function<?>> getFunctions(String scriptName) {
-        return functionsMap.getOrDefault(scriptName, List.of());
+    public static synchronized List<Function<?>> getFunctions(String scriptName) {
+        return List.copyOf(functionsMap.getOrDefault(scriptName, List.of()));
     }
 
-    public static List<Function<?>> getAllFunctions() {
+    public static synchronized List<Function<?>> getAllFunctions() {
         return functionsMap.values().stream().flatMap(List::stream).toList();
     }
 
@@ -38,16 +41,16 @@ public class Functions {
         return FUNCTIONS_BY_ADDON.getOrDefault(registration.getRegisterer(), List.of());
     }
 
-    static void preRegisterFunction(ScriptFunction<?> function) {
+    static synchronized void preRegisterFunction(ScriptFunction<?> function) {
         String scriptName = function.getScriptName();
-        functionsMap.computeIfAbsent(scriptName, k -> new ArrayList<>()).add(function);
+        visibleFunctions(scriptName).add(function);
     }
 
     public static void registerFunction(ScriptFunction<?> function, Trigger trigger) {
         function.setTrigger(trigger);
     }
 
-    public static void removeFunctions(String scriptName) {
+    public static synchronized void removeFunctions(String scriptName) {
         if (functionsMap.containsKey(scriptName)) {
             for (Function<?> function : functionsMap.get(scriptName)) {
                 if (function instanceof ScriptFunction<?> sf) {
@@ -58,14 +61,97 @@ public class Functions {
         functionsMap.put(scriptName, new ArrayList<>());
     }
 
-    public static void registerFunction(SkriptRegistration registration, JavaFunction<?> function) {
+    /**
+     * Removes the functions of a script, like {@link #removeFunctions(String)}, except for the given ones.
+     *
+     * @param scriptName the name of the script
+     * @param kept the functions to keep
+     */
+    public static synchronized void retainFunctions(String scriptName, Set<? extends Function<?>> kept) {
+        var functions = functionsMap.get(scriptName);
+        if (functions == null)
+            return;
+        functions.removeIf(function -> {
+            if (kept.contains(function))
+                return false;
+            if (function instanceof ScriptFunction<?> sf)
+                sf.setTrigger(null);
+            return true;
+        });
+    }
+
+    /**
+     * Starts staging the functions of a script that is being reloaded in the background. Until they are
+     * {@linkplain #publishFunctions(String) published}, the functions the script declares, as well as the given ones,
+     * are only visible when parsing that script, while its current functions stay in place for everything else.
+     * Staging again replaces the previously staged functions.
+     *
+     * @param scriptName the name of the script
+     * @param kept the current functions of the script that the new version keeps
+     */
+    public static synchronized void stageFunctions(String scriptName, Set<? extends Function<?>> kept) {
+        List<Function<?>> staged = new ArrayList<>();
+        for (var function : functionsMap.getOrDefault(scriptName, List.of())) {
+            if (kept.contains(function))
+                staged.add(function);
+        }
+        stagedFunctions.put(scriptName, staged);
+    }
+
+    /**
+     * Replaces the functions of a script with its {@linkplain #stageFunctions(String, Set) staged} ones. The replaced
+     * functions are left as they are, so that triggers still calling them keep working until they are unloaded.
+     *
+     * @param scriptName the name of the script
+     */
+    public static synchronized void publishFunctions(String scriptName) {
+        var staged = stagedFunctions.remove(scriptName);
+        if (staged != null)
+            functionsMap.put(scriptName, staged);
+    }
+
+    /**
+     * Forgets the {@linkplain #stageFunctions(String, Set) staged} functions of a script, leaving its current ones
+     * in place.
+     *
+     * @param scriptName the name of the script
+     */
+    public static synchronized void discardFunctions(String scriptName) {
+        stagedFunctions.remove(scriptName);
+    }
+
+    /**
+     * Removes a single function of a script. When the script is being reloaded in the background, the function is only
+     * removed from its {@linkplain #stageFunctions(String, Set) staged} functions, and left as it is for its current
+     * version.
+     *
+     * @param scriptName the name of the script
+     * @param function the function to remove
+     */
+    public static synchronized void removeFunction(String scriptName, Function<?> function) {
+        var staged = stagedFunctions.get(scriptName);
+        if (staged != null) {
+            staged.remove(function);
+            return;
+        }
+        var functions = functionsMap.get(scriptName);
+        if (functions != null && functions.remove(function) && function instanceof ScriptFunction<?> sf)
+            sf.setTrigger(null);
+    }
+
+    private static List<Function<?>> visibleFunctions(String scriptName) {
+        var staged = stagedFunctions.get(scriptName);
+        return staged != null ? staged : functionsMap.computeIfAbsent(scriptName, k -> new ArrayList<>());
+    }
+
+    public static synchronized void registerFunction(SkriptRegistration registration, JavaFunction<?> function) {
         functionsMap.computeIfAbsent(JAVA_FUNCTION_NAME, k -> new ArrayList<>()).add(function);
         FUNCTIONS_BY_ADDON.computeIfAbsent(registration.getRegisterer(), k -> new ArrayList<>()).add(function);
     }
 
-    public static boolean isValidFunction(ScriptFunction<?> function, SkriptLogger logger) {
+    public static synchronized boolean isValidFunction(ScriptFunction<?> function, SkriptLogger logger) {
         String scriptName = function.getScriptName();
-        for (Function<?> registeredFunction : functionsMap.computeIfAbsent(scriptName, k -> new ArrayList<>())) {
+        for (Function<?> registeredFunction : visibleFunctions(scriptName)) {
             String registeredFunctionName = registeredFunction.getName();
             String providedFunctionName = function.getName();
             if (!registeredFunctionName.equals(providedFunctionName)) continue;
@@ -96,7 +182,7 @@ public class Functions {
         return true;
     }
 
-    public static Optional<Function<?>> getFunctionByName(String name, String scriptName) {
+    public static synchronized Optional<Function<?>> getFunctionByName(String name, String scriptName) {
         // Find a JavaFunction
         for (Function<?> function : functionsMap.computeIfAbsent(JAVA_FUNCTION_NAME, k -> new ArrayList<>())) {
             if (function.getName().equals(name)) {
@@ -107,7 +193,21 @@ public class Functions {
         // Find a function in a script file
         if (scriptName.endsWith(".sk")) scriptName = scriptName.substring(0, scriptName.length() - 3);
 
-        for (Function<?> registeredFunction : getAllFunctions()) {
+        // The functions of the script itself shadow the ones of other scripts
+        var staged = stagedFunctions.get(scriptName);
+        for (Function<?> function : staged != null ? staged : functionsMap.getOrDefault(scriptName, List.of())) {
+            if (function.getName().equals(name))
+                return Optional.of(function);
+        }
+
+        var candidates = getAllFunctions();
+        if (staged != null) {
+            // The script being parsed sees its own staged functions instead of its current ones
+            candidates = new ArrayList<>(candidates);
+            candidates.removeAll(functionsMap.getOrDefault(scriptName, List.of()));
+            candidates.addAll(staged);
+        }
+        for (Function<?> registeredFunction : candidates) {
             if (!registeredFunction.getName().equals(name))
                 continue; // we don't care then!!!! goodbye continue to the next one
             if (registeredFunction instanceof ScriptFunction<?> registeredScriptFunction
@@ -111,6 +111,10 @@ public class StructFunction extends Structure {
         return functionName;
     }
 
+    public ScriptFunction<?> getFunction() {
+        return function;
+    }
+
     public void register(Trigger trigger) {
         Functions.registerFunction(function, trigger);
     }
@@ -0,0 +1,53 @@
+package io.github.syst3ms.skriptparser.types;
+
+/**
+ * A rough classification of what a literal looks like, obtained by only looking at its first characters.
+ * Every {@link Type} declares which shapes its literal parser is able to accept, so that trying to parse a string as a
+ * literal only has to run the parsers that could possibly succeed, instead of every parser of every compatible type.
+ * Types that don't declare anything accept all shapes.
+ *
+ * @see Type#acceptsLiteralShape(LiteralShape)
+ */
+public enum LiteralShape {
+    /**
+     * Starts with a digit, a sign or a decimal point, like {@code 5}, {@code -2.5}, {@code 12:30} or {@code 3 seconds}.
+     * The special values {@code NaN} and {@code Infinity} that Java accepts as numbers also belong here.
+     */
+    NUMERIC,
+    /**
+     * Starts with a letter, like {@code true}, {@code light blue} or {@code a second}
+     */
+    WORD,
+    /**
+     * Starts with a single or a double quote, like {@code "Hello"}
+     */
+    QUOTED,
+    /**
+     * Anything else
+     */
+    OTHER;
+
+    /**
+     * Classifies the given string. Leading whitespace is ignored, like {@link Double#parseDouble(String)} does.
+     *
+     * @param s the string
+     * @return the shape of the string
+     */
+    public static LiteralShape of(String s) {
+        var i = 0;
+        while (i < s.length() && s.charAt(i) <= ' ')
+            i++;
+        if (i == s.length())
+            return OTHER;
+        var c = s.charAt(i);
+        if (c >= '0' && c <= '9' || c == '.' || c == '+' || c == '-') {
+            return NUMERIC;
+        } else if (c == '"' || c == '\'') {
+            return QUOTED;
+        } else if (Character.isLetter(c)) {
+            return s.startsWith("NaN", i) || s.startsWith("Infinity", i) ? NUMERIC : WORD;
+        } else {
+            return OTHER;
+        }
+    }
+}
@@ -8,9 +8,11 @@ import io.github.syst3ms.skriptparser.util.StringUtils;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -24,6 +26,8 @@ public class Type<T> {
     @Nullable
     private final Function<String, ? extends T> literalParser;
 
+    private final Set<LiteralShape> literalShapes;
+
     @Nullable
     private final Changer<? super T> defaultChanger;
 
@@ -133,11 +137,32 @@ public class Type<T> {
         this(typeClass, baseName, pattern, literalParser, toStringFunction, toVariableNameFunction, defaultChanger, arithmetic, documentation, null, supplier);
     }
 
+    public Type(Class<T> typeClass,
+                String baseName,
+                String pattern,
+                @Nullable Function<String, ? extends T> literalParser,
+                Function<? super T, String> toStringFunction,
+                @Nullable Function<? super T, String> toVariableNameFunction,
+                @Nullable Changer<? super T> defaultChanger,
+                @Nullable Arithmetic<T, ?> arithmetic, Documentation documentation,
+                @Nullable TypeSerializer<T> serializer,
+                @Nullable Supplier<Iterator<T>> supplier) {
+        this(typeClass, baseName, pattern, literalParser, EnumSet.allOf(LiteralShape.class), toStringFunction, toVariableNameFunction, defaultChanger, arithmetic, documentation, serializer, supplier);
+    }
+
+    /**
+     * Constructs a new Type.
+     *
+     * @param literalShapes the {@linkplain LiteralShape shapes} of the strings the literal parser is able to parse.
+     *                      Other strings are never handed to the literal parser when parsing code.
+     * @see #Type(Class, String, String, Function, Function, Function, Changer, Arithmetic, Documentation, TypeSerializer, Supplier)
+     */
     @SuppressWarnings("unchecked")
     public Type(Class<T> typeClass,
                 String baseName,
                 String pattern,
                 @Nullable Function<String, ? extends T> literalParser,
+                Set<LiteralShape> literalShapes,
                 Function<? super T, String> toStringFunction,
                 @Nullable Function<? super T, String> toVariableNameFunction,
                 @Nullable Changer<? super T> defaultChanger,
@@ -147,6 +172,7 @@ public class Type<T> {
         this.typeClass = typeClass;
         this.baseName = baseName;
         this.literalParser = literalParser;
+        this.literalShapes = Set.copyOf(literalShapes);
         this.toStringFunction = (Function<Object, String>) toStringFunction;
         this.toVariableNameFunction = (Function<Object, String>) toVariableNameFunction;
         this.pluralForms = StringUtils.getForms(pattern.strip());
@@ -196,6 +222,14 @@ public class Type<T> {
         return Optional.ofNullable(literalParser);
     }
 
+    /**
+     * @param shape the shape of a string
+     * @return whether the literal parser of this type could possibly parse a string of the given shape
+     */
+    public boolean acceptsLiteralShape(LiteralShape shape) {
+        return literalShapes.contains(shape);
+    }
+
     public Optional<? extends Changer<? super T>> getDefaultChanger() {
         return Optional.ofNullable(defaultChanger);
     }
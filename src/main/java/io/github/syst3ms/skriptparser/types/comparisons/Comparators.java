@@ -6,10 +6,10 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
@@ -27,7 +27,7 @@ public class Comparators {
     };
 
     private static final Collection<ComparatorInfo<?, ?>> comparators = new ArrayList<>();
-    private final static Map<Pair<Class<?>, Class<?>>, Comparator<?, ?>> comparatorsQuickAccess = new HashMap<>();
+    private final static Map<Pair<Class<?>, Class<?>>, Comparator<?, ?>> comparatorsQuickAccess = new ConcurrentHashMap<>();
 
     /**
      * Registers a {@link Comparator}.
@@ -55,8 +55,9 @@ public class Comparators {
     @SuppressWarnings("unchecked")
     public static <F, S> Optional<? extends Comparator<? super F, ? super S>> getComparator(Class<F> f, Class<S> s) {
         var p = new Pair<Class<?>, Class<?>>(f, s);
-        if (comparatorsQuickAccess.containsKey(p))
-            return Optional.ofNullable((Comparator<? super F, ? super S>) comparatorsQuickAccess.get(p));
+        var cached = (Comparator<? super F, ? super S>) comparatorsQuickAccess.get(p);
+        if (cached != null)
+            return Optional.of(cached);
         var comp = getComparatorInternal(f, s);
         comp.ifPresent(c -> comparatorsQuickAccess.put(p, c));
         return comp;
@@ -8,10 +8,10 @@ import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
@@ -36,7 +36,7 @@ public abstract class Converters {
     public static final int NO_CHAINING = NO_LEFT_CHAINING | NO_RIGHT_CHAINING;
 
     private static final List<ConverterInfo<?, ?>> converters = new ArrayList<>(50);
-    private final static Map<Pair<Class<?>, Class<?>>, Function<?, ?>> convertersCache = new HashMap<>();
+    private final static Map<Pair<Class<?>, Class<?>>, Function<?, ?>> convertersCache = new ConcurrentHashMap<>();
 
     public static List<ConverterInfo<?, ?>> getConverters() {
         return Collections.unmodifiableList(converters);
@@ -253,8 +253,9 @@ public abstract class Converters {
     @SuppressWarnings("unchecked")
     public static <F, T> Optional<? extends Function<? super F, Optional<? extends T>>> getConverter(Class<F> from, Class<T> to) {
         var p = new Pair<Class<?>, Class<?>>(from, to);
-        if (convertersCache.containsKey(p)) // can contain null to denote nonexistence of a converter
-            return Optional.ofNullable((Function<? super F, Optional<? extends T>>) convertersCache.get(p));
+        var cached = (Function<? super F, Optional<? extends T>>) convertersCache.get(p);
+        if (cached != null)
+            return Optional.of(cached);
         var c = getConverterInternal(from, to);
         c.ifPresent(con -> convertersCache.put(p, con));
         return c;
@@ -1,5 +1,15 @@
 package io.github.syst3ms.skriptparser.util;
 
+import io.github.syst3ms.skriptparser.parsing.SkriptParserException;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Modifier;
+import java.util.function.Supplier;
+
 /**
  * Utility functions for Class objects
  */
@@ -50,4 +60,75 @@ public class ClassUtils {
         }
         return r;
     }
+
+    /**
+     * Creates a factory calling the no-argument constructor of the given class. Whenever possible, the factory is
+     * generated through {@link LambdaMetafactory}, making each call as cheap as a plain {@code new}, without any
+     * reflective access check. Otherwise, it falls back to the reflective constructor, looked up once.
+     * <p>
+     * If the class cannot be instantiated this way at all, or if its constructor throws an exception, calls to the
+     * returned factory throw a {@link SkriptParserException}, the exception of the constructor being its cause.
+     *
+     * @param c the class
+     * @param <T> the type of the class
+     * @return a factory creating new instances of the class
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Supplier<T> getConstructorFactory(Class<T> c) {
+        if (c.isInterface() || Modifier.isAbstract(c.getModifiers()))
+            return failingFactory(c, null);
+        try {
+            var lookup = MethodHandles.privateLookupIn(c, MethodHandles.lookup());
+            var constructor = lookup.findConstructor(c, MethodType.methodType(void.class));
+            var site = LambdaMetafactory.metafactory(
+                    lookup,
+                    "get",
+                    MethodType.methodType(Supplier.class),
+                    MethodType.methodType(Object.class),
+                    constructor,
+                    MethodType.methodType(c)
+            );
+            var factory = (Supplier<T>) site.getTarget().invokeExact();
+            return () -> {
+                try {
+                    return factory.get();
+                } catch (RuntimeException e) {
+                    throw failure(c, e);
+                }
+            };
+        } catch (ReflectiveOperationException | LambdaConversionException | IllegalArgumentException | SecurityException | LinkageError ignored) {
+            // Classes from other modules or class loaders may not be accessible this way
+        } catch (Throwable t) {
+            // Nothing else is thrown while generating the factory, except for errors that shouldn't be ignored
+            if (t instanceof Error error)
+                throw error;
+            throw new IllegalStateException(t);
+        }
+        try {
+            var constructor = c.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return () -> {
+                try {
+                    return constructor.newInstance();
+                } catch (ReflectiveOperationException e) {
+                    throw failure(c, e);
+                }
+            };
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return failingFactory(c, e);
+        }
+    }
+
+    private static <T> Supplier<T> failingFactory(Class<T> c, @Nullable Exception cause) {
+        return () -> {
+            throw failure(c, cause);
+        };
+    }
+
+    private static SkriptParserException failure(Class<?> c, @Nullable Exception cause) {
+        var exception = new SkriptParserException("Couldn't instantiate class " + c);
+        if (cause != null)
+            exception.initCause(cause);
+        return exception;
+    }
 }
@@ -7,6 +7,8 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -127,6 +129,27 @@ public class FileUtils {
         return filename.substring(0, extensionIndex);
     }
 
+    /**
+     * Hashes some content, for example to detect whether a file has changed since it was last read.
+     *
+     * @param content the content
+     * @return the SHA-256 hash of the content, as a hexadecimal string
+     */
+    public static String hash(CharSequence content) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Every Java platform must support SHA-256", e);
+        }
+        var bytes = digest.digest(content.toString().getBytes(StandardCharsets.UTF_8));
+        var builder = new StringBuilder(bytes.length * 2);
+        for (var b : bytes) {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+
     /**
      * Loads all classes of selected packages of the provided JAR file.
      *
@@ -87,11 +87,10 @@ public class StringUtils {
     public static int nextSimpleCharacterIndex(String s, int index) {
         if (index < 0)
             throw new StringIndexOutOfBoundsException(index);
-        var chars = s.toCharArray();
-        for (var i = index; i < chars.length; i++) {
-            var c = chars[i];
+        for (var i = index; i < s.length(); i++) {
+            var c = s.charAt(i);
             if (c == '\\') {
-                if (i == chars.length - 1)
+                if (i == s.length() - 1)
                     return -1;
                 return i + 1;
             } else if (c == '{') {
@@ -0,0 +1,205 @@
+package io.github.syst3ms.skriptparser.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToIntFunction;
+
+/**
+ * Ranks syntaxes by how often they were used lately, separately for every context they are parsed in, in order to
+ * preemptively check the ones that are most likely to match a string that's being parsed.
+ * <p>
+ * Every use of a syntax adds one to its score in the context it was used in. Scores decay exponentially with the
+ * number of uses that happened in that context since, losing half of their value every {@link #HALF_LIFE} uses, so
+ * that syntaxes that stopped being used eventually leave their place to newer ones. Only the {@link #MAX_RANKED}
+ * best syntaxes of each context are moved in front of the others, which keep their original order.
+ * <p>
+ * Ranking never overrides priorities: candidates are expected to be sorted by decreasing priority, and syntaxes are
+ * only moved in front of the ones that have the same priority as them. Ambiguities between syntaxes that could
+ * match the same string must therefore be resolved with priorities, not with the order syntaxes happened to be used
+ * in.
+ * <p>
+ * Updates don't take any lock, so a ranking can be shared by multiple threads parsing at the same time.
+ *
+ * @param <K> the type of the contexts
+ * @param <T> the type of the syntaxes
+ */
+public class SyntaxRanking<K, T> {
+    /**
+     * The number of uses in a context after which a score in that context is halved
+     */
+    public static final int HALF_LIFE = 64;
+    /**
+     * Moving many syntaxes in front of the others would make trying a syntax that isn't used often slower, since all
+     * of those would have to be tried beforehand. Hence, the number of ranked syntaxes is capped.
+     */
+    public static final int MAX_RANKED = 10;
+    // The number of uses after which the best syntaxes of a context are determined again, even if no new syntax
+    // made it among them
+    private static final int REFRESH_INTERVAL = 16;
+    // Sorts by decreasing score, then by first use
+    private static final Comparator<Ranked<?>> RANKED_COMPARATOR = Comparator.<Ranked<?>>comparingDouble(Ranked::value)
+            .reversed()
+            .thenComparingLong(Ranked::since);
+
+    private final Map<K, Context<T>> contexts = new ConcurrentHashMap<>();
+    private final ToIntFunction<? super T> priority;
+
+    /**
+     * Creates a ranking in which all syntaxes have the same priority.
+     */
+    public SyntaxRanking() {
+        this(element -> 0);
+    }
+
+    /**
+     * Creates a ranking that keeps syntaxes with a higher priority in front of the others.
+     *
+     * @param priority the priority of a syntax
+     */
+    public SyntaxRanking(ToIntFunction<? super T> priority) {
+        this.priority = priority;
+    }
+
+    /**
+     * Acknowledges that a syntax was successfully parsed in the given context.
+     *
+     * @param context the context
+     * @param element the syntax
+     */
+    public void acknowledge(K context, T element) {
+        contexts.computeIfAbsent(context, __ -> new Context<>()).acknowledge(element);
+    }
+
+    /**
+     * Moves the best ranked syntaxes of the given context in front of the others with the same priority, without
+     * modifying the given list.
+     *
+     * @param context the context
+     * @param candidates the syntaxes that could match, sorted by decreasing priority, in the order they would be tried
+     *                   in otherwise
+     * @param <E> the type of the candidates
+     * @return the candidates, in the order they should be tried in
+     */
+    public <E extends T> List<E> rank(K context, List<E> candidates) {
+        var ranking = contexts.get(context);
+        if (ranking == null)
+            return candidates;
+        var best = ranking.best;
+        if (best.isEmpty() || candidates.stream().noneMatch(best::containsKey))
+            return candidates;
+        List<E> result = new ArrayList<>(candidates.size());
+        var start = 0;
+        while (start < candidates.size()) {
+            var groupPriority = priority.applyAsInt(candidates.get(start));
+            var end = start + 1;
+            while (end < candidates.size() && priority.applyAsInt(candidates.get(end)) == groupPriority)
+                end++;
+            rankGroup(best, candidates.subList(start, end), result);
+            start = end;
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> void rankGroup(Map<?, Integer> best, List<E> group, List<E> result) {
+        var ranked = new Object[best.size()];
+        List<E> others = new ArrayList<>(group.size());
+        for (var candidate : group) {
+            var rank = best.get(candidate);
+            if (rank != null) {
+                ranked[rank] = candidate;
+            } else {
+                others.add(candidate);
+            }
+        }
+        for (var element : ranked) {
+            if (element != null)
+                result.add((E) element);
+        }
+        result.addAll(others);
+    }
+
+    /**
+     * @return the current score of every syntax that was used, by context, from the highest to the lowest
+     */
+    public Map<K, Map<T, Double>> getStatistics() {
+        Map<K, Map<T, Double>> statistics = new HashMap<>();
+        contexts.forEach((context, ranking) -> statistics.put(context, ranking.getScores()));
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    /*
+     * The use a syntax was first seen at breaks ties, so that rankings don't depend on hash codes
+     */
+    private record Score(double value, long time, long since) {
+        double at(long now) {
+            return now > time ? value * Math.pow(0.5, (double) (now - time) / HALF_LIFE) : value;
+        }
+    }
+
+    private record Ranked<T>(T element, double value, long since) {
+    }
+
+    private static class Context<T> {
+        private final Map<T, AtomicReference<Score>> scores = new ConcurrentHashMap<>();
+        private final AtomicLong uses = new AtomicLong();
+        // The best syntaxes, along with their rank
+        private volatile Map<T, Integer> best = Map.of();
+        // The lowest score among the best syntaxes when they were determined, which doesn't matter unless there are
+        // already MAX_RANKED of them
+        private volatile Score threshold = new Score(0, 0, 0);
+        private volatile long refreshedAt;
+
+        void acknowledge(T element) {
+            var now = uses.incrementAndGet();
+            // Another thread may have updated the score with a later use in the meantime
+            var score = scores.computeIfAbsent(element, __ -> new AtomicReference<>(new Score(0, now, now)))
+                    .updateAndGet(s -> new Score(s.at(now) + 1, Math.max(now, s.time()), s.since()));
+            var current = best;
+            if (now - refreshedAt >= REFRESH_INTERVAL
+                    || !current.containsKey(element) && (current.size() < MAX_RANKED || score.value() > threshold.at(now)))
+                refresh(now);
+        }
+
+        /*
+         * Threads refreshing at the same time compute about the same result, so the last one to finish simply wins.
+         */
+        private void refresh(long now) {
+            var entries = getSortedScores(now);
+            var size = Math.min(entries.size(), MAX_RANKED);
+            Map<T, Integer> ranks = new HashMap<>(size * 2);
+            for (var i = 0; i < size; i++) {
+                ranks.put(entries.get(i).element(), i);
+            }
+            threshold = new Score(size > 0 ? entries.get(size - 1).value() : 0, now, 0);
+            refreshedAt = now;
+            best = ranks;
+        }
+
+        Map<T, Double> getScores() {
+            Map<T, Double> scores = new LinkedHashMap<>();
+            for (var entry : getSortedScores(uses.get())) {
+                scores.put(entry.element(), entry.value());
+            }
+            return Collections.unmodifiableMap(scores);
+        }
+
+        private List<Ranked<T>> getSortedScores(long now) {
+            List<Ranked<T>> entries = new ArrayList<>(scores.size());
+            scores.forEach((element, reference) -> {
+                var score = reference.get();
+                entries.add(new Ranked<>(element, score.at(now), score.since()));
+            });
+            entries.sort(RANKED_COMPARATOR);
+            return entries;
+        }
+    }
+}
@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -37,7 +38,12 @@ public class Variables {
     public static final String LIST_SEPARATOR = "::";
     static final MultiMap<Class<? extends VariableStorage>, String> AVAILABLE_STORAGES = new MultiMap<>();
     static final List<VariableStorage> STORAGES = new ArrayList<>();
-    private static final Map<TriggerContext, VariableMap> localVariables = new HashMap<>(); // Make trigger-specific
+    private static final Map<TriggerContext, VariableMap> localVariables = Collections.synchronizedMap(new HashMap<>());
+    /**
+     * The local variables of the trigger running on the current thread, when it doesn't share them with the other
+     * triggers running with the same context. Threads started by that trigger, like the ones of delays, inherit them.
+     */
+    private static final InheritableThreadLocal<LocalScope> LOCAL_SCOPE = new InheritableThreadLocal<>();
     private static final VariableMap variableMap = new VariableMap();
     private static final ReentrantLock LOCK = new ReentrantLock();
     /**
@@ -217,7 +223,7 @@ public class Variables {
      */
     public static Optional<Object> getVariable(String name, TriggerContext e, boolean local) {
         if (local) {
-            var map = localVariables.get(e);
+            var map = getLocalVariables(e, false);
             if (map == null)
                 return Optional.empty();
             return map.getVariable(name);
@@ -235,9 +241,8 @@ public class Variables {
     public static void setVariable(String name, @Nullable Object value, @Nullable TriggerContext e, boolean local) {
         if (local) {
             assert e != null : name;
-            var map = localVariables.get(e);
-            if (map == null)
-                localVariables.put(e, map = new VariableMap());
+            var map = getLocalVariables(e, true);
+            assert map != null;
             map.setVariable(name, value);
         } else {
             variableMap.setVariable(name, value);
@@ -293,8 +298,9 @@ public class Variables {
      * @param to   The destination TriggerContext
      */
     public static void copyLocalVariables(TriggerContext from, TriggerContext to) {
-        if (localVariables.containsKey(from)) {
-            localVariables.put(to, localVariables.get(from));
+        var map = getLocalVariables(from, false);
+        if (map != null) {
+            setLocalVariables(to, map);
         }
     }
 
@@ -305,10 +311,8 @@ public class Variables {
      * @return A copy of local variables
      */
     public static VariableMap copyLocalVariables(TriggerContext from) {
-        if (localVariables.containsKey(from)) {
-            return localVariables.get(from);
-        }
-        return new VariableMap();
+        var map = getLocalVariables(from, false);
+        return map != null ? map : new VariableMap();
     }
 
     /**
@@ -318,7 +322,12 @@ public class Variables {
      * @param map     The VariableMap to set
      */
     public static void setLocalVariables(TriggerContext context, VariableMap map) {
-        localVariables.put(context, map);
+        var scope = LOCAL_SCOPE.get();
+        if (scope != null && scope.context == context) {
+            scope.variables = map;
+        } else {
+            localVariables.put(context, map);
+        }
     }
 
     /**
@@ -327,7 +336,51 @@ public class Variables {
      * @param ctx The TriggerContext to clear variables for
      */
     public static void clearLocalVariables(TriggerContext ctx) {
-        localVariables.remove(ctx);
+        var scope = LOCAL_SCOPE.get();
+        if (scope != null && scope.context == ctx) {
+            scope.variables = new VariableMap();
+        } else {
+            localVariables.remove(ctx);
+        }
+    }
+
+    /**
+     * Runs code with local variables of its own for the given TriggerContext, which start empty and are discarded
+     * afterwards. Within that code, and within the threads it starts, the local variables of that context are
+     * isolated from the ones of any other code running with the same context.
+     *
+     * @param ctx  The TriggerContext whose local variables are isolated
+     * @param code The code to run
+     */
+    public static void runWithOwnLocalVariables(TriggerContext ctx, Runnable code) {
+        var previous = LOCAL_SCOPE.get();
+        LOCAL_SCOPE.set(new LocalScope(ctx));
+        try {
+            code.run();
+        } finally {
+            if (previous == null) {
+                LOCAL_SCOPE.remove();
+            } else {
+                LOCAL_SCOPE.set(previous);
+            }
+        }
+    }
+
+    @Nullable
+    private static VariableMap getLocalVariables(@Nullable TriggerContext ctx, boolean create) {
+        var scope = LOCAL_SCOPE.get();
+        if (scope != null && scope.context == ctx)
+            return scope.variables;
+        return create ? localVariables.computeIfAbsent(ctx, __ -> new VariableMap()) : localVariables.get(ctx);
+    }
+
+    private static class LocalScope {
+        private final TriggerContext context;
+        private VariableMap variables = new VariableMap();
+
+        LocalScope(TriggerContext context) {
+            this.context = context;
+        }
     }
 
     /**
@@ -11,6 +11,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 
 public class FileParserTest {
     private FileElement simpleFileLine(String content, int indentation, int line) {
@@ -101,6 +102,18 @@ public class FileParserTest {
 //        );
     }
 
+    @Test
+    public void fingerprint() {
+        var section = (FileSection) parseLines(Arrays.asList("section:", "\tfirst", "\tsecond")).get(0);
+        // Line numbers, blank lines and comments don't matter
+        var moved = (FileSection) parseLines(Arrays.asList("", "section:", "\tfirst", "", "\t# comment", "\tsecond")).get(1);
+        assertEquals(section.getFingerprint(), moved.getFingerprint());
+        var changed = (FileSection) parseLines(Arrays.asList("section:", "\tfirst", "\tthird")).get(0);
+        assertNotEquals(section.getFingerprint(), changed.getFingerprint());
+        var nested = (FileSection) parseLines(Arrays.asList("section:", "\tfirst:", "\t\tsecond")).get(0);
+        assertNotEquals(section.getFingerprint(), nested.getFingerprint());
+    }
+
     @Test
     public void readLines() throws Exception {
         Path filePath = Paths.get(ClassLoader.getSystemResource("misc/multiline.txt").toURI());
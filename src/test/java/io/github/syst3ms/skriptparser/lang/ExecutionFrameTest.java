@@ -0,0 +1,119 @@
+package io.github.syst3ms.skriptparser.lang;
+
+import io.github.syst3ms.skriptparser.TestRegistration;
+import io.github.syst3ms.skriptparser.file.FileParser;
+import io.github.syst3ms.skriptparser.file.FileSection;
+import io.github.syst3ms.skriptparser.log.SkriptLogger;
+import io.github.syst3ms.skriptparser.parsing.ParserState;
+import io.github.syst3ms.skriptparser.parsing.ScriptLoader;
+import io.github.syst3ms.skriptparser.syntax.EffStep;
+import io.github.syst3ms.skriptparser.syntax.TestContext.SubTestContext;
+import io.github.syst3ms.skriptparser.variables.Variables;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ExecutionFrameTest {
+    static {
+        TestRegistration.register();
+    }
+
+    private static final String[] WAITING_LOOP = {
+        "loop 3 times:",
+        "\twait 5 milliseconds",
+        "\tadd loop-number to {_sum}",
+        "set {_done} to true"
+    };
+
+    private static List<Statement> load(String... lines) {
+        var logger = new SkriptLogger();
+        var elements = FileParser.parseFileLines("unit-tests", Arrays.asList(lines), 0, 1, logger);
+        logger.setFileInfo("unit-tests", elements);
+        var section = new FileSection("unit-tests", 0, "unit-tests", elements, 0);
+        return ScriptLoader.loadItems(section, new ParserState(), logger);
+    }
+
+    /*
+     * Waits for the execution running with the given context to be done, returning the sum it computed
+     */
+    private static int awaitSum(TriggerContext ctx) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        try {
+            while (Variables.getVariable("done", ctx, true).isEmpty()) {
+                if (System.nanoTime() > deadline)
+                    fail("The execution never finished");
+                Thread.sleep(5);
+            }
+            return ((Number) Variables.getVariable("sum", ctx, true).orElseThrow(AssertionError::new)).intValue();
+        } finally {
+            Variables.clearLocalVariables(ctx);
+        }
+    }
+
+    @Test
+    public void loopWithWait() throws InterruptedException {
+        var items = load(WAITING_LOOP);
+        var ctx = new SubTestContext();
+        // This returns as soon as the loop starts waiting, which doesn't end the execution
+        assertTrue(Statement.runAll(items.get(0), ctx));
+        assertEquals(1 + 2 + 3, awaitSum(ctx));
+    }
+
+    @Test
+    public void concurrentExecutions() throws InterruptedException {
+        var items = load(WAITING_LOOP);
+        var first = new SubTestContext();
+        var second = new SubTestContext();
+        // Both loops then run at the same time, each on its own
+        Statement.runAll(items.get(0), first);
+        Statement.runAll(items.get(0), second);
+        assertEquals(1 + 2 + 3, awaitSum(first));
+        assertEquals(1 + 2 + 3, awaitSum(second));
+    }
+
+    @Test
+    public void sameContext() throws InterruptedException {
+        var slot = new ExecutionFrame.Layout().<String>newSlot();
+        var barrier = new CyclicBarrier(2);
+        Map<String, String> seen = new ConcurrentHashMap<>();
+        var remember = new EffStep(ctx -> slot.set(ctx, Thread.currentThread().getName()));
+        remember.setNext(new EffStep(ctx -> {
+            try {
+                // Both executions remembered their value before either of them reads it
+                barrier.await(5, TimeUnit.SECONDS);
+            } catch (BrokenBarrierException | TimeoutException e) {
+                throw new AssertionError(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+            seen.put(Thread.currentThread().getName(), slot.get(ctx));
+        }));
+
+        var threads = new Thread[] {
+            new Thread(() -> Statement.runAll(remember, TriggerContext.DUMMY), "first"),
+            new Thread(() -> Statement.runAll(remember, TriggerContext.DUMMY), "second")
+        };
+        for (var thread : threads) {
+            thread.start();
+        }
+        for (var thread : threads) {
+            thread.join();
+        }
+        assertEquals(Map.of("first", "first", "second", "second"), seen);
+        // Nothing is left behind once the executions are over
+        assertNull(slot.get(TriggerContext.DUMMY));
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.syst3ms.skriptparser.lang;
+
+import io.github.syst3ms.skriptparser.parsing.ParseContext;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class StatementTest {
+    private final List<String> ran = new ArrayList<>();
+
+    private class Recorded extends Effect {
+        private final String name;
+
+        Recorded(String name) {
+            this.name = name;
+        }
+
+        @Override
+        protected void execute(TriggerContext ctx) {
+            ran.add(name);
+        }
+
+        @Override
+        public boolean init(Expression<?>[] expressions, int matchedPattern, ParseContext parseContext) {
+            return true;
+        }
+
+        @Override
+        public String toString(TriggerContext ctx, boolean debug) {
+            return name;
+        }
+    }
+
+    private class SuperWalking extends Recorded {
+        SuperWalking(String name) {
+            super(name);
+        }
+
+        @Override
+        public Optional<? extends Statement> walk(TriggerContext ctx) {
+            ran.add("walked");
+            return super.walk(ctx);
+        }
+    }
+
+    private class SuperAdvancing extends Recorded {
+        SuperAdvancing(String name) {
+            super(name);
+        }
+
+        @Override
+        @Nullable
+        public Statement advance(TriggerContext ctx) {
+            ran.add("advanced");
+            return super.advance(ctx);
+        }
+    }
+
+    @Test
+    public void walkCallingSuper() {
+        var first = new SuperWalking("first");
+        first.setNext(new Recorded("second"));
+        assertTrue(Statement.runAll(first, TriggerContext.DUMMY));
+        assertEquals(List.of("walked", "first", "second"), ran);
+        ran.clear();
+        // Walking it directly does the same
+        assertEquals(Optional.of(first.getNextStatement()), first.walk(TriggerContext.DUMMY));
+        assertEquals(List.of("walked", "first"), ran);
+    }
+
+    @Test
+    public void advanceCallingSuper() {
+        var first = new SuperAdvancing("first");
+        first.setNext(new Recorded("second"));
+        assertTrue(Statement.runAll(first, TriggerContext.DUMMY));
+        assertEquals(List.of("advanced", "first", "second"), ran);
+        ran.clear();
+        assertEquals(Optional.of(first.getNextStatement()), first.walk(TriggerContext.DUMMY));
+        assertEquals(List.of("advanced", "first"), ran);
+    }
+}
@@ -0,0 +1,248 @@
+package io.github.syst3ms.skriptparser.lang;
+
+import io.github.syst3ms.skriptparser.lang.event.SkriptEvent;
+import io.github.syst3ms.skriptparser.syntax.EffStep;
+import io.github.syst3ms.skriptparser.variables.Variables;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TriggerMapTest {
+    private static final String FIRST_SCRIPT = "trigger-map-first";
+    private static final String SECOND_SCRIPT = "trigger-map-second";
+
+    private static class ParentContext implements TriggerContext {
+        @Override
+        public String getName() {
+            return "parent";
+        }
+    }
+
+    private static class ChildContext extends ParentContext {
+        @Override
+        public String getName() {
+            return "child";
+        }
+    }
+
+    private static class TestEvent extends SkriptEvent {
+        private final int priority;
+
+        TestEvent(int priority) {
+            this.priority = priority;
+        }
+
+        @Override
+        public boolean check(TriggerContext ctx) {
+            return true;
+        }
+
+        @Override
+        public int getLoadingPriority() {
+            return priority;
+        }
+
+        @Override
+        public String toString(TriggerContext ctx, boolean debug) {
+            return "test event";
+        }
+    }
+
+    private static class TriggerError extends Error {
+    }
+
+    @After
+    public void clearScripts() {
+        TriggerMap.clearTriggers(FIRST_SCRIPT);
+        TriggerMap.clearTriggers(SECOND_SCRIPT);
+        TriggerMap.setDispatch(ParentContext.class, null);
+        TriggerMap.setDispatch(ChildContext.class, null);
+        TriggerMap.setPriorityGroups(true);
+    }
+
+    @SafeVarargs
+    private static Trigger newTrigger(int priority, Consumer<TriggerContext>... steps) {
+        var trigger = new Trigger(new TestEvent(priority));
+        List<Statement> items = new ArrayList<>();
+        for (var step : steps) {
+            var item = new EffStep(step);
+            if (!items.isEmpty())
+                items.get(items.size() - 1).setNext(item);
+            items.add(item);
+        }
+        trigger.setItems(items);
+        return trigger;
+    }
+
+    private static Trigger newTrigger() {
+        return newTrigger(500);
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(5, TimeUnit.SECONDS);
+        } catch (BrokenBarrierException | TimeoutException e) {
+            throw new AssertionError(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError(e);
+        }
+    }
+
+    @Test
+    public void subclasses() {
+        var parent = newTrigger();
+        var child = newTrigger();
+        TriggerMap.addTrigger(FIRST_SCRIPT, ParentContext.class, parent);
+        TriggerMap.addTrigger(FIRST_SCRIPT, ChildContext.class, child);
+        assertEquals(List.of(parent), TriggerMap.getTriggersByContext(ParentContext.class));
+        // Triggers of a context run for its subclasses too, in the order they were added
+        assertEquals(List.of(parent, child), TriggerMap.getTriggersByContext(ChildContext.class));
+    }
+
+    @Test
+    public void rebuilding() {
+        var first = newTrigger();
+        TriggerMap.addTrigger(FIRST_SCRIPT, ParentContext.class, first);
+        // Computed for a subclass, then computed again after every change
+        assertEquals(List.of(first), TriggerMap.getTriggersByContext(ChildContext.class));
+
+        var second = newTrigger();
+        TriggerMap.addTriggers(SECOND_SCRIPT, Map.of(ChildContext.class, List.of(second)));
+        assertEquals(List.of(first, second), TriggerMap.getTriggersByContext(ChildContext.class));
+
+        var replacement = newTrigger();
+        TriggerMap.replaceTriggers(FIRST_SCRIPT, Map.of(ParentContext.class, List.of(replacement)));
+        assertEquals(List.of(replacement, second), TriggerMap.getTriggersByContext(ChildContext.class));
+        assertEquals(List.of(replacement), TriggerMap.getTriggersByContext(ParentContext.class));
+
+        TriggerMap.removeTriggers(SECOND_SCRIPT, Set.of());
+        assertEquals(List.of(replacement), TriggerMap.getTriggersByContext(ChildContext.class));
+
+        TriggerMap.clearTriggers(FIRST_SCRIPT);
+        assertTrue(TriggerMap.getTriggersByContext(ChildContext.class).isEmpty());
+        assertTrue(TriggerMap.getTriggersByContext(ParentContext.class).isEmpty());
+    }
+
+    @Test
+    public void withoutContext() {
+        var trigger = newTrigger();
+        TriggerMap.addTrigger(FIRST_SCRIPT, TriggerContext.class, trigger);
+        // Triggers without a context don't run for every context
+        assertFalse(TriggerMap.getTriggersByContext(ParentContext.class).contains(trigger));
+        assertFalse(TriggerMap.getTriggersByContext(ChildContext.class).contains(trigger));
+        assertTrue(TriggerMap.getTriggersByContext(TriggerContext.class).contains(trigger));
+    }
+
+    @Test
+    public void duplicates() {
+        var trigger = newTrigger();
+        var other = newTrigger();
+        // The same trigger handling both contexts
+        TriggerMap.addTriggers(FIRST_SCRIPT, Map.of(
+            ParentContext.class, List.of(trigger),
+            ChildContext.class, List.of(trigger, other)
+        ));
+        TriggerMap.addTrigger(SECOND_SCRIPT, ChildContext.class, trigger);
+        assertEquals(List.of(trigger, other), TriggerMap.getTriggersByContext(ChildContext.class));
+        assertEquals(List.of(trigger), TriggerMap.getTriggersByContext(ParentContext.class));
+    }
+
+    @Test
+    public void inheritedDispatch() {
+        TriggerMap.setDispatch(ParentContext.class, TriggerDispatch.PARALLEL);
+        // Dispatches apply to subclasses, like triggers do
+        assertEquals(TriggerDispatch.PARALLEL, TriggerMap.getDispatch(ChildContext.class));
+        TriggerMap.setDispatch(ChildContext.class, TriggerDispatch.PARALLEL_DETACHED);
+        assertEquals(TriggerDispatch.PARALLEL_DETACHED, TriggerMap.getDispatch(ChildContext.class));
+        assertEquals(TriggerDispatch.PARALLEL, TriggerMap.getDispatch(ParentContext.class));
+        TriggerMap.setDispatch(ParentContext.class, null);
+        assertEquals(TriggerDispatch.SEQUENTIAL, TriggerMap.getDispatch(ParentContext.class));
+    }
+
+    @Test
+    public void ownLocalVariables() {
+        TriggerMap.setDispatch(ParentContext.class, TriggerDispatch.PARALLEL);
+        var barrier = new CyclicBarrier(2);
+        Map<String, Object> seen = new ConcurrentHashMap<>();
+        List<Trigger> triggers = new ArrayList<>();
+        for (var name : List.of("first", "second")) {
+            triggers.add(newTrigger(500,
+                ctx -> Variables.setVariable("value", name, ctx, true),
+                // Both triggers set the variable before either of them reads it
+                ctx -> await(barrier),
+                ctx -> seen.put(name, Variables.getVariable("value", ctx, true).orElse("nothing"))
+            ));
+        }
+        TriggerMap.addTriggers(FIRST_SCRIPT, Map.of(ParentContext.class, triggers));
+        TriggerMap.callTriggersByContext(new ChildContext());
+        assertEquals(Map.of("first", "first", "second", "second"), seen);
+    }
+
+    @Test
+    public void priorityGroups() {
+        TriggerMap.setDispatch(ParentContext.class, TriggerDispatch.PARALLEL);
+        List<String> ran = new CopyOnWriteArrayList<>();
+        var low = newTrigger(100, ctx -> ran.add("low"));
+        var high = newTrigger(900, ctx -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ran.add("high");
+        });
+        TriggerMap.addTriggers(FIRST_SCRIPT, Map.of(ParentContext.class, List.of(low, high)));
+        // The triggers with a lower priority wait for the ones with a higher priority
+        TriggerMap.callTriggersByContext(new ParentContext());
+        assertEquals(List.of("high", "low"), ran);
+    }
+
+    @Test
+    public void failures() throws InterruptedException, ExecutionException, TimeoutException {
+        var error = new TriggerError();
+        TriggerMap.addTrigger(FIRST_SCRIPT, ParentContext.class, newTrigger(500, ctx -> {
+            throw error;
+        }));
+
+        TriggerMap.setDispatch(ParentContext.class, TriggerDispatch.PARALLEL);
+        try {
+            TriggerMap.callTriggersByContext(new ParentContext());
+            fail("The error wasn't rethrown");
+        } catch (TriggerError e) {
+            assertSame(error, e);
+        }
+
+        // Detached triggers report it to the handler of the calling thread instead
+        TriggerMap.setDispatch(ParentContext.class, TriggerDispatch.PARALLEL_DETACHED);
+        var thread = Thread.currentThread();
+        var handler = thread.getUncaughtExceptionHandler();
+        var reported = new CompletableFuture<Throwable>();
+        thread.setUncaughtExceptionHandler((t, e) -> reported.complete(e));
+        try {
+            TriggerMap.callTriggersByContext(new ParentContext());
+            assertSame(error, reported.get(5, TimeUnit.SECONDS));
+        } finally {
+            thread.setUncaughtExceptionHandler(handler);
+        }
+    }
+}
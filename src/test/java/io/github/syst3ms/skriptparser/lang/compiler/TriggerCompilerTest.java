@@ -0,0 +1,233 @@
+package io.github.syst3ms.skriptparser.lang.compiler;
+
+import io.github.syst3ms.skriptparser.TestRegistration;
+import io.github.syst3ms.skriptparser.lang.Statement;
+import io.github.syst3ms.skriptparser.lang.Trigger;
+import io.github.syst3ms.skriptparser.lang.TriggerMap;
+import io.github.syst3ms.skriptparser.log.LogType;
+import io.github.syst3ms.skriptparser.parsing.ScriptDirectoryTest;
+import io.github.syst3ms.skriptparser.parsing.ScriptLoader;
+import io.github.syst3ms.skriptparser.parsing.SyntaxParserTest;
+import io.github.syst3ms.skriptparser.structures.functions.StructFunction;
+import io.github.syst3ms.skriptparser.syntax.EffTrace;
+import io.github.syst3ms.skriptparser.syntax.TestContext.SubTestContext;
+import io.github.syst3ms.skriptparser.variables.Variables;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TriggerCompilerTest extends ScriptDirectoryTest {
+    private static final String[] FOLDERS = {"effects", "expressions", "literals", "sections", "tags", "general"};
+
+    static {
+        TestRegistration.register();
+    }
+
+    @After
+    public void disableCompilation() {
+        TriggerCompiler.setThreshold(-1);
+        EffTrace.clearTrace();
+    }
+
+    private static File[] getScripts(String folder) {
+        var url = ClassLoader.getSystemResource(folder);
+        var files = url != null ? new File(url.getPath()).listFiles() : null;
+        if (files == null)
+            return new File[0];
+        Arrays.sort(files, Comparator.comparing(File::getName));
+        return files;
+    }
+
+    /*
+     * Variables.clearVariables() leaves the list variables in place
+     */
+    private static void clearVariables() {
+        Variables.clearVariables();
+        Variables.getVariableMap().getVariable("*").ifPresent(variables -> ((Map<?, ?>) variables).clear());
+    }
+
+    /*
+     * Runs the given triggers, returning the errors they reported or threw
+     */
+    private static List<String> run(List<Trigger> triggers) {
+        clearVariables();
+        SyntaxParserTest.clearErrors();
+        List<String> errors = new ArrayList<>();
+        for (var trigger : triggers) {
+            try {
+                Statement.runAll(trigger, new SubTestContext());
+            } catch (AssertionError e) {
+                // Some sections check their state with assertions, which then fail the same way in both cases
+                errors.add(String.valueOf(e));
+            }
+        }
+        SyntaxParserTest.getErrors().stream()
+            .map(String::valueOf)
+            .forEach(errors::add);
+        SyntaxParserTest.clearErrors();
+        clearVariables();
+        return errors;
+    }
+
+    /*
+     * Every test script runs exactly the same way, whether its triggers are interpreted or compiled
+     */
+    @Test
+    public void sameOutcomes() {
+        var compiled = 0;
+        for (var folder : FOLDERS) {
+            for (var script : getScripts(folder)) {
+                if (script.getName().startsWith("-"))
+                    continue;
+                var logs = ScriptLoader.loadScript(script.toPath(), false);
+                // Parsing is checked elsewhere
+                if (logs.stream().noneMatch(log -> log.getType() == LogType.ERROR)) {
+                    var triggers = TriggerMap.getTriggersByScript(script.getName().replaceAll("\\..+$", ""))
+                        .values().stream()
+                        .flatMap(List::stream)
+                        .distinct()
+                        .filter(trigger -> !(trigger.getEvent() instanceof StructFunction))
+                        .toList();
+                    TriggerCompiler.setThreshold(-1);
+                    var interpreted = run(triggers);
+                    // Every trigger gets compiled when it first runs
+                    TriggerCompiler.setThreshold(0);
+                    assertEquals(folder + "/" + script.getName(), interpreted, run(triggers));
+                    compiled += (int) triggers.stream().filter(Trigger::isCompiled).count();
+                }
+                ScriptLoader.unloadScript(script.toPath());
+            }
+        }
+        assertTrue(compiled > 0);
+    }
+
+    /*
+     * Loads a script made of a single trigger, which is yet to run
+     */
+    private Trigger load(String scriptName, String... lines) throws IOException {
+        ScriptLoader.loadScript(write(scriptName, lines), false).stream()
+            .filter(log -> log.getType() == LogType.ERROR)
+            .findFirst()
+            .ifPresent(log -> fail(log.getMessage()));
+        var triggers = TriggerMap.getTriggersByScript(scriptName).get(SubTestContext.class);
+        assertEquals(1, triggers.size());
+        return triggers.get(0);
+    }
+
+    /*
+     * Runs the trigger interpreted, then compiled, checking that both ran the same statements in the same order
+     */
+    private static void assertTrace(Trigger trigger, String... expected) {
+        TriggerCompiler.setThreshold(-1);
+        Statement.runAll(trigger, new SubTestContext());
+        assertFalse(trigger.isCompiled());
+        assertEquals(List.of(expected), EffTrace.getTrace());
+        assertEquals(0, EffTrace.getCompiledCount());
+        EffTrace.clearTrace();
+
+        TriggerCompiler.setThreshold(0);
+        Statement.runAll(trigger, new SubTestContext());
+        assertTrue(trigger.isCompiled());
+        assertEquals(List.of(expected), EffTrace.getTrace());
+        // Every statement was run by the compiled code
+        assertEquals(expected.length, EffTrace.getCompiledCount());
+        EffTrace.clearTrace();
+    }
+
+    @Test
+    public void effects() throws IOException {
+        var trigger = load("compiled_effects",
+            "test:",
+            "\ttrace \"first\"",
+            "\tset {_a} to 1",
+            "\ttrace {_a}",
+            "\tif {_a} is 1:",
+            "\t\ttrace \"inside\"",
+            // Stops running the section
+            "\t\tcontinue if {_a} is 2",
+            "\t\ttrace \"skipped\"",
+            "\ttrace \"after\"",
+            "\tcontinue if {_a} is 3",
+            "\ttrace \"never\""
+        );
+        assertTrace(trigger, "first", "1", "inside", "after");
+    }
+
+    @Test
+    public void conditionals() throws IOException {
+        var trigger = load("compiled_conditionals",
+            "test:",
+            "\tset {_x} to 2",
+            "\tif {_x} is 1:",
+            "\t\ttrace \"one\"",
+            "\telse if {_x} is 2:",
+            "\t\ttrace \"two\"",
+            "\telse:",
+            "\t\ttrace \"other\"",
+            "\tif {_x} is 3:",
+            "\t\ttrace \"three\"",
+            "\telse if {_x} is 4:",
+            "\t\ttrace \"four\"",
+            "\telse:",
+            "\t\ttrace \"neither\"",
+            "\ttrace \"done\""
+        );
+        assertTrace(trigger, "two", "neither", "done");
+    }
+
+    @Test
+    public void loops() throws IOException {
+        var trigger = load("compiled_loops",
+            "test:",
+            "\tloop 5 times:",
+            "\t\tif loop-number is 2:",
+            "\t\t\tcontinue",
+            "\t\tif loop-number is 4:",
+            // Leaves the conditional and the loop
+            "\t\t\texit 2 sections",
+            "\t\ttrace loop-number",
+            "\ttrace \"after loop\"",
+            "\tset {_i} to 0",
+            "\twhile {_i} < 3:",
+            "\t\tadd 1 to {_i}",
+            "\t\ttrace {_i}",
+            "\ttrace \"after while\""
+        );
+        assertTrace(trigger, "1", "3", "after loop", "1", "2", "3", "after while");
+    }
+
+    @Test
+    public void nestedExits() throws IOException {
+        var trigger = load("compiled_exits",
+            "test:",
+            "\tset {_i} to 0",
+            "\twhile {_i} < 5:",
+            "\t\tadd 1 to {_i}",
+            "\t\tloop 3 times:",
+            "\t\t\tif {_i} is 2:",
+            // Leaves the conditional and both loops at once
+            "\t\t\t\texit 3 sections",
+            "\t\t\ttrace loop-number",
+            // A loop ending a section doesn't go back to it
+            "\t\tset {_j} to {_i}",
+            "\ttrace {_i}",
+            "\tif {_i} is 2:",
+            "\t\tloop 2 times:",
+            "\t\t\tstop the trigger",
+            "\ttrace \"never\""
+        );
+        assertTrace(trigger, "1", "2", "3", "2");
+    }
+}
@@ -0,0 +1,110 @@
+package io.github.syst3ms.skriptparser.parsing;
+
+import io.github.syst3ms.skriptparser.TestRegistration;
+import io.github.syst3ms.skriptparser.expressions.ExprRange;
+import io.github.syst3ms.skriptparser.file.FileParser;
+import io.github.syst3ms.skriptparser.file.FileSection;
+import io.github.syst3ms.skriptparser.lang.CodeSection;
+import io.github.syst3ms.skriptparser.lang.Expression;
+import io.github.syst3ms.skriptparser.lang.Statement;
+import io.github.syst3ms.skriptparser.lang.base.ConstantCondition;
+import io.github.syst3ms.skriptparser.lang.base.ConstantExpression;
+import io.github.syst3ms.skriptparser.log.SkriptLogger;
+import io.github.syst3ms.skriptparser.types.PatternType;
+import io.github.syst3ms.skriptparser.types.TypeManager;
+import io.github.syst3ms.skriptparser.variables.Variables;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static io.github.syst3ms.skriptparser.lang.TriggerContext.DUMMY;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ConstantFoldingTest {
+    static {
+        TestRegistration.register();
+    }
+
+    private static Expression<?> parse(String s, Class<?> type, boolean single) {
+        var patternType = new PatternType<>(TypeManager.getByClassExact(type).orElseThrow(AssertionError::new), single);
+        return SyntaxParser.parseExpression(s, patternType, new ParserState(), new SkriptLogger())
+                .orElseThrow(() -> new AssertionError("Couldn't parse '" + s + "'"));
+    }
+
+    private static List<Statement> load(String... lines) {
+        var logger = new SkriptLogger();
+        var elements = FileParser.parseFileLines("unit-tests", Arrays.asList(lines), 0, 1, logger);
+        var section = new FileSection("unit-tests", 0, "unit-tests", elements, 0);
+        return ScriptLoader.loadItems(section, new ParserState(), logger);
+    }
+
+    @After
+    public void clearVariables() {
+        Variables.clearLocalVariables(DUMMY);
+    }
+
+    @Test
+    public void constantInputs() {
+        var sum = parse("1 + 2 * 3", Number.class, true);
+        assertTrue(sum instanceof ConstantExpression);
+        assertEquals(7, ((Number) sum.getSingle(DUMMY).orElseThrow(AssertionError::new)).intValue());
+        // The folded expression still looks like what was written
+        assertEquals("1 + 2 * 3", sum.toString(DUMMY, false));
+
+        var comparison = parse("1 + 1 is greater than 3", Boolean.class, true);
+        assertTrue(comparison instanceof ConstantCondition);
+        assertArrayEquals(new Boolean[] {false}, comparison.getValues(DUMMY));
+    }
+
+    @Test
+    public void variableInputs() {
+        assertFalse(parse("{_x} + 1", Number.class, true) instanceof ConstantExpression);
+        assertFalse(parse("{_x} is greater than 3", Boolean.class, true) instanceof ConstantCondition);
+    }
+
+    @Test
+    public void ranges() {
+        var small = parse("range from 1 to 5", Number.class, false);
+        assertTrue(small instanceof ConstantExpression);
+        assertEquals(5, small.getValues(DUMMY).length);
+        // Large ranges are computed every time rather than kept around
+        assertTrue(parse("range from 1 to 100000", Number.class, false) instanceof ExprRange);
+    }
+
+    @Test
+    public void constantConditionals() {
+        var items = load(
+                "set {_x} to 0",
+                "if 1 is greater than 2:",
+                "\tset {_x} to 1",
+                "else if 2 is greater than 1:",
+                "\tset {_x} to 2",
+                "else:",
+                "\tset {_x} to 3"
+        );
+        // The conditional is skipped entirely, straight to the branch that is taken
+        var taken = ((CodeSection) items.get(2)).getItems().get(0);
+        assertSame(taken, items.get(0).getNextStatement());
+        Statement.runAll(items.get(0), DUMMY);
+        assertEquals(2, ((Number) Variables.getVariable("x", DUMMY, true).orElseThrow(AssertionError::new)).intValue());
+    }
+
+    @Test
+    public void variableConditionals() {
+        var items = load(
+                "set {_x} to 0",
+                "if {_x} is 0:",
+                "\tset {_x} to 1",
+                "set {_x} to {_x} + 1"
+        );
+        assertSame(items.get(1), items.get(0).getNextStatement());
+        Statement.runAll(items.get(0), DUMMY);
+        assertEquals(2, ((Number) Variables.getVariable("x", DUMMY, true).orElseThrow(AssertionError::new)).intValue());
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.syst3ms.skriptparser.parsing;
+
+import io.github.syst3ms.skriptparser.TestRegistration;
+import io.github.syst3ms.skriptparser.log.SkriptLogger;
+import io.github.syst3ms.skriptparser.types.PatternType;
+import io.github.syst3ms.skriptparser.types.TypeManager;
+import org.junit.Test;
+
+import static io.github.syst3ms.skriptparser.lang.TriggerContext.DUMMY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class InfixOperatorParserTest {
+    static {
+        TestRegistration.register();
+    }
+
+    private static double evaluate(String formula) {
+        var numberType = new PatternType<>(TypeManager.getByClassExact(Number.class).orElseThrow(AssertionError::new), true);
+        var expression = SyntaxParser.parseExpression(formula, numberType, new ParserState(), new SkriptLogger());
+        if (expression.isEmpty())
+            fail("Couldn't parse '" + formula + "'");
+        return expression.get().getSingle(DUMMY).orElseThrow(AssertionError::new).doubleValue();
+    }
+
+    @Test
+    public void singleOperator() {
+        assertEquals(4, evaluate("6 - 2"), 0);
+        assertEquals(6, evaluate("12 / 2"), 0);
+    }
+
+    @Test
+    public void precedence() {
+        assertEquals(7, evaluate("1 + 2 * 3"), 0);
+        assertEquals(7, evaluate("2 * 3 + 1"), 0);
+        assertEquals(1, evaluate("10 - 6 / 2 * 3"), 0);
+        assertEquals(9, evaluate("(1 + 2) * 3"), 0);
+    }
+
+    @Test
+    public void associativity() {
+        // Chains of operators with the same precedence are evaluated from left to right
+        assertEquals(5, evaluate("10 - 2 - 3"), 0);
+        assertEquals(1, evaluate("12 / 4 / 3"), 0);
+        assertEquals(5, evaluate("2 * 3 - 12 / 4 / 3"), 0);
+        assertEquals(2, evaluate("10 - 2 - 3 - 4 + 1"), 0);
+    }
+
+    @Test
+    public void operands() {
+        // Signs stay with their operands, and spaces around operators are optional
+        assertEquals(1, evaluate("-2 - -3 * 1"), 0);
+        assertEquals(5, evaluate("10-2-3"), 0);
+        assertEquals(4, evaluate("(10 - 2) - (3 + 1)"), 0);
+    }
+}
@@ -0,0 +1,116 @@
+package io.github.syst3ms.skriptparser.parsing;
+
+import io.github.syst3ms.skriptparser.TestRegistration;
+import io.github.syst3ms.skriptparser.lang.TriggerMap;
+import io.github.syst3ms.skriptparser.log.LogType;
+import io.github.syst3ms.skriptparser.parsing.ParsePlan.Kind;
+import io.github.syst3ms.skriptparser.registration.SyntaxInfo;
+import io.github.syst3ms.skriptparser.registration.SyntaxManager;
+import io.github.syst3ms.skriptparser.syntax.TestContext.SubTestContext;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ParsePlanTest extends ScriptDirectoryTest {
+    private static final String CONTENT_HASH = "content";
+    private static final String FINGERPRINT = "fingerprint";
+
+    static {
+        TestRegistration.register();
+    }
+
+    @After
+    public void resetParsePlans() {
+        ScriptLoader.setParsePlanDirectory(null);
+    }
+
+    private static List<SyntaxInfo<?>> getEffects() {
+        return List.copyOf(SyntaxManager.getEffects());
+    }
+
+    private Path saveDecision(SyntaxInfo<?> info, int pattern) throws IOException {
+        var file = directory.resolve("test.plan");
+        var plan = ParsePlan.load(file, CONTENT_HASH, FINGERPRINT);
+        plan.record(Kind.EFFECT, 3, "some effect", null, info, pattern);
+        plan.save(file);
+        return file;
+    }
+
+    @Test
+    public void roundTrip() throws IOException {
+        var effects = getEffects();
+        var last = effects.get(effects.size() - 1);
+        var file = saveDecision(last, last.getPatterns().size() - 1);
+
+        var plan = ParsePlan.load(file, CONTENT_HASH, FINGERPRINT);
+        assertEquals(last.getPatterns().size() - 1, plan.getFirstPattern(Kind.EFFECT, 3, "some effect", null, last));
+        var ordered = plan.order(Kind.EFFECT, 3, "some effect", null, effects);
+        assertSame(last, ordered.get(0));
+        // The other candidates keep their order
+        assertEquals(effects.subList(0, effects.size() - 1), ordered.subList(1, ordered.size()));
+        // Only the exact same search is planned
+        assertEquals(effects, plan.order(Kind.EFFECT, 4, "some effect", null, effects));
+        assertEquals(effects, plan.order(Kind.SECTION, 3, "some effect", null, effects));
+        assertEquals(effects, plan.order(Kind.EFFECT, 3, "other effect", null, effects));
+    }
+
+    @Test
+    public void invalidation() throws IOException {
+        var effects = getEffects();
+        var last = effects.get(effects.size() - 1);
+        var file = saveDecision(last, 0);
+
+        // Another version of the script, or other syntaxes
+        assertEquals(effects, ParsePlan.load(file, "edited", FINGERPRINT).order(Kind.EFFECT, 3, "some effect", null, effects));
+        assertEquals(effects, ParsePlan.load(file, CONTENT_HASH, "changed").order(Kind.EFFECT, 3, "some effect", null, effects));
+
+        // A corrupted plan
+        var bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+        assertEquals(effects, ParsePlan.load(file, CONTENT_HASH, FINGERPRINT).order(Kind.EFFECT, 3, "some effect", null, effects));
+    }
+
+    @Test
+    public void invalidDecisions() throws IOException {
+        var effects = getEffects();
+        var first = effects.get(0);
+        var last = effects.get(effects.size() - 1);
+
+        // A pattern the syntax doesn't have
+        var plan = ParsePlan.load(saveDecision(first, first.getPatterns().size()), CONTENT_HASH, FINGERPRINT);
+        assertEquals(0, plan.getFirstPattern(Kind.EFFECT, 3, "some effect", null, first));
+        plan = ParsePlan.load(saveDecision(first, -1), CONTENT_HASH, FINGERPRINT);
+        assertEquals(0, plan.getFirstPattern(Kind.EFFECT, 3, "some effect", null, first));
+        // The pattern of another syntax
+        plan = ParsePlan.load(saveDecision(first, 0), CONTENT_HASH, FINGERPRINT);
+        assertEquals(0, plan.getFirstPattern(Kind.EFFECT, 3, "some effect", null, last));
+    }
+
+    @Test
+    public void loadingWithPlans() throws IOException {
+        var script = write("planned",
+            "test:",
+            "\tset {_a} to 1 + 2",
+            "\tif {_a} is 3:",
+            "\t\tset {_b} to \"three\""
+        );
+        ScriptLoader.setParsePlanDirectory(directory);
+        for (var i = 0; i < 2; i++) {
+            var logs = ScriptLoader.loadScript(script, false);
+            assertTrue(logs.stream().noneMatch(log -> log.getType() == LogType.ERROR));
+            assertEquals(1, TriggerMap.getTriggersByScript("planned").get(SubTestContext.class).size());
+            assertTrue(Files.isRegularFile(directory.resolve("planned.plan")));
+            // Load it from scratch again, following the plan
+            TriggerMap.clearTriggers("planned");
+        }
+    }
+}
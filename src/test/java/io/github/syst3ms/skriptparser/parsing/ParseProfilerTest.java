@@ -0,0 +1,155 @@
+package io.github.syst3ms.skriptparser.parsing;
+
+import io.github.syst3ms.skriptparser.TestRegistration;
+import io.github.syst3ms.skriptparser.effects.EffChange;
+import io.github.syst3ms.skriptparser.expressions.ExprLength;
+import io.github.syst3ms.skriptparser.file.FileParser;
+import io.github.syst3ms.skriptparser.log.SkriptLogger;
+import io.github.syst3ms.skriptparser.parsing.ParseProfiler.LineProfile;
+import io.github.syst3ms.skriptparser.parsing.ParseProfiler.SyntaxProfile;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ParseProfilerTest {
+    private static final String FILE_NAME = "profiled";
+    private static final String[] LINES = {
+        "set {_a} to length of \"abc\"",
+        // Matches the pattern of the effect, but a length can't be set
+        "set length of \"abc\" to 3",
+        "this is not an effect",
+        "length of \"abcd\""
+    };
+
+    static {
+        TestRegistration.register();
+    }
+
+    @After
+    public void stopProfiling() {
+        ParseProfiler.stop();
+    }
+
+    /*
+     * Parses the lines, the last one as an expression and the other ones as effects
+     */
+    private static void parseLines() {
+        var logger = new SkriptLogger();
+        logger.setFileInfo(FILE_NAME, FileParser.parseFileLines(FILE_NAME, Arrays.asList(LINES), 0, 1, logger));
+        var parserState = new ParserState();
+        for (var i = 0; i < LINES.length - 1; i++) {
+            logger.setLine(i);
+            SyntaxParser.parseEffect(LINES[i], parserState, logger);
+        }
+        logger.setLine(LINES.length - 1);
+        SyntaxParser.parseExpression(LINES[LINES.length - 1], SyntaxParser.OBJECT_PATTERN_TYPE, parserState, logger);
+    }
+
+    private static SyntaxProfile getProfile(ParseProfiler profiler, Class<?> syntaxClass) {
+        return profiler.getSyntaxProfiles().stream()
+            .filter(profile -> profile.syntax().getSyntaxClass() == syntaxClass)
+            .findFirst()
+            .orElseThrow(AssertionError::new);
+    }
+
+    private static LineProfile getProfile(ParseProfiler profiler, int line) {
+        return profiler.getLineProfiles().stream()
+            .filter(profile -> profile.line() == line)
+            .findFirst()
+            .orElseThrow(AssertionError::new);
+    }
+
+    @Test
+    public void attempts() {
+        var profiler = ParseProfiler.start();
+        assertSame(profiler, ParseProfiler.getActive());
+        parseLines();
+
+        // Every effect line is matched against the effect, but only the first one is accepted by it
+        var change = getProfile(profiler, EffChange.class);
+        assertEquals(LINES.length - 1, change.attempts());
+        assertEquals(1, change.successes());
+        assertEquals(1, change.rejections());
+        assertTrue(change.maxSplits() > 0);
+        assertEquals(FILE_NAME + ":1", change.maxSplitsLocation());
+
+        // Once inside of each of the effects, and once on its own
+        var length = getProfile(profiler, ExprLength.class);
+        assertEquals(3, length.attempts());
+        assertEquals(3, length.successes());
+        assertEquals(0, length.rejections());
+
+        var lines = profiler.getLineProfiles();
+        assertEquals(Set.of(1, 2, 3, 4), lines.stream().map(LineProfile::line).collect(Collectors.toSet()));
+        assertTrue(lines.stream().allMatch(line -> FILE_NAME.equals(line.file())));
+        // Every attempt happened on one of the lines
+        assertEquals(
+            profiler.getSyntaxProfiles().stream().mapToLong(SyntaxProfile::attempts).sum(),
+            lines.stream().mapToLong(LineProfile::attempts).sum()
+        );
+        // The expression of the first line is nested in the effect
+        assertEquals(2, getProfile(profiler, 1).maxDepth());
+        assertEquals(1, getProfile(profiler, 3).maxDepth());
+        assertEquals(1, getProfile(profiler, 4).maxDepth());
+    }
+
+    @Test
+    public void report() {
+        var profiler = ParseProfiler.start();
+        parseLines();
+        ParseProfiler.stop();
+
+        var report = List.of(profiler.getReport(LINES.length).split("\\R"));
+        var totalAttempts = profiler.getLineProfiles().stream().mapToLong(LineProfile::attempts).sum();
+        assertTrue(report.get(0).matches("Parsing took \\d+\\.\\d{3} ms over " + totalAttempts + " attempts"));
+
+        var slowest = report.indexOf("Slowest lines:");
+        var neverMatched = report.indexOf("Most attempted syntaxes that never matched:");
+        var backtracking = report.indexOf("Deepest backtracking:");
+        assertTrue(0 < slowest && slowest < neverMatched && neverMatched < backtracking);
+
+        var lineRows = report.subList(slowest + 1, neverMatched);
+        assertEquals(LINES.length, lineRows.size());
+        var first = getProfile(profiler, 1);
+        assertTrue(lineRows.stream().anyMatch(row -> row.matches(
+            "  " + FILE_NAME + ":1: \\d+\\.\\d{3} ms, " + first.attempts() + " attempts, nested 2 deep"
+        )));
+
+        // Syntaxes that matched at least once aren't listed
+        var neverMatchedRows = report.subList(neverMatched + 1, backtracking);
+        assertFalse(neverMatchedRows.isEmpty());
+        assertTrue(neverMatchedRows.stream().noneMatch(row -> row.startsWith("  " + EffChange.class.getName() + ":")));
+        assertTrue(neverMatchedRows.stream().noneMatch(row -> row.startsWith("  " + ExprLength.class.getName() + ":")));
+
+        var change = getProfile(profiler, EffChange.class);
+        var backtrackingRows = report.subList(backtracking + 1, report.size());
+        assertTrue(backtrackingRows.contains(String.format(
+            "  %s: %d splits in one attempt (%s:1), %d in total",
+            EffChange.class.getName(),
+            change.maxSplits(),
+            FILE_NAME,
+            change.splits()
+        )));
+    }
+
+    @Test
+    public void disabled() {
+        assertNull(ParseProfiler.getActive());
+        var profiler = ParseProfiler.start();
+        ParseProfiler.stop();
+        assertNull(ParseProfiler.getActive());
+        parseLines();
+        assertTrue(profiler.getSyntaxProfiles().isEmpty());
+        assertTrue(profiler.getLineProfiles().isEmpty());
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.syst3ms.skriptparser.parsing;
+
+import io.github.syst3ms.skriptparser.lang.TriggerMap;
+import org.junit.After;
+import org.junit.Before;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * A test loading scripts from a temporary directory, which is deleted after every test along with the triggers of the
+ * scripts it held.
+ */
+public abstract class ScriptDirectoryTest {
+    protected Path directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("skript-scripts");
+    }
+
+    @After
+    public void deleteDirectory() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (var file : files.toList()) {
+                var fileName = file.getFileName().toString();
+                if (fileName.endsWith(".sk"))
+                    TriggerMap.clearTriggers(fileName.substring(0, fileName.length() - 3));
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    /**
+     * Writes a script to the directory, replacing any previous version of it.
+     *
+     * @param scriptName the name of the script, without its extension
+     * @param lines the lines of the script
+     * @return the path of the script
+     * @throws IOException if the script couldn't be written
+     */
+    protected Path write(String scriptName, String... lines) throws IOException {
+        return Files.write(directory.resolve(scriptName + ".sk"), Arrays.asList(lines));
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.syst3ms.skriptparser.parsing;
+
+import io.github.syst3ms.skriptparser.TestRegistration;
+import io.github.syst3ms.skriptparser.lang.TriggerMap;
+import io.github.syst3ms.skriptparser.log.ErrorType;
+import io.github.syst3ms.skriptparser.log.LogEntry;
+import io.github.syst3ms.skriptparser.log.LogType;
+import io.github.syst3ms.skriptparser.syntax.TestContext.SubTestContext;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ScriptLoaderTest extends ScriptDirectoryTest {
+    static {
+        TestRegistration.register();
+    }
+
+    private static boolean hasErrors(List<LogEntry> logs) {
+        return logs.stream().anyMatch(log -> log.getType() == LogType.ERROR);
+    }
+
+    private static int countTestTriggers(String scriptName) {
+        return TriggerMap.getTriggersByScript(scriptName).getOrDefault(SubTestContext.class, List.of()).size();
+    }
+
+    @Test
+    public void loadScripts() throws IOException {
+        var declaring = write("loading_declaring",
+            "test:",
+            "\tcalled()",
+            "function called():",
+            "\tset {_a} to 1"
+        );
+        // Calls a function declared by a script that comes later
+        var calling = write("loading_calling",
+            "test:",
+            "\tcalled()",
+            "test:",
+            "\tset {_b} to 2"
+        );
+        var logs = ScriptLoader.loadScripts(List.of(calling, declaring), false);
+        assertEquals(List.of(calling, declaring), List.copyOf(logs.keySet()));
+        assertTrue(logs.values().stream().noneMatch(ScriptLoaderTest::hasErrors));
+        assertEquals(2, countTestTriggers("loading_calling"));
+        assertEquals(1, countTestTriggers("loading_declaring"));
+    }
+
+    @Test
+    public void failingScript() throws IOException {
+        var first = write("loading_first",
+            "test:",
+            "\tset {_a} to 1"
+        );
+        var failing = write("loading_failing",
+            "test:",
+            "\tset {_b} to 2"
+        );
+        var last = write("loading_last",
+            "test:",
+            "\tset {_c} to 3"
+        );
+        var scripts = List.of(first, failing, last);
+        ScriptLoader.loadScripts(scripts, false);
+        assertEquals(1, countTestTriggers("loading_failing"));
+
+        write("loading_failing",
+            "test:",
+            "\tset {_b} to 2",
+            "test:",
+            "\tcrash while parsing"
+        );
+        write("loading_last",
+            "test:",
+            "\tset {_c} to 3",
+            "test:",
+            "\tset {_d} to 4"
+        );
+        var logs = ScriptLoader.loadScripts(scripts, false);
+        assertTrue(logs.get(failing).stream()
+            .anyMatch(log -> log.getType() == LogType.ERROR && log.getErrorType() == ErrorType.EXCEPTION));
+        assertEquals(0, countTestTriggers("loading_failing"));
+        // The other scripts still get loaded, even the ones that were reused from their previous version
+        assertTrue(!hasErrors(logs.get(first)) && !hasErrors(logs.get(last)));
+        assertEquals(1, countTestTriggers("loading_first"));
+        assertEquals(2, countTestTriggers("loading_last"));
+    }
+}
@@ -0,0 +1,209 @@
+package io.github.syst3ms.skriptparser.parsing;
+
+import io.github.syst3ms.skriptparser.TestRegistration;
+import io.github.syst3ms.skriptparser.lang.Trigger;
+import io.github.syst3ms.skriptparser.lang.TriggerMap;
+import io.github.syst3ms.skriptparser.log.LogType;
+import io.github.syst3ms.skriptparser.structures.functions.Functions;
+import io.github.syst3ms.skriptparser.structures.functions.ScriptFunction;
+import io.github.syst3ms.skriptparser.structures.functions.StructFunction;
+import io.github.syst3ms.skriptparser.syntax.TestContext.SubTestContext;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ScriptReloadTest extends ScriptDirectoryTest {
+    static {
+        TestRegistration.register();
+    }
+
+    private static void load(Path script) {
+        ScriptLoader.loadScript(script, false).stream()
+            .filter(log -> log.getType() == LogType.ERROR)
+            .findFirst()
+            .ifPresent(log -> fail(log.getMessage()));
+    }
+
+    private static List<Trigger> getTestTriggers(String scriptName) {
+        return TriggerMap.getTriggersByScript(scriptName).getOrDefault(SubTestContext.class, List.of());
+    }
+
+    private static Trigger getFunctionTrigger(String scriptName) {
+        return TriggerMap.getTriggersByScript(scriptName).values().stream()
+            .flatMap(List::stream)
+            .filter(trigger -> trigger.getEvent() instanceof StructFunction)
+            .findFirst()
+            .orElseThrow(AssertionError::new);
+    }
+
+    @Test
+    public void unchangedTriggers() throws IOException {
+        var script = write("reload_unchanged",
+            "test:",
+            "\tset {_a} to 1",
+            "test:",
+            "\tset {_b} to 2"
+        );
+        load(script);
+        var first = getTestTriggers("reload_unchanged");
+        load(script);
+        var second = getTestTriggers("reload_unchanged");
+        assertEquals(2, second.size());
+        assertSame(first.get(0), second.get(0));
+        assertSame(first.get(1), second.get(1));
+
+        write("reload_unchanged",
+            "test:",
+            "\tset {_a} to 1",
+            "",
+            "# Blank lines and comments don't count",
+            "test:",
+            "\tset {_b} to 3"
+        );
+        load(script);
+        var third = getTestTriggers("reload_unchanged");
+        assertEquals(2, third.size());
+        assertSame(first.get(0), third.get(0));
+        assertNotSame(first.get(1), third.get(1));
+    }
+
+    @Test
+    public void editedFunctions() throws IOException {
+        var script = write("reload_functions",
+            "function edited():",
+            "\tset {_a} to 1",
+            "test:",
+            "\tedited()",
+            "test:",
+            "\tset {_b} to 2"
+        );
+        load(script);
+        var function = getFunctionTrigger("reload_functions");
+        var triggers = getTestTriggers("reload_functions");
+
+        write("reload_functions",
+            "function edited():",
+            "\tset {_a} to 2",
+            "test:",
+            "\tedited()",
+            "test:",
+            "\tset {_b} to 2"
+        );
+        load(script);
+        assertNotSame(function, getFunctionTrigger("reload_functions"));
+        var reloaded = getTestTriggers("reload_functions");
+        // The caller is unchanged, but the function it calls was replaced
+        assertNotSame(triggers.get(0), reloaded.get(0));
+        assertSame(triggers.get(1), reloaded.get(1));
+    }
+
+    @Test
+    public void shadowingFunctions() throws IOException {
+        load(write("reload_library",
+            "function shadowed():",
+            "\tset {_a} to 1"
+        ));
+        var script = write("reload_caller",
+            "test:",
+            "\tshadowed()"
+        );
+        load(script);
+        var caller = getTestTriggers("reload_caller").get(0);
+
+        write("reload_caller",
+            "test:",
+            "\tshadowed()",
+            "local function shadowed():",
+            "\tset {_a} to 2"
+        );
+        load(script);
+        var function = Functions.getFunctionByName("shadowed", "reload_caller").orElseThrow(AssertionError::new);
+        assertEquals("reload_caller", ((ScriptFunction<?>) function).getScriptName());
+        // The caller is unchanged, but the function it calls is now a different one
+        assertNotSame(caller, getTestTriggers("reload_caller").get(0));
+    }
+
+    @Test
+    public void reloadWithoutGap() throws Exception {
+        var script = write("reload_gap",
+            "test:",
+            "\tset {_a} to 0"
+        );
+        load(script);
+        var gap = new AtomicBoolean();
+        var running = new AtomicBoolean(true);
+        var watcher = new Thread(() -> {
+            while (running.get()) {
+                if (getTestTriggers("reload_gap").isEmpty())
+                    gap.set(true);
+            }
+        });
+        watcher.start();
+        try {
+            for (var i = 1; i <= 20; i++) {
+                write("reload_gap",
+                    "test:",
+                    "\tset {_a} to " + i
+                );
+                var logs = ScriptLoader.reloadScript(script, ForkJoinPool.commonPool(), false).join();
+                assertTrue(logs.stream().noneMatch(log -> log.getType() == LogType.ERROR));
+            }
+        } finally {
+            running.set(false);
+            watcher.join();
+        }
+        // The script was never left without a trigger to handle events
+        assertFalse(gap.get());
+        assertEquals(1, getTestTriggers("reload_gap").size());
+    }
+
+    @Test
+    public void failedReload() throws IOException {
+        var script = write("reload_failed",
+            "test:",
+            "\tset {_a} to 1"
+        );
+        load(script);
+        var trigger = getTestTriggers("reload_failed").get(0);
+
+        write("reload_failed",
+            "test:",
+            "\tset {_a} to 2",
+            "test:",
+            "\tthis is not an effect"
+        );
+        var logs = ScriptLoader.reloadScript(script, Runnable::run, false).join();
+        assertTrue(logs.stream().anyMatch(log -> log.getType() == LogType.ERROR));
+        // The current version keeps running
+        assertEquals(List.of(trigger), getTestTriggers("reload_failed"));
+
+        write("reload_failed",
+            "test:",
+            "\tset {_a} to 2",
+            "test:",
+            "\tcrash while parsing"
+        );
+        try {
+            ScriptLoader.reloadScript(script, Runnable::run, false).join();
+            fail("The reload should have failed");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertEquals(List.of(trigger), getTestTriggers("reload_failed"));
+
+        ScriptLoader.unloadScript(script);
+        assertTrue(getTestTriggers("reload_failed").isEmpty());
+    }
+}
@@ -43,6 +43,14 @@ public class SyntaxParserTest {
         errorsFound.remove(err);
     }
 
+    public static List<Throwable> getErrors() {
+        return new ArrayList<>(errorsFound);
+    }
+
+    public static void clearErrors() {
+        errorsFound.clear();
+    }
+
     private static File[] getResourceFolderFiles(String folder) {
         URL url = ClassLoader.getSystemResource(folder);
         if (url != null) {
@@ -0,0 +1,106 @@
+package io.github.syst3ms.skriptparser.parsing;
+
+import io.github.syst3ms.skriptparser.TestRegistration;
+import io.github.syst3ms.skriptparser.expressions.ExprMutableList;
+import io.github.syst3ms.skriptparser.lang.TriggerContext;
+import io.github.syst3ms.skriptparser.log.SkriptLogger;
+import io.github.syst3ms.skriptparser.util.SyntaxRanking;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SyntaxRankingTest {
+    static {
+        TestRegistration.register();
+    }
+
+    private static final List<String> CANDIDATES = List.of("a", "b", "c", "d");
+
+    private static void use(SyntaxRanking<String, String> ranking, String element, int times) {
+        for (var i = 0; i < times; i++) {
+            ranking.acknowledge("context", element);
+        }
+    }
+
+    @Test
+    public void scores() {
+        var ranking = new SyntaxRanking<String, String>();
+        assertSame(CANDIDATES, ranking.rank("context", CANDIDATES));
+
+        use(ranking, "c", 1);
+        use(ranking, "d", 3);
+        assertEquals(List.of("d", "c", "a", "b"), ranking.rank("context", CANDIDATES));
+        // Other contexts are ranked separately
+        assertSame(CANDIDATES, ranking.rank("other", CANDIDATES));
+
+        // Older uses count less
+        use(ranking, "b", 1);
+        use(ranking, "a", 1);
+        assertEquals(List.of("d", "a", "b", "c"), ranking.rank("context", CANDIDATES));
+        assertEquals(List.of("a", "b", "c", "d"), CANDIDATES);
+    }
+
+    @Test
+    public void decay() {
+        var ranking = new SyntaxRanking<String, String>();
+        use(ranking, "a", 8);
+        use(ranking, "b", 4);
+        assertEquals("a", ranking.rank("context", CANDIDATES).get(0));
+        // Syntaxes that stopped being used eventually lose their place
+        use(ranking, "b", SyntaxRanking.HALF_LIFE);
+        assertEquals("b", ranking.rank("context", CANDIDATES).get(0));
+        var scores = ranking.getStatistics().get("context");
+        assertTrue(scores.get("a") < 8 / 2.0);
+    }
+
+    @Test
+    public void maxRanked() {
+        var ranking = new SyntaxRanking<String, String>();
+        List<String> candidates = new ArrayList<>();
+        for (var i = 0; i < SyntaxRanking.MAX_RANKED + 5; i++) {
+            candidates.add(String.valueOf(i));
+        }
+        // Used from the last to the first, with increasing scores
+        for (var i = candidates.size() - 1; i >= 0; i--) {
+            use(ranking, candidates.get(i), candidates.size() - i);
+        }
+        var ranked = ranking.rank("context", candidates);
+        assertEquals(Set.copyOf(candidates.subList(0, SyntaxRanking.MAX_RANKED)),
+                Set.copyOf(ranked.subList(0, SyntaxRanking.MAX_RANKED)));
+        // The others keep their original order
+        assertEquals(candidates.subList(SyntaxRanking.MAX_RANKED, candidates.size()),
+                ranked.subList(SyntaxRanking.MAX_RANKED, ranked.size()));
+    }
+
+    @Test
+    public void priorities() {
+        // "a" and "b" have a higher priority than "c" and "d"
+        var ranking = new SyntaxRanking<String, String>(element -> element.compareTo("b") <= 0 ? 1 : 0);
+        use(ranking, "d", 5);
+        use(ranking, "b", 1);
+        assertEquals(List.of("b", "a", "d", "c"), ranking.rank("context", CANDIDATES));
+    }
+
+    @Test
+    public void perScriptRankings() {
+        var logger = new SkriptLogger();
+        var parserState = new ParserState();
+        var list = SyntaxParser.parseExpression("reversed {_list::*}", SyntaxParser.OBJECTS_PATTERN_TYPE, parserState, logger);
+        assertTrue(list.orElseThrow(AssertionError::new) instanceof ExprMutableList);
+        // Using the list reversal doesn't make it take precedence over the string one
+        var string = SyntaxParser.parseExpression("reversed \"text\"", SyntaxParser.OBJECTS_PATTERN_TYPE, parserState, logger);
+        assertEquals("txet", string.orElseThrow(AssertionError::new).getSingle(TriggerContext.DUMMY).orElse(null));
+
+        assertTrue(parserState.getRankings().getSyntaxes().getStatistics().values().stream()
+                .flatMap(scores -> scores.keySet().stream())
+                .anyMatch(info -> info.getSyntaxClass() == ExprMutableList.class));
+        // Another script starts from scratch
+        assertTrue(new ParserState().getRankings().getSyntaxes().getStatistics().isEmpty());
+    }
+}
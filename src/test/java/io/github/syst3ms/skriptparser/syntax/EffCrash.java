@@ -0,0 +1,37 @@
+package io.github.syst3ms.skriptparser.syntax;
+
+import io.github.syst3ms.skriptparser.Parser;
+import io.github.syst3ms.skriptparser.lang.Effect;
+import io.github.syst3ms.skriptparser.lang.Expression;
+import io.github.syst3ms.skriptparser.lang.TriggerContext;
+import io.github.syst3ms.skriptparser.parsing.ParseContext;
+
+/**
+ * Throws an exception as soon as it is parsed, to test how loading scripts copes with that.
+ *
+ * @name Crash
+ * @pattern crash while parsing
+ * @since ALPHA
+ */
+public class EffCrash extends Effect {
+    static {
+        Parser.getMainRegistration().addEffect(
+            EffCrash.class,
+            "crash while parsing"
+        );
+    }
+
+    @Override
+    public boolean init(Expression<?>[] expressions, int matchedPattern, ParseContext parseContext) {
+        throw new IllegalStateException("Crashed while parsing");
+    }
+
+    @Override
+    public void execute(TriggerContext ctx) {
+    }
+
+    @Override
+    public String toString(TriggerContext ctx, boolean debug) {
+        return "crash while parsing";
+    }
+}
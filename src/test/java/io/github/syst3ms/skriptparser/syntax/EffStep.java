@@ -0,0 +1,35 @@
+package io.github.syst3ms.skriptparser.syntax;
+
+import io.github.syst3ms.skriptparser.lang.Effect;
+import io.github.syst3ms.skriptparser.lang.Expression;
+import io.github.syst3ms.skriptparser.lang.TriggerContext;
+import io.github.syst3ms.skriptparser.parsing.ParseContext;
+
+import java.util.function.Consumer;
+
+/**
+ * Runs the given code, so that tests can build the code of triggers directly instead of parsing it.
+ * It isn't registered, since there is nothing to parse it from.
+ */
+public class EffStep extends Effect {
+    private final Consumer<TriggerContext> action;
+
+    public EffStep(Consumer<TriggerContext> action) {
+        this.action = action;
+    }
+
+    @Override
+    public boolean init(Expression<?>[] expressions, int matchedPattern, ParseContext parseContext) {
+        return true;
+    }
+
+    @Override
+    protected void execute(TriggerContext ctx) {
+        action.accept(ctx);
+    }
+
+    @Override
+    public String toString(TriggerContext ctx, boolean debug) {
+        return "step";
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.syst3ms.skriptparser.syntax;
+
+import io.github.syst3ms.skriptparser.Parser;
+import io.github.syst3ms.skriptparser.effects.EffWait;
+
+/**
+ * The wait effect, which isn't registered by default since it depends on the scheduler of the platform.
+ * Cannot be used outside of tests.
+ *
+ * @name Test Wait
+ * @pattern (wait|halt) [for] %duration%
+ * @since ALPHA
+ */
+public class EffTestWait extends EffWait {
+    static {
+        Parser.getMainRegistration().addEffect(
+            EffTestWait.class,
+            "(wait|halt) [for] %duration%"
+        );
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.syst3ms.skriptparser.syntax;
+
+import io.github.syst3ms.skriptparser.Parser;
+import io.github.syst3ms.skriptparser.lang.Effect;
+import io.github.syst3ms.skriptparser.lang.Expression;
+import io.github.syst3ms.skriptparser.lang.TriggerContext;
+import io.github.syst3ms.skriptparser.lang.compiler.CompiledTrigger;
+import io.github.syst3ms.skriptparser.parsing.ParseContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Records the given values, so that tests can check which statements ran, and in which order.
+ * Cannot be used outside of tests.
+ *
+ * @name Trace
+ * @pattern trace %objects%
+ * @since ALPHA
+ */
+public class EffTrace extends Effect {
+    static {
+        Parser.getMainRegistration().addEffect(
+            EffTrace.class,
+            "trace %objects%"
+        );
+    }
+
+    private static final StackWalker WALKER = StackWalker.getInstance(
+        Set.of(StackWalker.Option.RETAIN_CLASS_REFERENCE, StackWalker.Option.SHOW_HIDDEN_FRAMES)
+    );
+    private static final List<String> TRACE = new ArrayList<>();
+    private static int compiledCount;
+
+    private Expression<?> values;
+
+    /**
+     * @return the values traced since the trace was last cleared, in order
+     */
+    public static synchronized List<String> getTrace() {
+        return List.copyOf(TRACE);
+    }
+
+    /**
+     * @return the number of values traced by compiled code since the trace was last cleared
+     */
+    public static synchronized int getCompiledCount() {
+        return compiledCount;
+    }
+
+    public static synchronized void clearTrace() {
+        TRACE.clear();
+        compiledCount = 0;
+    }
+
+    private static synchronized void trace(Object[] values, boolean compiled) {
+        Arrays.stream(values)
+            .map(String::valueOf)
+            .forEach(TRACE::add);
+        if (compiled)
+            compiledCount += values.length;
+    }
+
+    @Override
+    public boolean init(Expression<?>[] expressions, int matchedPattern, ParseContext parseContext) {
+        values = expressions[0];
+        return true;
+    }
+
+    @Override
+    public void execute(TriggerContext ctx) {
+        var compiled = WALKER.walk(frames -> frames.anyMatch(
+            frame -> CompiledTrigger.class.isAssignableFrom(frame.getDeclaringClass())
+        ));
+        trace(values.getValues(ctx), compiled);
+    }
+
+    @Override
+    public String toString(TriggerContext ctx, boolean debug) {
+        return "trace " + values.toString(ctx, debug);
+    }
+}